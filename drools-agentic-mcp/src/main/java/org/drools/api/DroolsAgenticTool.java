@@ -55,11 +55,16 @@ public class DroolsAgenticTool {
         }
     }
 
-    @Tool(description = "Execute rules with JSON facts using the shared knowledge base")
+    public String executeRules(String jsonFacts, Integer maxActivations) {
+        return executeRules(jsonFacts, maxActivations, null);
+    }
+
+    @Tool(description = "Execute rules with JSON facts against a knowledge base. By default each call runs in its own isolated session and starts from empty working memory; only when the server runs in shared session mode (drools.agentic.sessionMode=shared) do facts accumulate in the knowledge base's session between calls. getKnowledgeBaseStatus shows the mode.")
     public String executeRules(@ToolArg(description = "JSON facts to insert and execute rules against. Each fact can optionally include a '_type' field to specify the object type for dynamic object creation. Example: [{\"_type\":\"Person\", \"name\":\"John\", \"age\":25}]") String jsonFacts,
-                              @ToolArg(description = "Maximum rule activations (0 for unlimited)") Integer maxActivations) {
+                              @ToolArg(description = "Maximum rule activations (0 for unlimited)") Integer maxActivations,
+                              @ToolArg(description = "Name of the knowledge base to use (omit for the current one)", required = false) String knowledgeBaseName) {
         try {
-            String result = knowledgeRunnerService.executeRules(jsonFacts, maxActivations);
+            String result = knowledgeRunnerService.executeRules(jsonFacts, maxActivations, knowledgeBaseName);
             
             return JsonResponseBuilder.create()
                 .success()
@@ -73,10 +78,14 @@ public class DroolsAgenticTool {
         }
     }
 
-    @Tool(description = "Get status and information about the shared knowledge base")
     public String getKnowledgeBaseStatus() {
+        return getKnowledgeBaseStatus(null);
+    }
+
+    @Tool(description = "Get status and information about a knowledge base, including the session mode executions use and the number of facts held by its shared session")
+    public String getKnowledgeBaseStatus(@ToolArg(description = "Name of the knowledge base to use (omit for the current one)", required = false) String knowledgeBaseName) {
         try {
-            String status = knowledgeRunnerService.getKnowledgeBaseStatus();
+            String status = knowledgeRunnerService.getKnowledgeBaseStatus(knowledgeBaseName);
             
             return JsonResponseBuilder.create()
                 .success()
@@ -90,10 +99,14 @@ public class DroolsAgenticTool {
         }
     }
 
-    @Tool(description = "Clear all facts from the shared knowledge base session")
     public String clearFacts() {
+        return clearFacts(null);
+    }
+
+    @Tool(description = "Clear all facts from the knowledge base's shared session. Only has an effect in shared session mode; in the default isolated mode no facts are kept between executions and the tool reports that there is nothing to clear.")
+    public String clearFacts(@ToolArg(description = "Name of the knowledge base to use (omit for the current one)", required = false) String knowledgeBaseName) {
         try {
-            String result = knowledgeRunnerService.clearFacts();
+            String result = knowledgeRunnerService.clearFacts(knowledgeBaseName);
             
             return JsonResponseBuilder.create()
                 .success()
@@ -107,11 +120,16 @@ public class DroolsAgenticTool {
         }
     }
 
-    @Tool(description = "Execute rules multiple times with different fact sets in batch mode")
+    public String executeBatch(String jsonFactBatches, Integer maxActivations) {
+        return executeBatch(jsonFactBatches, maxActivations, null);
+    }
+
+    @Tool(description = "Execute rules multiple times with different fact sets in batch mode. Batches run in parallel, each in its own isolated session.")
     public String executeBatch(@ToolArg(description = "JSON array of fact batches to process. Each fact can optionally include a '_type' field for dynamic object creation. Example: [[[{\"_type\":\"Person\", \"name\":\"John\"}], [{\"name\":\"Jane\", \"age\":30}]]]") String jsonFactBatches,
-                              @ToolArg(description = "Maximum rule activations per batch (0 for unlimited)") Integer maxActivations) {
+                              @ToolArg(description = "Maximum rule activations per batch (0 for unlimited)") Integer maxActivations,
+                              @ToolArg(description = "Name of the knowledge base to use (omit for the current one)", required = false) String knowledgeBaseName) {
         try {
-            String result = knowledgeRunnerService.executeBatch(jsonFactBatches, maxActivations);
+            String result = knowledgeRunnerService.executeBatch(jsonFactBatches, maxActivations, knowledgeBaseName);
             
             return JsonResponseBuilder.create()
                 .success()
@@ -125,6 +143,23 @@ public class DroolsAgenticTool {
         }
     }
 
+    @Tool(description = "List the knowledge bases held in shared storage, most recently used first")
+    public String listKnowledgeBases() {
+        try {
+            String result = knowledgeRunnerService.listKnowledgeBases();
+            
+            return JsonResponseBuilder.create()
+                .success()
+                .field("knowledgeBases", result)
+                .build();
+                
+        } catch (Exception e) {
+            return JsonResponseBuilder.create()
+                .error("Failed to list knowledge bases: " + e.getMessage())
+                .build();
+        }
+    }
+
     @Prompt(description = "Generate a comprehensive business logic specification for the knowledge base implementation system")
     public PromptMessage businessLogicSpecificationGuide(
             @PromptArg(description = "The business domain or use case") String domain) {
@@ -469,9 +504,12 @@ public class DroolsAgenticTool {
             #### 📋 Knowledge Base Details
             - **Name**: Identifier of the current knowledge base
             - **Release ID**: Version/build identifier of the compiled rules
-            - **Session Active**: Whether a rule session is currently running
-            - **Session ID**: Unique identifier for the current session
-            - **Facts in Memory**: Number of facts currently in working memory
+            - **Session Active**: Whether the knowledge base keeps a stateful session
+            - **Session Mode**: How executions use sessions
+              - `isolated` (default): every execution runs in its own pooled session, facts never outlive the call
+              - `shared`: executions insert into the knowledge base's stateful session and facts accumulate
+            - **Session ID**: Unique identifier of the stateful session
+            - **Facts in Memory**: Number of facts held by the stateful session; stays 0 in isolated mode
             - **Created**: Timestamp when the knowledge base was built
             - **Source**: Information about the DRL source files used
             
@@ -483,8 +521,9 @@ public class DroolsAgenticTool {
               • Name: BusinessRules-v1.0
               • Release ID: 1.0.0-SNAPSHOT
               • Session Active: Yes
+              • Session Mode: isolated
               • Session ID: session-123456
-              • Facts in Memory: 15
+              • Facts in Memory: 0
               • Created: 2024-08-06T10:30:15
               • Source: person-rules.drl, order-rules.drl
             ```
@@ -529,11 +568,12 @@ public class DroolsAgenticTool {
             3. Clear facts if session is stale
             
             #### Issue: High facts in memory
-            **Symptoms**: Facts in Memory > 1000
+            **Symptoms**: Facts in Memory > 1000 (shared session mode only)
             **Solutions**:
-            1. Use clearFacts to reset working memory
+            1. Use clearFacts to reset the shared session
             2. Review rule logic for fact accumulation
             3. Check for infinite loops in rules
+            4. Consider the default isolated mode if executions do not need each other's facts
             
             #### Issue: Old creation timestamp
             **Symptoms**: Created timestamp is very old
@@ -546,8 +586,8 @@ public class DroolsAgenticTool {
             
             ### Regular Health Checks
             - Check status before rule execution
-            - Monitor fact count growth over time
-            - Track session lifecycle
+            - Check the session mode before relying on facts from earlier executions
+            - In shared mode, monitor fact count growth over time
             - Verify knowledge base currency
             
             ### Performance Indicators
@@ -557,7 +597,7 @@ public class DroolsAgenticTool {
             - **Clear source info**: Traceable rule origins
             
             ### Maintenance Actions
-            - **Periodic clearFacts**: Prevent memory bloat
+            - **Periodic clearFacts**: Prevent memory bloat in shared session mode
             - **Regular rebuilds**: Keep logic current  
             - **Session monitoring**: Detect performance issues
             - **Status logging**: Track system health
@@ -574,139 +614,103 @@ public class DroolsAgenticTool {
         String guide = """
             # Knowledge Base Session Management Guide
             
-            ## Understanding Session Lifecycle
+            ## Session Modes
             
-            ### Session States
-            1. **Inactive**: No knowledge base loaded
-            2. **Active**: Knowledge base loaded, ready for execution
-            3. **Processing**: Rules are executing
-            4. **Memory Full**: Many facts accumulated
-            5. **Stale**: Long-running session with old data
+            Executions use the sessions of a knowledge base in one of two modes, chosen when the
+            server starts with the `drools.agentic.sessionMode` system property.
+            getKnowledgeBaseStatus reports the mode in use.
             
-            ## When to Clear Facts
+            ### isolated (default)
+            - Every executeRules call runs in its own session borrowed from a pool
+            - Working memory is empty at the start of each call and discarded at its end
+            - Concurrent callers never see each other's facts
+            - clearFacts has nothing to clear and says so
             
-            ### ✅ Clear Facts When:
-            - **Between test scenarios**: Isolate different test cases
-            - **High memory usage**: Facts in Memory > 500-1000
-            - **Stale data**: Facts represent old/outdated information
-            - **New business context**: Switching to different use case
-            - **Performance degradation**: Execution becoming slow
-            - **Debug sessions**: Need clean state for troubleshooting
+            ### shared
+            - executeRules inserts into the knowledge base's stateful session
+            - Calls run one at a time, and facts accumulate from one call to the next
+            - Rules can react to facts inserted by earlier calls
+            - clearFacts empties the session
             
-            ### ❌ Don't Clear Facts When:
-            - **Incremental processing**: Building up state over time
-            - **Batch workflows**: Processing related data sets
-            - **Stateful rules**: Rules depend on accumulated facts
-            - **Active transactions**: Mid-process operations
-            - **Performance testing**: Need realistic data volumes
+            executeBatch always runs each batch in its own isolated session, in both modes.
+            
+            ## Choosing a Mode
             
-            ## Session Management Patterns
+            | Use Case | Mode | Rationale |
+            |----------|------|-----------|
+            | Independent requests | isolated | No cleanup, no interference between callers |
+            | Testing scenarios | isolated | Every test starts from a clean slate |
+            | Incremental processing | shared | State is built up over several calls |
+            | Rules correlating facts across calls | shared | Earlier facts stay in working memory |
             
-            ### Pattern 1: Test Isolation
+            ## Isolated Mode Patterns
+            
+            ### Pattern 1: Single Scenario
             ```
-            1. clearFacts()           // Clean slate
-            2. executeRules(testData) // Run test
-            3. Analyze results
-            4. clearFacts()           // Clean for next test
+            1. executeRules(testData)   // Starts from empty working memory
+            2. Analyze results          // Nothing to clean up
             ```
             
-            ### Pattern 2: Batch Processing  
+            ### Pattern 2: Several Scenarios
             ```
-            1. clearFacts()                    // Start clean
-            2. executeBatch(multipleSets)      // Process batches
-            3. Analyze aggregate results
-            4. clearFacts()                    // Final cleanup
+            1. executeBatch(multipleSets)   // Each set in its own session, in parallel
+            2. Compare the results per batch
             ```
             
-            ### Pattern 3: Incremental Updates
+            ## Shared Mode Patterns
+            
+            ### Pattern 1: Incremental Updates
             ```
             1. executeRules(baseData)     // Establish baseline
-            2. executeRules(deltaData)    // Add new facts
+            2. executeRules(deltaData)    // Add new facts, rules see the baseline too
             3. Continue processing...
             4. clearFacts() when complete
             ```
             
-            ### Pattern 4: Periodic Maintenance
+            ### Pattern 2: Test Isolation
             ```
-            1. Monitor fact count growth
-            2. clearFacts() when threshold reached
-            3. Re-establish baseline facts if needed
-            4. Continue processing
+            1. clearFacts()           // Clean slate
+            2. executeRules(testData) // Run test
+            3. Analyze results
+            4. clearFacts()           // Clean for next test
             ```
             
-            ## Memory Management Best Practices
-            
-            ### Proactive Management
-            - **Set fact thresholds**: Clear when count exceeds limits
-            - **Time-based clearing**: Clear after time intervals
-            - **Context switching**: Clear between different domains
-            - **Performance monitoring**: Clear when execution slows
-            
-            ### Fact Lifecycle Stages
-            1. **Insertion**: Facts added via executeRules
-            2. **Processing**: Rules fire and modify facts
-            3. **Accumulation**: Facts build up in working memory
-            4. **Clearing**: Facts removed via clearFacts
-            5. **Reset**: Clean working memory state
-            
-            ## Production Considerations
-            
-            ### Monitoring Metrics
-            - **Fact count trends**: Growth patterns over time
-            - **Execution performance**: Rule firing times
-            - **Memory usage**: System resource consumption
-            - **Session uptime**: How long sessions remain active
-            
-            ### Automated Management
-            ```javascript
-            // Pseudo-code for automated fact management
-            if (factCount > maxThreshold) {
-                clearFacts();
-                reloadBaseFacts();
-            }
-            
-            if (sessionAge > maxAge) {
-                clearFacts(); 
-                refreshKnowledgeBase();
-            }
+            ### Pattern 3: Periodic Maintenance
+            ```
+            1. Monitor Facts in Memory with getKnowledgeBaseStatus
+            2. clearFacts() when a threshold is reached
+            3. Re-establish baseline facts if needed
+            4. Continue processing
             ```
             
-            ### Error Recovery
-            - **Session corruption**: Clear and restart
-            - **Memory leaks**: Periodic clearing
-            - **Rule conflicts**: Clear and debug
-            - **Data inconsistency**: Clear and reload
-            
-            ## Advanced Scenarios
+            ## When to Clear Facts (shared mode)
             
-            ### Multi-Tenant Systems
-            - Clear facts between different customers/tenants
-            - Isolate data between business units
-            - Prevent data leakage between contexts
+            ### ✅ Clear Facts When:
+            - **Between test scenarios**: Isolate different test cases
+            - **High memory usage**: Facts in Memory > 500-1000
+            - **Stale data**: Facts represent old/outdated information
+            - **New business context**: Switching to different use case
             
-            ### Development & Testing
-            - Clear between unit tests
-            - Fresh state for integration tests  
-            - Clean data for performance benchmarks
-            - Isolated debugging sessions
+            ### ❌ Don't Clear Facts When:
+            - **Incremental processing**: Building up state over time
+            - **Stateful rules**: Rules depend on accumulated facts
+            - **Active transactions**: Mid-process operations
             
-            ### Long-Running Services
-            - Periodic maintenance clearing
-            - Fact expiration policies
-            - Memory pressure handling
-            - Session health monitoring
+            ## Fact Lifecycle
             
-            ## Common Patterns Summary
+            | Stage | isolated | shared |
+            |-------|----------|--------|
+            | Insertion | executeRules, into a pooled session | executeRules, into the stateful session |
+            | Processing | Rules fire on this call's facts | Rules fire on all facts in the session |
+            | After the call | Session is reset and returned to the pool | Facts stay in working memory |
+            | Removal | Automatic | clearFacts |
             
-            | Use Case | Clear Frequency | Rationale |
-            |----------|----------------|-----------|
-            | Unit Testing | After each test | Isolation |
-            | Batch Processing | After each batch | Memory management |
-            | Interactive Usage | User discretion | Context switching |
-            | Production Service | Threshold-based | Performance |
-            | Development/Debug | Frequently | Clean state |
+            ## Multi-Tenant Systems
+            - Use a knowledge base name per tenant, every tool accepts knowledgeBaseName
+            - In isolated mode tenants sharing a knowledge base still never see each other's facts
+            - In shared mode clear facts between tenants sharing a knowledge base
             
-            Use clearFacts strategically to maintain optimal system performance and data integrity!
+            Check the session mode first, then use clearFacts only where facts are actually kept!
             """;
         
         return PromptMessage.withUserRole(new TextContent(guide));
@@ -878,12 +882,14 @@ public class DroolsAgenticTool {
             }
             ```
             
-            ### Step 10: Clean Up Between Tests
+            ### Step 10: Clean Up Between Tests (shared session mode only)
             ```json
             {
               "tool": "clearFacts"
             }
             ```
+            In the default isolated session mode every execution starts from empty
+            working memory, so there is nothing to clean up.
             
             ## Common Workflow Patterns
             
@@ -891,22 +897,22 @@ public class DroolsAgenticTool {
             1. **Design**: Use businessLogicSpecificationGuide
             2. **Implement**: Use improveKnowledgeBase  
             3. **Test**: Single executeRules calls
-            4. **Debug**: Check status, clear facts, retry
+            4. **Debug**: Check status, retry (clear facts first in shared mode)
             5. **Validate**: Batch testing with executeBatch
             
             ### Production Workflow  
             1. **Deploy**: Load knowledge base
             2. **Monitor**: Regular getKnowledgeBaseStatus
             3. **Execute**: Process facts with executeRules
-            4. **Maintain**: Periodic clearFacts
+            4. **Maintain**: Periodic clearFacts in shared mode
             5. **Update**: Re-deploy with improveKnowledgeBase
             
             ### Testing Workflow
-            1. **Setup**: Clear facts, check status
+            1. **Setup**: Check status and session mode
             2. **Prepare**: Generate test data with guides
             3. **Execute**: Single or batch execution
             4. **Validate**: Check results and performance
-            5. **Cleanup**: Clear facts between test scenarios
+            5. **Cleanup**: Clear facts between test scenarios in shared mode
             
             ## Best Practices Summary
             
@@ -63,6 +63,8 @@ public class DroolsAgenticToolTest {
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertTrue(result.contains("\"status\""));
+        // The default isolated mode keeps no facts between executions
+        assertTrue(result.contains("isolated mode"));
     }
 
     @Test
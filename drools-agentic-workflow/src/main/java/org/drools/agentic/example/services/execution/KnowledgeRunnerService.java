@@ -10,71 +10,177 @@ import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.type.TypeReference;
+import org.drools.agentic.example.storage.KnowledgeBaseRegistry;
 import org.drools.agentic.example.storage.KnowledgeBaseStorage;
+import org.drools.execution.DRLExecutor;
+import org.drools.execution.DRLRunnerResult;
+import org.drools.execution.FactBuilder;
+import org.drools.execution.ParallelBatchExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * Non-AI agent that executes rules from shared knowledge base storage.
  * This agent performs pure Java operations without any LLM calls.
- * Uses shared storage for execution-only operations.
+ * Uses shared storage for execution-only operations. Every operation works on a named
+ * knowledge base, or on the current one when no name is given, and holds a lease on it
+ * so a knowledge base replaced meanwhile is only disposed after the operation is done.
+ * By default every execution runs in its own pooled session, so concurrent callers never
+ * see each other's facts; the shared stateful session mode is opt-in.
  */
 public class KnowledgeRunnerService {
 
+    private static final Logger logger = LoggerFactory.getLogger(KnowledgeRunnerService.class);
+
+    /** Session mode used by the default constructor, "isolated" or "shared" */
+    public static final String SESSION_MODE_PROPERTY = "drools.agentic.sessionMode";
+
+    /**
+     * How executions use the sessions of a knowledge base
+     */
+    public enum SessionMode {
+        /** Each execution runs in its own pooled session; facts do not outlive the call */
+        ISOLATED,
+        /** Executions insert into the knowledge base's stateful session, one at a time, and facts accumulate */
+        SHARED;
+
+        /**
+         * Parses a session mode, ignoring case
+         * @param name Name of the mode, e.g. "isolated" or "shared"
+         * @return The named mode, or ISOLATED if the name is null or blank
+         * @throws IllegalArgumentException if the name is not a known mode
+         */
+        public static SessionMode of(String name) {
+            if (name == null || name.isBlank()) {
+                return ISOLATED;
+            }
+            String normalized = name.trim().toUpperCase(Locale.ROOT);
+            for (SessionMode mode : values()) {
+                if (mode.name().equals(normalized)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("Unknown session mode '" + name + "', expected one of "
+                    + Arrays.toString(values()));
+        }
+    }
+
+    private static final ParallelBatchExecutor batchExecutor =
+            new ParallelBatchExecutor(new DRLExecutor()).closeOnShutdown();
+
+    // Binders for declared types are compiled once per KieBase and shared by all executions
+    private static final FactBuilder factBuilder = new FactBuilder();
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private final KnowledgeBaseStorage storage = KnowledgeBaseStorage.getInstance();
 
-    @Tool("STEP 1: Execute rules with facts using the shared knowledge base. Use this to run DRL rules against fact data. Provide facts as JSON array with optional _type field for dynamic object creation.")
+    private final SessionMode sessionMode;
+
+    public KnowledgeRunnerService() {
+        this(sessionModeFromSystemProperties());
+    }
+
+    public KnowledgeRunnerService(SessionMode sessionMode) {
+        this.sessionMode = sessionMode;
+    }
+
+    public SessionMode getSessionMode() {
+        return sessionMode;
+    }
+
+    private static SessionMode sessionModeFromSystemProperties() {
+        try {
+            return SessionMode.of(System.getProperty(SESSION_MODE_PROPERTY));
+        } catch (IllegalArgumentException e) {
+            // A typo in the mode must not keep the agent from starting
+            logger.warn("{}, using {}", e.getMessage(), SessionMode.ISOLATED);
+            return SessionMode.ISOLATED;
+        }
+    }
+
+    public String executeRules(String jsonFacts, Integer maxActivations) {
+        return executeRules(jsonFacts, maxActivations, null);
+    }
+
+    @Tool("STEP 1: Execute rules with facts using the shared knowledge base. Use this to run DRL rules against fact data. Provide facts as JSON array with optional _type field for dynamic object creation. Unless the service runs in shared session mode, each call starts from empty working memory.")
     public String executeRules(@P("jsonFacts - JSON array of fact objects to insert into the session, each can have optional '_type' field") String jsonFacts,
-                              @P("maxActivations - Maximum number of rule activations, or null for unlimited") Integer maxActivations) {
+                              @P("maxActivations - Maximum number of rule activations, or null for unlimited") Integer maxActivations,
+                              @P(value = "knowledgeBaseName - Name of the knowledge base to use, or null for the current one", required = false) String knowledgeBaseName) {
         // Note: jsonFacts should be a JSON array where each object can optionally include
         // a '_type' field to specify the fact type for dynamic object creation.
         // Without '_type', facts are inserted as Map objects.
         // Example: [{"_type":"Person", "name":"John", "age":25}, {"name":"Jane", "age":30}]
-        try {
+        try (KnowledgeBaseRegistry.Lease lease = storage.acquire(knowledgeBaseName)) {
             StringBuilder response = new StringBuilder();
             response.append("🚀 Knowledge Base Execution\n");
             response.append("=".repeat(28) + "\n\n");
 
             // Check if knowledge base is available
-            if (!storage.hasKnowledgeBase() || !storage.hasSession()) {
-                response.append("❌ No knowledge base available for execution.\n");
+            boolean shared = sessionMode == SessionMode.SHARED;
+            if (lease == null || shared && lease.getSession() == null) {
+                response.append("❌ No knowledge base available for execution");
+                appendName(response, knowledgeBaseName);
                 response.append("Please use DroolsKnowledgeBaseService to build a knowledge base first.\n");
                 return response.toString();
             }
             
-            KieSession kieSession = storage.getSession();
-            KnowledgeBaseStorage.KnowledgeBaseInfo info = storage.getInfo();
+            KnowledgeBaseStorage.KnowledgeBaseInfo info = lease.getInfo();
             
-            response.append("📋 Using Knowledge Base: ").append(info.name()).append("\n");
-            response.append("📋 Session ID: ").append(info.sessionId()).append("\n\n");
+            response.append("📋 Using Knowledge Base: ").append(info.name())
+                    .append(" (epoch ").append(lease.getEpoch()).append(")\n");
+            if (shared) {
+                response.append("📋 Session ID: ").append(info.sessionId()).append("\n\n");
+            } else {
+                response.append("📋 Session: isolated (pooled)\n\n");
+            }
             
             // Parse and insert facts
             List<Map<String, Object>> facts = objectMapper.readValue(jsonFacts, 
                 new TypeReference<List<Map<String, Object>>>() {});
             
+            // Facts with a declared '_type' become instances of that type, so rules on declared types match them
+            List<Object> typedFacts = factBuilder.buildFromMaps(facts, lease.getKieContainer().getKieBase());
+            
             response.append("📊 Inserting Facts:\n");
-            for (Map<String, Object> fact : facts) {
-                kieSession.insert(fact);
-                response.append("  • ").append(fact).append("\n");
+            for (int i = 0; i < facts.size(); i++) {
+                Object fact = typedFacts.get(i);
+                response.append("  • ").append(facts.get(i));
+                if (fact != facts.get(i)) {
+                    response.append(" as ").append(fact.getClass().getSimpleName());
+                }
+                response.append("\n");
             }
             
             // Execute rules
             response.append("\n🔥 Executing Rules:\n");
-            int rulesCount;
-            if (maxActivations != null && maxActivations > 0) {
-                rulesCount = kieSession.fireAllRules(maxActivations);
+            Execution execution;
+            if (shared) {
+                // The stateful session is shared by all callers of this knowledge base, its writer queue runs them one at a time
+                execution = lease.withSharedSession(session -> fire(session, typedFacts, maxActivations));
             } else {
-                rulesCount = kieSession.fireAllRules();
+                KieSession session = lease.borrowSession();
+                try {
+                    execution = fire(session, typedFacts, maxActivations);
+                } finally {
+                    lease.releaseSession(session);
+                }
             }
             
-            response.append("  • Rules Fired: ").append(rulesCount).append("\n");
-            response.append("  • Facts in Memory: ").append(kieSession.getFactCount()).append("\n");
+            response.append("  • Rules Fired: ").append(execution.rulesFired()).append("\n");
+            response.append("  • Facts in Memory: ").append(execution.factCount()).append("\n");
             
             response.append("\n✅ Execution completed successfully!\n");
-            response.append("Session remains active in shared storage for further operations.\n");
+            if (shared) {
+                response.append("Session remains active in shared storage for further operations.\n");
+            } else {
+                response.append("Facts were discarded with the isolated session.\n");
+            }
             
             return response.toString();
             
@@ -83,25 +189,32 @@ public class KnowledgeRunnerService {
         }
     }
 
-    @Tool("STEP 2: Get status and info about the shared knowledge base. Use this to check if a knowledge base is available and get details about its current state.")
     public String getKnowledgeBaseStatus() {
+        return getKnowledgeBaseStatus(null);
+    }
+
+    @Tool("STEP 2: Get status and info about the shared knowledge base. Use this to check if a knowledge base is available, which session mode executions use and how many facts its shared session holds.")
+    public String getKnowledgeBaseStatus(@P(value = "knowledgeBaseName - Name of the knowledge base, or null for the current one", required = false) String knowledgeBaseName) {
         StringBuilder response = new StringBuilder();
         response.append("📚 Shared Knowledge Base Status\n");
         response.append("=".repeat(32) + "\n\n");
         
-        if (!storage.hasKnowledgeBase()) {
-            response.append("❌ No knowledge base available in shared storage.\n");
+        KnowledgeBaseStorage.KnowledgeBaseInfo info = storage.getInfo(knowledgeBaseName);
+        if (info == null) {
+            response.append("❌ No knowledge base available in shared storage");
+            appendName(response, knowledgeBaseName);
             response.append("Please use DroolsKnowledgeBaseService to build a knowledge base first.\n");
             return response.toString();
         }
         
-        KnowledgeBaseStorage.KnowledgeBaseInfo info = storage.getInfo();
         response.append("📋 Knowledge Base Details:\n");
         response.append("  • Name: ").append(info.name()).append("\n");
         response.append("  • Release ID: ").append(info.releaseId()).append("\n");
         response.append("  • Session Active: ").append(info.sessionActive() ? "Yes" : "No").append("\n");
+        response.append("  • Session Mode: ").append(sessionMode.name().toLowerCase(Locale.ROOT)).append("\n");
         response.append("  • Session ID: ").append(info.sessionId()).append("\n");
         response.append("  • Facts in Memory: ").append(info.factCount()).append("\n");
+        response.append("  • Epoch: ").append(info.epoch()).append("\n");
         response.append("  • Created: ").append(info.createdTime()).append("\n");
         response.append("  • Source: ").append(info.sourceInfo()).append("\n");
         
@@ -110,19 +223,31 @@ public class KnowledgeRunnerService {
         return response.toString();
     }
 
-    @Tool("STEP 3: Clear all facts from the shared session. Use this to remove all facts from the current session while keeping the session active.")
     public String clearFacts() {
+        return clearFacts(null);
+    }
+
+    @Tool("STEP 3: Clear all facts from the shared session. Only needed in shared session mode, where facts accumulate between executions; in the default isolated mode every execution starts from empty working memory and there is nothing to clear.")
+    public String clearFacts(@P(value = "knowledgeBaseName - Name of the knowledge base, or null for the current one", required = false) String knowledgeBaseName) {
         try {
             StringBuilder response = new StringBuilder();
             response.append("🧹 Clearing Facts from Session\n");
             response.append("=".repeat(31) + "\n\n");
             
-            if (!storage.hasSession()) {
-                response.append("❌ No active session found in shared storage.\n");
+            if (sessionMode == SessionMode.ISOLATED) {
+                response.append("ℹ️ No shared session in isolated mode: every execution runs in its own session ")
+                        .append("and no facts are kept between executions, so there is nothing to clear.\n");
+                response.append("Set ").append(SESSION_MODE_PROPERTY).append("=shared to keep facts between executions.\n");
                 return response.toString();
             }
             
-            long clearedCount = storage.clearFacts();
+            if (!storage.hasSession(knowledgeBaseName)) {
+                response.append("❌ No active session found in shared storage");
+                appendName(response, knowledgeBaseName);
+                return response.toString();
+            }
+            
+            long clearedCount = storage.clearFacts(knowledgeBaseName);
             
             response.append("✅ Cleared ").append(clearedCount).append(" facts from the session.\n");
             response.append("Session remains active and ready for new fact insertions.\n");
@@ -134,19 +259,25 @@ public class KnowledgeRunnerService {
         }
     }
 
-    @Tool("STEP 4: Execute rules multiple times with different fact sets. Use this for batch processing where you want to test multiple scenarios sequentially.")
-    public String executeBatch(@P("jsonFactBatches - JSON array of fact batch arrays for sequential execution") String jsonFactBatches,
-                              @P("maxActivations - Maximum number of rule activations per batch, or null for unlimited") Integer maxActivations) {
+    public String executeBatch(String jsonFactBatches, Integer maxActivations) {
+        return executeBatch(jsonFactBatches, maxActivations, null);
+    }
+
+    @Tool("STEP 4: Execute rules multiple times with different fact sets. Use this for batch processing where you want to test multiple scenarios. Each batch runs in parallel in its own isolated session, so batches do not see each other's facts and the shared session is left untouched.")
+    public String executeBatch(@P("jsonFactBatches - JSON array of fact batch arrays for parallel execution") String jsonFactBatches,
+                              @P("maxActivations - Maximum number of rule activations per batch, or null for unlimited") Integer maxActivations,
+                              @P(value = "knowledgeBaseName - Name of the knowledge base to use, or null for the current one", required = false) String knowledgeBaseName) {
         // Note: jsonFactBatches should be a JSON array of fact arrays, where each fact
         // can optionally include a '_type' field for dynamic object creation.
         // Example: [[[{"_type":"Person", "name":"John"}], [{"_type":"Order", "amount":100}]]]
-        try {
+        try (KnowledgeBaseRegistry.Lease lease = storage.acquire(knowledgeBaseName)) {
             StringBuilder response = new StringBuilder();
             response.append("🚀 Batch Rule Execution\n");
             response.append("=".repeat(23) + "\n\n");
             
-            if (!storage.hasKnowledgeBase() || !storage.hasSession()) {
-                response.append("❌ No knowledge base available for execution.\n");
+            if (lease == null) {
+                response.append("❌ No knowledge base available for execution");
+                appendName(response, knowledgeBaseName);
                 response.append("Please use DroolsKnowledgeBaseService to build a knowledge base first.\n");
                 return response.toString();
             }
@@ -155,39 +286,26 @@ public class KnowledgeRunnerService {
             List<List<Map<String, Object>>> factBatches = objectMapper.readValue(jsonFactBatches, 
                 new TypeReference<List<List<Map<String, Object>>>>() {});
             
-            KieSession kieSession = storage.getSession();
-            KnowledgeBaseStorage.KnowledgeBaseInfo info = storage.getInfo();
+            KieContainer kieContainer = lease.getKieContainer();
+            KnowledgeBaseStorage.KnowledgeBaseInfo info = lease.getInfo();
             
-            response.append("📋 Using Knowledge Base: ").append(info.name()).append("\n");
-            response.append("📋 Processing ").append(factBatches.size()).append(" fact batches\n\n");
+            response.append("📋 Using Knowledge Base: ").append(info.name())
+                    .append(" (epoch ").append(lease.getEpoch()).append(")\n");
+            response.append("📋 Processing ").append(factBatches.size()).append(" fact batches on ")
+                    .append(batchExecutor.getParallelism()).append(" threads\n\n");
             
-            int batchNumber = 1;
-            int totalRulesFired = 0;
+            // Each batch runs in its own stateless session over the shared, immutable KieBase
+            int maxRuns = maxActivations != null && maxActivations > 0 ? maxActivations : 0;
+            List<DRLRunnerResult> results = batchExecutor.executeOrdered(kieContainer, factBatches,
+                    facts -> factBuilder.buildFromMaps(facts, kieContainer.getKieBase()), maxRuns);
             
-            for (List<Map<String, Object>> facts : factBatches) {
-                response.append("🔄 Batch ").append(batchNumber).append(":\n");
-                
-                // Clear previous facts
-                storage.clearFacts();
-                
-                // Insert new facts
-                for (Map<String, Object> fact : facts) {
-                    kieSession.insert(fact);
-                }
-                
-                // Fire rules
-                int rulesCount;
-                if (maxActivations != null && maxActivations > 0) {
-                    rulesCount = kieSession.fireAllRules(maxActivations);
-                } else {
-                    rulesCount = kieSession.fireAllRules();
-                }
-                
-                response.append("  • Facts: ").append(facts.size()).append("\n");
-                response.append("  • Rules Fired: ").append(rulesCount).append("\n\n");
-                
-                totalRulesFired += rulesCount;
-                batchNumber++;
+            int totalRulesFired = 0;
+            for (int i = 0; i < results.size(); i++) {
+                DRLRunnerResult result = results.get(i);
+                response.append("🔄 Batch ").append(i + 1).append(":\n");
+                response.append("  • Facts: ").append(factBatches.get(i).size()).append("\n");
+                response.append("  • Rules Fired: ").append(result.firedRules()).append("\n\n");
+                totalRulesFired += result.firedRules();
             }
             
             response.append("✅ Batch execution completed successfully!\n");
@@ -199,4 +317,54 @@ public class KnowledgeRunnerService {
             return "❌ Batch execution failed: " + e.getMessage();
         }
     }
+
+    @Tool("List all knowledge bases in shared storage, most recently used first. Use the names with the other tools to work with a specific knowledge base.")
+    public String listKnowledgeBases() {
+        StringBuilder response = new StringBuilder();
+        response.append("📚 Knowledge Bases\n");
+        response.append("=".repeat(18) + "\n\n");
+        
+        List<KnowledgeBaseStorage.KnowledgeBaseInfo> knowledgeBases = storage.list();
+        if (knowledgeBases.isEmpty()) {
+            response.append("❌ No knowledge base available in shared storage.\n");
+            return response.toString();
+        }
+        
+        String current = storage.resolveName(null);
+        for (KnowledgeBaseStorage.KnowledgeBaseInfo info : knowledgeBases) {
+            response.append("  • ").append(info.name());
+            if (info.name().equals(current)) {
+                response.append(" (current)");
+            }
+            response.append(" - ").append(info.factCount()).append(" facts, created ")
+                    .append(info.createdTime()).append(", source ").append(info.sourceInfo()).append("\n");
+        }
+        
+        KnowledgeBaseRegistry registry = storage.getRegistry();
+        response.append("\nEstimated memory: ").append(registry.getFootprint() / 1024).append(" KB of ")
+                .append(registry.getMemoryBudget() / 1024).append(" KB budget\n");
+        if (registry.getDrainingCount() > 0) {
+            response.append("Replaced knowledge bases still finishing executions: ")
+                    .append(registry.getDrainingCount()).append("\n");
+        }
+        
+        return response.toString();
+    }
+
+    private static Execution fire(KieSession kieSession, List<Object> facts, Integer maxActivations) {
+        for (Object fact : facts) {
+            kieSession.insert(fact);
+        }
+        int rulesFired = maxActivations != null && maxActivations > 0
+                ? kieSession.fireAllRules(maxActivations)
+                : kieSession.fireAllRules();
+        return new Execution(rulesFired, kieSession.getFactCount());
+    }
+
+    private record Execution(int rulesFired, long factCount) {
+    }
+
+    private void appendName(StringBuilder response, String knowledgeBaseName) {
+        response.append(" (knowledge base '").append(storage.resolveName(knowledgeBaseName)).append("').\n");
+    }
 }
\ No newline at end of file
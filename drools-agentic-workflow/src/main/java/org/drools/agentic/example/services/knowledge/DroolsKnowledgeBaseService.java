@@ -7,32 +7,63 @@ import org.kie.api.KieServices;
 import org.kie.api.builder.KieBuilder;
 import org.kie.api.builder.KieFileSystem;
 import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.type.TypeReference;
+import org.drools.agentic.example.storage.KnowledgeBaseRegistry;
 import org.drools.agentic.example.storage.KnowledgeBaseStorage;
+import org.drools.execution.CompilationMode;
+import org.drools.execution.DRLParser;
+import org.drools.execution.DrlOutline;
+import org.drools.execution.IncrementalDrlFileSet;
+import org.drools.execution.KieModuleDiskCache;
+import org.drools.model.codegen.ExecutableModelProject;
 
 /**
  * Drools knowledge base service that builds and manages Drools knowledge bases from DRL files.
  * Can read DRL files from storage and build executable knowledge bases.
+ * Each knowledge base is stored under its own name, so several can be kept side by side.
+ * Knowledge bases built from all stored files keep one resource per file and are
+ * rebuilt incrementally: only files whose content changed are recompiled.
+ * With auto-rebuild enabled, changes to the stored DRL files are picked up and published
+ * without a tool call. Knowledge bases built from DRL content are kept as kjars on disk,
+ * so a restarted server loads them instead of compiling them again.
  */
 public class DroolsKnowledgeBaseService {
     
+    /** Set to true to rebuild the default knowledge base whenever stored DRL files change */
+    public static final String AUTO_REBUILD_PROPERTY = "drools.agentic.autoRebuild";
+    
+    // One watcher per storage directory, however many services are created
+    private static final Map<Path, AutoRebuild> autoRebuilds = new ConcurrentHashMap<>();
+    
+    // Incremental build state per knowledge base name, shared like the knowledge bases themselves
+    private static final Map<String, IncrementalDrlFileSet> fileSets = new ConcurrentHashMap<>();
+    // Epoch each file set was last published in, to tell whether storage still holds it
+    private static final Map<String, Long> publishedEpochs = new ConcurrentHashMap<>();
+    // Compiled KieModules kept across restarts, null when disabled
+    private static final KieModuleDiskCache kieModuleDiskCache = KieModuleDiskCache.fromSystemProperties();
+    
     private final ChatModel chatModel;
     private final Path storageRoot;
     
     private final KnowledgeBaseStorage storage = KnowledgeBaseStorage.getInstance();
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DRLParser drlParser = new DRLParser();
     
     public DroolsKnowledgeBaseService(ChatModel chatModel) {
         this.chatModel = chatModel;
@@ -42,105 +73,331 @@ public class DroolsKnowledgeBaseService {
         } catch (IOException e) {
             throw new RuntimeException("Failed to create storage directory: " + storageRoot, e);
         }
+        if (Boolean.getBoolean(AUTO_REBUILD_PROPERTY)) {
+            startAutoRebuild(null, KnowledgeBaseWatcher.DEFAULT_DEBOUNCE);
+        }
+    }
+    
+    public Path getStorageRoot() {
+        return storageRoot;
+    }
+    
+    /**
+     * Watches the storage directory and rebuilds a knowledge base from all stored DRL files
+     * shortly after they change. Only changed files are recompiled and the result is
+     * published to shared storage as a new epoch, without making it the current knowledge base.
+     * Every DRL file of the directory goes into the one knowledge base, so a directory is
+     * rebuilt into a single knowledge base; does nothing if it is already watched for this one.
+     * @param knowledgeBaseName Name of the knowledge base to rebuild, or null for the default
+     * @param debounce Quiet time after the last change before rebuilding
+     * @return The watcher of the storage directory; close it, or call {@link #stopAutoRebuild()}, to stop
+     * @throws IllegalStateException if the directory is already rebuilt into another knowledge base
+     */
+    public KnowledgeBaseWatcher startAutoRebuild(String knowledgeBaseName, Duration debounce) {
+        String name = resolveName(knowledgeBaseName);
+        AutoRebuild autoRebuild = autoRebuilds.computeIfAbsent(storageRoot, root -> {
+            try {
+                return new AutoRebuild(name, new KnowledgeBaseWatcher(root, debounce, () -> buildFromAllFiles(name, null, false)));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to watch storage directory: " + e.getMessage(), e);
+            }
+        });
+        if (!autoRebuild.knowledgeBaseName().equals(name)) {
+            throw new IllegalStateException("Storage directory " + storageRoot + " is already rebuilt into knowledge base '"
+                + autoRebuild.knowledgeBaseName() + "'");
+        }
+        return autoRebuild.watcher();
+    }
+    
+    /**
+     * Stops rebuilding on changes to the storage directory
+     * @return true if the directory was watched
+     */
+    public boolean stopAutoRebuild() {
+        AutoRebuild autoRebuild = autoRebuilds.remove(storageRoot);
+        if (autoRebuild == null) {
+            return false;
+        }
+        autoRebuild.watcher().close();
+        return true;
+    }
+    
+    public String buildKnowledgeBaseFromFile(String filename) {
+        return buildKnowledgeBaseFromFile(filename, null);
+    }
+    
+    public String buildKnowledgeBaseFromFile(String filename, String knowledgeBaseName) {
+        return buildKnowledgeBaseFromFile(filename, knowledgeBaseName, null);
     }
     
     @Tool("Build a Drools knowledge base from a DRL file")
-    public String buildKnowledgeBaseFromFile(@P("The DRL filename (relative to storage root)") String filename) {
+    public String buildKnowledgeBaseFromFile(@P("The DRL filename (relative to storage root)") String filename,
+                                             @P(value = "Name to store the knowledge base under, or null for the default", required = false) String knowledgeBaseName,
+                                             @P(value = "How to compile the DRL: \"drl\" (default) or \"executable-model\" for faster rule evaluation at a higher build cost", required = false) String compilationMode) {
         try {
             Path filePath = storageRoot.resolve(filename);
             if (!Files.exists(filePath)) {
                 // If specific file not found, try to find any .drl file in storage
-                return buildKnowledgeBaseFromAllFiles();
+                return buildKnowledgeBaseFromAllFiles(knowledgeBaseName, compilationMode);
             }
             
             String drlContent = Files.readString(filePath);
-            return buildKnowledgeBaseFromContent(drlContent);
+            return buildKnowledgeBaseFromContent(drlContent, knowledgeBaseName, CompilationMode.of(compilationMode));
             
         } catch (IOException e) {
             return "❌ Error reading DRL file " + filename + ": " + e.getMessage();
+        } catch (IllegalArgumentException e) {
+            return "❌ " + e.getMessage();
         }
     }
     
-    @Tool("Build a Drools knowledge base from all DRL files in storage")
     public String buildKnowledgeBaseFromAllFiles() {
+        return buildKnowledgeBaseFromAllFiles(null);
+    }
+    
+    public String buildKnowledgeBaseFromAllFiles(String knowledgeBaseName) {
+        return buildKnowledgeBaseFromAllFiles(knowledgeBaseName, null);
+    }
+    
+    @Tool("Build a Drools knowledge base from all DRL files in storage. Only files changed since the previous build are recompiled.")
+    public String buildKnowledgeBaseFromAllFiles(@P(value = "Name to store the knowledge base under, or null for the default", required = false) String knowledgeBaseName,
+                                                 @P(value = "How to compile the DRL: \"drl\" or \"executable-model\" for faster rule evaluation at a higher build cost; null keeps the mode of the previous build", required = false) String compilationMode) {
+        return buildFromAllFiles(knowledgeBaseName, compilationMode, true).report();
+    }
+    
+    /**
+     * Builds a knowledge base from all DRL files in storage
+     * @param makeCurrent Whether the built knowledge base becomes the current one
+     * @return Whether the knowledge base was built, with the report of the build
+     */
+    private KnowledgeBaseWatcher.Rebuild buildFromAllFiles(String knowledgeBaseName, String compilationMode, boolean makeCurrent) {
         try {
-            List<Path> drlFiles = Files.list(storageRoot)
-                .filter(path -> path.toString().toLowerCase().endsWith(".drl"))
-                .toList();
+            // Rebuilds without a mode, such as those of the file watcher, keep the mode of the previous build
+            CompilationMode mode = compilationMode == null || compilationMode.isBlank() ? null : CompilationMode.of(compilationMode);
+
+            List<Path> drlFiles;
+            try (Stream<Path> paths = Files.list(storageRoot)) {
+                drlFiles = paths
+                    .filter(path -> path.toString().toLowerCase().endsWith(".drl"))
+                    .sorted()
+                    .toList();
+            }
             
             if (drlFiles.isEmpty()) {
-                return "❌ No DRL files found in storage directory: " + storageRoot;
+                return KnowledgeBaseWatcher.Rebuild.failed("❌ No DRL files found in storage directory: " + storageRoot);
             }
             
-            StringBuilder combinedDrl = new StringBuilder();
-            StringBuilder fileList = new StringBuilder();
+            // Read the files in parallel, each one becomes its own resource
+            Map<String, String> files = drlFiles.parallelStream()
+                .collect(Collectors.toConcurrentMap(path -> path.getFileName().toString(), path -> {
+                    try {
+                        return Files.readString(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            
+            return buildFromFiles(files, knowledgeBaseName, mode, makeCurrent);
+            
+        } catch (IOException e) {
+            return KnowledgeBaseWatcher.Rebuild.failed("❌ Error reading DRL files from storage: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            return KnowledgeBaseWatcher.Rebuild.failed("❌ Error reading DRL files from storage: " + e.getCause().getMessage());
+        } catch (IllegalArgumentException e) {
+            return KnowledgeBaseWatcher.Rebuild.failed("❌ " + e.getMessage());
+        }
+    }
+    
+    /**
+     * @param mode Compilation mode, or null to keep the mode of the previous build
+     * @param makeCurrent Whether the built knowledge base becomes the current one
+     */
+    private KnowledgeBaseWatcher.Rebuild buildFromFiles(Map<String, String> files, String knowledgeBaseName, CompilationMode mode,
+                                                        boolean makeCurrent) {
+        try {
+            String name = resolveName(knowledgeBaseName);
+            
+            StringBuilder response = new StringBuilder();
+            response.append("📁 Found ").append(files.size()).append(" DRL file(s)\n\n");
+            response.append("🏗️ Building and Storing Drools Knowledge Base: ").append(name).append("\n");
+            response.append("=".repeat(55 + name.length()) + "\n\n");
+            
+            // Switching the compilation mode starts a new file set with a full build
+            IncrementalDrlFileSet fileSet = fileSets.compute(name, (key, existing) ->
+                existing != null && (mode == null || existing.getCompilationMode() == mode) ? existing : new IncrementalDrlFileSet(
+                    KieServices.Factory.get().newReleaseId("org.drools.agentic", "kb-" + artifactName(key) + "-files", "1.0.0"),
+                    mode != null ? mode : CompilationMode.DRL));
             
-            for (Path drlFile : drlFiles) {
-                String content = Files.readString(drlFile);
-                combinedDrl.append(content).append("\n\n");
-                fileList.append("  • ").append(drlFile.getFileName()).append("\n");
+            IncrementalDrlFileSet.BuildResult result;
+            synchronized (fileSet) {
+                result = fileSet.build(files);
+                if (!result.success()) {
+                    response.append("❌ Knowledge Base Build Failed:\n");
+                    response.append("-".repeat(30) + "\n");
+                    appendMessages(response, result.errors());
+                    return KnowledgeBaseWatcher.Rebuild.failed(response.toString());
+                }
+                KnowledgeBaseStorage.KnowledgeBaseInfo current = storage.getInfo(name);
+                if (result.changedFiles().isEmpty() && current != null
+                        && publishedEpochs.getOrDefault(name, -1L) == current.epoch()) {
+                    response.append("✅ No DRL file changed since the last build, knowledge base '")
+                        .append(name).append("' is up to date.\n");
+                    return KnowledgeBaseWatcher.Rebuild.succeeded(response.toString());
+                }
+                
+                KieContainer kieContainer = fileSet.newKieContainer();
+                KieSession kieSession = kieContainer.newKieSession();
+                KnowledgeBaseRegistry.Registration registration =
+                    storage.store(name, kieContainer, kieSession, files.size() + " DRL file(s) in " + storageRoot, makeCurrent);
+                long epoch = registration.info().epoch();
+                publishedEpochs.put(name, epoch);
+                
+                response.append("✅ Knowledge Base Built and Stored Successfully!\n");
+                response.append("-".repeat(45) + "\n");
+                response.append("📋 Knowledge Base Details:\n");
+                response.append("  • Name: ").append(name).append("\n");
+                response.append("  • Release ID: ").append(fileSet.getReleaseId()).append("\n");
+                response.append("  • Compilation: ").append(fileSet.getCompilationMode()).append("\n");
+                response.append("  • Build: ").append(result.incremental() ? "incremental" : "full")
+                    .append(", ").append(result.changedFiles().size()).append(" of ").append(files.size())
+                    .append(" file(s) compiled\n");
+                response.append("  • Epoch: ").append(epoch).append("\n");
+                response.append("  • Session ID: ").append(kieSession.getId()).append("\n");
+                appendEvicted(response, registration);
             }
             
-            String result = buildKnowledgeBaseFromContent(combinedDrl.toString());
+            if (result.incremental()) {
+                response.append("\n🔄 Changed Files:\n");
+                result.changedFiles().forEach(file -> response.append("  • ").append(file).append("\n"));
+            }
             
-            // Prepend file information to result
-            return "📁 Found " + drlFiles.size() + " DRL file(s):\n" + fileList + "\n" + result;
+            if (!result.warnings().isEmpty()) {
+                response.append("\n⚠️ Warnings:\n");
+                appendMessages(response, result.warnings());
+            }
             
-        } catch (IOException e) {
-            return "❌ Error reading DRL files from storage: " + e.getMessage();
+            // Show DRL content summary, outlines of unchanged files come from the indexer cache
+            int rules = 0;
+            int declaredTypes = 0;
+            int globals = 0;
+            for (String content : files.values()) {
+                DrlOutline outline = drlParser.outline(content);
+                rules += outline.rules().size();
+                declaredTypes += outline.declaredTypes().size();
+                globals += outline.globals().size();
+            }
+            response.append("\n📜 DRL Content Summary:\n");
+            response.append("-".repeat(22) + "\n");
+            response.append("  • Rules: ").append(rules).append("\n");
+            response.append("  • Declared Types: ").append(declaredTypes).append("\n");
+            response.append("  • Globals: ").append(globals).append("\n");
+            
+            response.append("\n🎯 Knowledge base '").append(name).append("' is now ready for execution!\n");
+            response.append("Use 'executeRules' to run rules with JSON facts on-demand.\n");
+            
+            return KnowledgeBaseWatcher.Rebuild.succeeded(response.toString());
+            
+        } catch (Exception e) {
+            return KnowledgeBaseWatcher.Rebuild.failed(
+                String.format("❌ Knowledge base build failed: %s\n\nPlease check your DRL syntax.", e.getMessage()));
+        }
+    }
+    
+    private static void appendEvicted(StringBuilder response, KnowledgeBaseRegistry.Registration registration) {
+        if (!registration.evicted().isEmpty()) {
+            response.append("  • Evicted to stay within the memory budget: ")
+                .append(String.join(", ", registration.evicted())).append("\n");
+        }
+    }
+    
+    private static void appendMessages(StringBuilder response, List<IncrementalDrlFileSet.FileMessage> messages) {
+        for (IncrementalDrlFileSet.FileMessage message : messages) {
+            response.append("• ").append(message.file());
+            if (message.line() > 0) {
+                response.append(":").append(message.line());
+            }
+            response.append(" - ").append(message.text()).append("\n");
         }
     }
     
-    private String buildKnowledgeBaseFromContent(String drlContent) {
+    private String buildKnowledgeBaseFromContent(String drlContent, String knowledgeBaseName, CompilationMode mode) {
         try {
-            String name = "main-kb";
+            String name = resolveName(knowledgeBaseName);
             
-            // Previous knowledge base will be disposed by shared storage
+            // Executions still running on a previous knowledge base with this name finish on it;
+            // shared storage disposes it after the last one
             
             StringBuilder response = new StringBuilder();
             response.append("🏗️ Building and Storing Drools Knowledge Base: ").append(name).append("\n");
             response.append("=".repeat(55 + name.length()) + "\n\n");
             
             KieServices ks = KieServices.Factory.get();
-            KieFileSystem kfs = ks.newKieFileSystem();
             
-            // Add the DRL content to the file system
-            String resourceName = "src/main/resources/" + name + ".drl";
-            kfs.write(resourceName, drlContent);
+            // Each name gets its own release id, so knowledge bases do not replace each other in the repository
+            ReleaseId releaseId = ks.newReleaseId("org.drools.agentic", "kb-" + artifactName(name), "1.0.0");
+            String resourceName = "src/main/resources/" + artifactName(name) + ".drl";
             
-            // Build the knowledge base
-            KieBuilder kieBuilder = ks.newKieBuilder(kfs).buildAll();
+            // The cached kjar carries the release id, so it is part of the cache key
+            String cacheKey = releaseId + "\n" + drlContent;
+            KieContainer kieContainer = kieModuleDiskCache != null ? kieModuleDiskCache.load(cacheKey, mode) : null;
+            boolean fromDiskCache = kieContainer != null;
+            List<Message> warnings = List.of();
             
-            // Check for compilation errors
-            if (kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
-                response.append("❌ Knowledge Base Build Failed:\n");
-                response.append("-".repeat(30) + "\n");
-                for (Message message : kieBuilder.getResults().getMessages(Message.Level.ERROR)) {
-                    response.append("• ").append(message.getText()).append("\n");
+            if (!fromDiskCache) {
+                KieFileSystem kfs = ks.newKieFileSystem();
+                kfs.generateAndWritePomXML(releaseId);
+                
+                // Add the DRL content to the file system
+                kfs.write(resourceName, drlContent);
+                
+                // Build the knowledge base
+                KieBuilder kieBuilder = mode == CompilationMode.EXECUTABLE_MODEL
+                    ? ks.newKieBuilder(kfs).buildAll(ExecutableModelProject.class)
+                    : ks.newKieBuilder(kfs).buildAll();
+                
+                // Check for compilation errors
+                if (kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
+                    response.append("❌ Knowledge Base Build Failed:\n");
+                    response.append("-".repeat(30) + "\n");
+                    for (Message message : kieBuilder.getResults().getMessages(Message.Level.ERROR)) {
+                        response.append("• ").append(message.getText()).append("\n");
+                    }
+                    return response.toString();
+                }
+                warnings = kieBuilder.getResults().getMessages(Message.Level.WARNING);
+                
+                kieContainer = ks.newKieContainer(kieBuilder.getKieModule().getReleaseId());
+                if (kieModuleDiskCache != null) {
+                    // The release id is shared by every build of this name, so write the module just
+                    // built rather than whichever one the repository holds under that id by now
+                    kieModuleDiskCache.store(cacheKey, mode, kieBuilder.getKieModule());
                 }
-                return response.toString();
             }
             
-            // Create container and session, store in shared storage
-            KieContainer kieContainer = ks.newKieContainer(kieBuilder.getKieModule().getReleaseId());
+            // Create session, store in shared storage
             KieSession kieSession = kieContainer.newKieSession();
             
             // Store in shared storage
-            storage.store(name, kieContainer, kieSession, resourceName);
+            KnowledgeBaseRegistry.Registration registration = storage.store(name, kieContainer, kieSession, resourceName);
+            long epoch = registration.info().epoch();
             
             response.append("✅ Knowledge Base Built and Stored Successfully!\n");
             response.append("-".repeat(45) + "\n");
             response.append("📋 Knowledge Base Details:\n");
             response.append("  • Name: ").append(name).append("\n");
-            response.append("  • Release ID: ").append(kieBuilder.getKieModule().getReleaseId()).append("\n");
+            response.append("  • Release ID: ").append(releaseId).append("\n");
             response.append("  • Resource: ").append(resourceName).append("\n");
+            response.append("  • Compilation: ").append(mode).append("\n");
+            response.append("  • Compiled: ").append(fromDiskCache ? "loaded from disk cache" : "from source").append("\n");
+            response.append("  • Epoch: ").append(epoch).append("\n");
             response.append("  • Session Created: Yes\n");
             response.append("  • Session ID: ").append(kieSession.getId()).append("\n");
+            appendEvicted(response, registration);
             
             // Show any warnings
-            if (kieBuilder.getResults().hasMessages(Message.Level.WARNING)) {
+            if (!warnings.isEmpty()) {
                 response.append("\n⚠️ Warnings:\n");
-                for (Message message : kieBuilder.getResults().getMessages(Message.Level.WARNING)) {
+                for (Message message : warnings) {
                     response.append("• ").append(message.getText()).append("\n");
                 }
             }
@@ -149,13 +406,11 @@ public class DroolsKnowledgeBaseService {
             response.append("\n📜 DRL Content Summary:\n");
             response.append("-".repeat(22) + "\n");
             
-            long ruleCount = countRules(drlContent);
-            long declareCount = countDeclarations(drlContent);
-            long globalCount = countGlobals(drlContent);
+            DrlOutline outline = drlParser.outline(drlContent);
                 
-            response.append("  • Rules: ").append(ruleCount).append("\n");
-            response.append("  • Declared Types: ").append(declareCount).append("\n");
-            response.append("  • Globals: ").append(globalCount).append("\n");
+            response.append("  • Rules: ").append(outline.rules().size()).append("\n");
+            response.append("  • Declared Types: ").append(outline.declaredTypes().size()).append("\n");
+            response.append("  • Globals: ").append(outline.globals().size()).append("\n");
             
             response.append("\n🎯 Knowledge base '").append(name).append("' is now ready for execution!\n");
             response.append("Use 'executeRules' to run rules with JSON facts on-demand.\n");
@@ -166,28 +421,51 @@ public class DroolsKnowledgeBaseService {
             return String.format("❌ Knowledge base build failed: %s\n\nPlease check your DRL syntax.", e.getMessage());
         }
     }
+    
+    /**
+     * Watcher of a storage directory and the knowledge base it rebuilds
+     */
+    private record AutoRebuild(String knowledgeBaseName, KnowledgeBaseWatcher watcher) {
+    }
+    
+    private static String resolveName(String knowledgeBaseName) {
+        return knowledgeBaseName == null || knowledgeBaseName.isBlank()
+            ? KnowledgeBaseStorage.DEFAULT_NAME : knowledgeBaseName.trim();
+    }
+    
+    /**
+     * Turns a knowledge base name into something usable as artifact id and file name
+     */
+    private static String artifactName(String name) {
+        return name.replaceAll("[^A-Za-z0-9_.-]", "_");
+    }
    
     // ========== SINGLE SESSION MANAGEMENT ==========
     
-    @Tool("Get current knowledge base status")
     public String getKnowledgeBaseStatus() {
+        return getKnowledgeBaseStatus(null);
+    }
+    
+    @Tool("Get current knowledge base status")
+    public String getKnowledgeBaseStatus(@P(value = "Name of the knowledge base, or null for the current one", required = false) String knowledgeBaseName) {
         StringBuilder response = new StringBuilder();
         response.append("📚 Current Knowledge Base Status:\n");
         response.append("=".repeat(33) + "\n");
         
-        if (!storage.hasKnowledgeBase()) {
+        KnowledgeBaseStorage.KnowledgeBaseInfo info = storage.getInfo(knowledgeBaseName);
+        if (info == null) {
             response.append("No knowledge base currently loaded.\n");
             response.append("Use 'buildKnowledgeBaseFromFile' or 'buildKnowledgeBaseFromContent' to create one.\n");
             return response.toString();
         }
         
-        KnowledgeBaseStorage.KnowledgeBaseInfo info = storage.getInfo();
         response.append("📋 Knowledge Base Details:\n");
         response.append("  • Name: ").append(info.name()).append("\n");
         response.append("  • Release ID: ").append(info.releaseId()).append("\n");
         response.append("  • Session Active: ").append(info.sessionActive() ? "Yes" : "No").append("\n");
         response.append("  • Session ID: ").append(info.sessionId()).append("\n");
         response.append("  • Facts in Memory: ").append(info.factCount()).append("\n");
+        response.append("  • Epoch: ").append(info.epoch()).append("\n");
         response.append("  • Created: ").append(info.createdTime()).append("\n");
         
         response.append("\n🎯 Ready for rule execution!\n");
@@ -195,10 +473,16 @@ public class DroolsKnowledgeBaseService {
         return response.toString();
     }
     
-    @Tool("Dispose current knowledge base and session")
     public String disposeKnowledgeBase() {
+        return disposeKnowledgeBase(null);
+    }
+    
+    @Tool("Dispose current knowledge base and session")
+    public String disposeKnowledgeBase(@P(value = "Name of the knowledge base, or null for the current one", required = false) String knowledgeBaseName) {
         try {
-            storage.dispose();
+            if (!storage.dispose(knowledgeBaseName)) {
+                return "❌ No knowledge base named '" + storage.resolveName(knowledgeBaseName) + "' to dispose.";
+            }
             
             return "✅ Knowledge base and session disposed successfully.\n" +
                    "Resources have been freed. You can now create a new knowledge base.";
@@ -207,24 +491,4 @@ public class DroolsKnowledgeBaseService {
             return "❌ Failed to dispose knowledge base: " + e.getMessage();
         }
     }
-    
-    // ========== HELPER METHODS ==========
-    
-    private long countRules(String drlContent) {
-        return drlContent.lines()
-            .filter(line -> line.trim().startsWith("rule "))
-            .count();
-    }
-    
-    private long countDeclarations(String drlContent) {
-        return drlContent.lines()
-            .filter(line -> line.trim().startsWith("declare "))
-            .count();
-    }
-    
-    private long countGlobals(String drlContent) {
-        return drlContent.lines()
-            .filter(line -> line.trim().startsWith("global "))
-            .count();
-    }
 }
@@ -0,0 +1,175 @@
+package org.drools.agentic.example.services.knowledge;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Watches a directory for changed DRL files and triggers a rebuild when they change.
+ * Bursts of writes are debounced: the rebuild runs once the directory has been quiet
+ * for the debounce interval. Rebuilds run one at a time on a background thread, and
+ * only rebuilds reporting success are counted as such.
+ */
+public class KnowledgeBaseWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(KnowledgeBaseWatcher.class);
+
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(200);
+
+    private final Path directory;
+    private final Duration debounce;
+    private final Supplier<Rebuild> rebuild;
+    private final WatchService watchService;
+    private final ScheduledExecutorService scheduler;
+    private final Thread watchThread;
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong failedRebuilds = new AtomicLong();
+
+    private ScheduledFuture<?> pendingRebuild;
+    private volatile String lastResult;
+    private volatile boolean closed;
+
+    /**
+     * Starts watching a directory
+     * @param directory Directory holding the DRL files
+     * @param debounce Quiet time after the last change before rebuilding
+     * @param rebuild Rebuilds and publishes the knowledge base, returning its outcome and a report of the build
+     * @throws IOException if the directory cannot be watched
+     */
+    public KnowledgeBaseWatcher(Path directory, Duration debounce, Supplier<Rebuild> rebuild) throws IOException {
+        this.directory = directory;
+        this.debounce = debounce;
+        this.rebuild = rebuild;
+        this.watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "knowledge-base-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchThread = new Thread(this::watch, "knowledge-base-watcher");
+        this.watchThread.setDaemon(true);
+        this.watchThread.start();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets the number of successful rebuilds so far
+     * @return Rebuild count
+     */
+    public long getRebuildCount() {
+        return rebuilds.get();
+    }
+
+    /**
+     * Gets the number of rebuilds that failed, by reporting failure or by throwing
+     * @return Failed rebuild count
+     */
+    public long getFailedRebuildCount() {
+        return failedRebuilds.get();
+    }
+
+    /**
+     * Gets the report of the last rebuild, successful or not
+     * @return Report returned by the rebuild, or null if none ran yet
+     */
+    public String getLastResult() {
+        return lastResult;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close watch service for {}: {}", directory, e.getMessage());
+        }
+        watchThread.interrupt();
+        scheduler.shutdownNow();
+    }
+
+    private void watch() {
+        while (!closed) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            boolean drlChanged = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                // On overflow events were lost, so any file may have changed
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                        || event.context() instanceof Path path && path.toString().toLowerCase().endsWith(".drl")) {
+                    drlChanged = true;
+                }
+            }
+            key.reset();
+            if (drlChanged) {
+                scheduleRebuild();
+            }
+        }
+    }
+
+    private synchronized void scheduleRebuild() {
+        if (closed) {
+            return;
+        }
+        if (pendingRebuild != null) {
+            pendingRebuild.cancel(false);
+        }
+        pendingRebuild = scheduler.schedule(this::runRebuild, debounce.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void runRebuild() {
+        try {
+            Rebuild outcome = rebuild.get();
+            lastResult = outcome.report();
+            if (outcome.success()) {
+                rebuilds.incrementAndGet();
+                logger.info("Rebuilt knowledge base after changes in {}", directory);
+            } else {
+                failedRebuilds.incrementAndGet();
+                logger.warn("Failed to rebuild knowledge base after changes in {}:\n{}", directory, outcome.report());
+            }
+        } catch (RuntimeException e) {
+            failedRebuilds.incrementAndGet();
+            logger.warn("Failed to rebuild knowledge base after changes in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Outcome of a rebuild
+     * @param success Whether the knowledge base is built and up to date
+     * @param report Human readable report of the build
+     */
+    public record Rebuild(boolean success, String report) {
+
+        public static Rebuild succeeded(String report) {
+            return new Rebuild(true, report);
+        }
+
+        public static Rebuild failed(String report) {
+            return new Rebuild(false, report);
+        }
+    }
+}
@@ -0,0 +1,494 @@
+package org.drools.agentic.example.storage;
+
+import org.drools.execution.KieSessionPool;
+import org.kie.api.KieBase;
+import org.kie.api.definition.KiePackage;
+import org.kie.api.runtime.Globals;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Named registry of knowledge bases, so several rule sets can be served side by side.
+ * Lookups are lock-free. Publishing a knowledge base under a name swaps it in atomically
+ * and gives it a new epoch: executions started afterwards lease the new epoch right away,
+ * while executions already holding a {@link Lease} finish on the one they started with.
+ * An entry that is replaced, removed or evicted drains and is disposed only once its
+ * last lease is closed, so a rebuild never waits for, nor disposes under, running work.
+ * Entries carry an estimated memory footprint, and when the total exceeds the budget
+ * the least recently used entries that nobody is using are evicted. Entries whose shared
+ * session holds facts are never evicted, as those facts could not be recovered; the
+ * registration that caused an eviction reports the evicted names.
+ * Each knowledge base offers pooled sessions for isolated executions, and serializes
+ * all use of its shared stateful session through a single writer thread.
+ */
+public class KnowledgeBaseRegistry {
+
+    /** Memory budget for all registered knowledge bases, in bytes */
+    public static final String MEMORY_BUDGET_PROPERTY = "drools.kb.memoryBudget";
+    public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+
+    // Rough footprint of a compiled KieBase, used when the caller does not know better
+    private static final long BASE_FOOTPRINT = 256L * 1024;
+    private static final long RULE_FOOTPRINT = 32L * 1024;
+    private static final long TYPE_FOOTPRINT = 8L * 1024;
+
+    private static final KnowledgeBaseRegistry INSTANCE =
+            new KnowledgeBaseRegistry(Long.getLong(MEMORY_BUDGET_PROPERTY, DEFAULT_MEMORY_BUDGET));
+
+    private final long memoryBudget;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong epochs = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicInteger draining = new AtomicInteger();
+
+    /**
+     * @param memoryBudget Estimated bytes all entries may use together before the least recently used are evicted
+     */
+    public KnowledgeBaseRegistry(long memoryBudget) {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive");
+        }
+        this.memoryBudget = memoryBudget;
+    }
+
+    public static KnowledgeBaseRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers a knowledge base under a name, replacing any previous one with that name.
+     * The footprint is estimated from the number of rules and declared types.
+     * @param name Name of the knowledge base, e.g. a tenant or project id
+     * @param kieContainer Container holding the compiled KieBase
+     * @param kieSession Stateful session kept with the knowledge base, or null
+     * @param source Description of where the rules came from
+     * @return Information about the registered knowledge base and the knowledge bases evicted to make room
+     */
+    public Registration register(String name, KieContainer kieContainer, KieSession kieSession, String source) {
+        return register(name, kieContainer, kieSession, source, estimateFootprint(kieContainer.getKieBase()));
+    }
+
+    /**
+     * Registers a knowledge base under a name, replacing any previous one with that name
+     * @param name Name of the knowledge base, e.g. a tenant or project id
+     * @param kieContainer Container holding the compiled KieBase
+     * @param kieSession Stateful session kept with the knowledge base, or null
+     * @param source Description of where the rules came from
+     * @param footprint Estimated memory use in bytes
+     * @return Information about the registered knowledge base and the knowledge bases evicted to make room
+     */
+    public Registration register(String name, KieContainer kieContainer, KieSession kieSession, String source,
+                                 long footprint) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Knowledge base name cannot be null or empty");
+        }
+        Entry entry = new Entry(name, kieContainer, kieSession, source, footprint,
+                epochs.incrementAndGet(), clock.incrementAndGet(), draining);
+        // Atomic swap: from here on new leases get the new entry, existing leases keep the previous one
+        Entry previous = entries.put(name, entry);
+        if (previous != null) {
+            previous.retire();
+        }
+        List<String> evicted = evictOverBudget(entry);
+        return new Registration(entry.info(), evicted);
+    }
+
+    /**
+     * Leases the knowledge base registered under a name. The lease must be closed when
+     * done; until then the knowledge base stays usable even if it is replaced or evicted.
+     * @param name Name of the knowledge base
+     * @return Lease on the knowledge base, or null if there is none with that name
+     */
+    public Lease acquire(String name) {
+        while (true) {
+            Entry entry = entries.get(name);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.retain()) {
+                entry.lastAccess = clock.incrementAndGet();
+                return new Lease(entry);
+            }
+            // Retired between lookup and retain, look up its replacement
+            entries.remove(name, entry);
+        }
+    }
+
+    /**
+     * Gets information about a registered knowledge base
+     * @param name Name of the knowledge base
+     * @return Information, or null if there is none with that name
+     */
+    public KnowledgeBaseStorage.KnowledgeBaseInfo getInfo(String name) {
+        Entry entry = entries.get(name);
+        return entry != null ? entry.info() : null;
+    }
+
+    /**
+     * Tells whether a knowledge base is registered under a name
+     * @param name Name of the knowledge base
+     * @return true if registered
+     */
+    public boolean contains(String name) {
+        return name != null && entries.containsKey(name);
+    }
+
+    /**
+     * Gets information about all registered knowledge bases
+     * @return Information per knowledge base, most recently used first
+     */
+    public List<KnowledgeBaseStorage.KnowledgeBaseInfo> list() {
+        List<Entry> snapshot = new ArrayList<>(entries.values());
+        snapshot.sort((a, b) -> Long.compare(b.lastAccess, a.lastAccess));
+        return snapshot.stream().map(Entry::info).toList();
+    }
+
+    /**
+     * Removes a knowledge base; it is disposed once the last lease on it is closed
+     * @param name Name of the knowledge base
+     * @return true if a knowledge base was registered under the name
+     */
+    public boolean remove(String name) {
+        Entry removed = entries.remove(name);
+        if (removed == null) {
+            return false;
+        }
+        removed.retire();
+        return true;
+    }
+
+    /**
+     * Gets the estimated memory use of all registered knowledge bases
+     * @return Sum of the estimated footprints in bytes
+     */
+    public long getFootprint() {
+        return footprint(entries.values());
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the number of replaced, removed or evicted knowledge bases that are still leased
+     * @return Knowledge bases waiting for their last lease to be closed before being disposed
+     */
+    public int getDrainingCount() {
+        return draining.get();
+    }
+
+    /**
+     * Estimates the memory use of a compiled KieBase from the number of rules and declared types
+     * @param kieBase The KieBase
+     * @return Estimated footprint in bytes
+     */
+    public static long estimateFootprint(KieBase kieBase) {
+        long footprint = BASE_FOOTPRINT;
+        for (KiePackage kiePackage : kieBase.getKiePackages()) {
+            footprint += kiePackage.getRules().size() * RULE_FOOTPRINT;
+            footprint += kiePackage.getFactTypes().size() * TYPE_FOOTPRINT;
+        }
+        return footprint;
+    }
+
+    /**
+     * Evicts least recently used entries that are not leased and hold no facts until the
+     * footprint fits the budget. The entry just registered is never evicted.
+     * @return Names of the evicted entries
+     */
+    private synchronized List<String> evictOverBudget(Entry keep) {
+        List<String> evicted = new ArrayList<>();
+        while (footprint(entries.values()) > memoryBudget) {
+            Entry victim = null;
+            for (Entry candidate : entries.values()) {
+                if (candidate != keep && candidate.leases.get() == 0 && !candidate.holdsFacts()
+                        && (victim == null || candidate.lastAccess < victim.lastAccess)) {
+                    victim = candidate;
+                }
+            }
+            if (victim == null) {
+                // Everything else is in use or holds facts, stay over budget until that changes
+                break;
+            }
+            if (entries.remove(victim.name, victim)) {
+                victim.retire();
+                evictions.incrementAndGet();
+                evicted.add(victim.name);
+            }
+        }
+        return evicted;
+    }
+
+    private static long footprint(Collection<Entry> entries) {
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.footprint;
+        }
+        return total;
+    }
+
+    /**
+     * A registered knowledge base, the epoch it was published in and its lease count
+     */
+    private static final class Entry {
+
+        final String name;
+        final KieContainer kieContainer;
+        // Replaced by resetSharedSession() on the writer thread
+        volatile KieSession kieSession;
+        final String source;
+        final long footprint;
+        final long epoch;
+        final LocalDateTime createdTime = LocalDateTime.now();
+        final AtomicInteger leases = new AtomicInteger();
+        final AtomicBoolean disposed = new AtomicBoolean();
+        final AtomicInteger draining;
+        volatile boolean retired;
+        volatile long lastAccess;
+        // Created on first use, guarded by this
+        private KieSessionPool sessionPool;
+        private ExecutorService writer;
+
+        Entry(String name, KieContainer kieContainer, KieSession kieSession, String source, long footprint,
+              long epoch, long lastAccess, AtomicInteger draining) {
+            this.name = name;
+            this.kieContainer = kieContainer;
+            this.kieSession = kieSession;
+            this.source = source;
+            this.footprint = footprint;
+            this.epoch = epoch;
+            this.lastAccess = lastAccess;
+            this.draining = draining;
+        }
+
+        boolean retain() {
+            leases.incrementAndGet();
+            if (retired) {
+                release();
+                return false;
+            }
+            return true;
+        }
+
+        void release() {
+            if (leases.decrementAndGet() == 0 && retired) {
+                dispose();
+            }
+        }
+
+        void retire() {
+            retired = true;
+            draining.incrementAndGet();
+            if (leases.get() == 0) {
+                dispose();
+            }
+        }
+
+        /**
+         * Tells whether the shared session holds facts, which would be lost with the entry
+         */
+        boolean holdsFacts() {
+            KieSession session = kieSession;
+            return session != null && !disposed.get() && session.getFactCount() > 0;
+        }
+
+        synchronized KieSessionPool sessionPool() {
+            if (sessionPool == null) {
+                sessionPool = new KieSessionPool(kieContainer, KieSessionPool.Settings.defaults());
+            }
+            return sessionPool;
+        }
+
+        synchronized ExecutorService writer() {
+            if (writer == null) {
+                writer = Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "knowledge-base-" + name + "-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return writer;
+        }
+
+        private void dispose() {
+            if (disposed.compareAndSet(false, true)) {
+                try {
+                    synchronized (this) {
+                        if (writer != null) {
+                            writer.shutdown();
+                        }
+                        if (sessionPool != null) {
+                            sessionPool.close();
+                        }
+                    }
+                    if (kieSession != null) {
+                        kieSession.dispose();
+                    }
+                    kieContainer.dispose();
+                } finally {
+                    draining.decrementAndGet();
+                }
+            }
+        }
+
+        KnowledgeBaseStorage.KnowledgeBaseInfo info() {
+            KieSession session = kieSession;
+            boolean sessionActive = session != null && !disposed.get();
+            return new KnowledgeBaseStorage.KnowledgeBaseInfo(
+                name,
+                kieContainer.getReleaseId() != null ? kieContainer.getReleaseId().toString() : "",
+                sessionActive ? session.getId() : -1,
+                sessionActive ? session.getFactCount() : 0,
+                createdTime,
+                source,
+                sessionActive,
+                epoch
+            );
+        }
+    }
+
+    /**
+     * Outcome of a registration
+     * @param info Information about the registered knowledge base
+     * @param evicted Names of the knowledge bases evicted to keep within the memory budget, oldest first
+     */
+    public record Registration(KnowledgeBaseStorage.KnowledgeBaseInfo info, List<String> evicted) {
+    }
+
+    /**
+     * Use of a registered knowledge base. Closing the lease allows the knowledge base
+     * to be disposed once it has been replaced, removed or evicted.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final Entry entry;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        public String getName() {
+            return entry.name;
+        }
+
+        /**
+         * Gets the epoch of the leased knowledge base, which stays the same for the whole lease
+         * @return Epoch the knowledge base was published in
+         */
+        public long getEpoch() {
+            return entry.epoch;
+        }
+
+        public KieContainer getKieContainer() {
+            return entry.kieContainer;
+        }
+
+        /**
+         * Gets the stateful session kept with the knowledge base. Use {@link #withSharedSession(Function)}
+         * to work with it, as the session is replaced when it is reset.
+         * @return The session, or null if the knowledge base has none
+         */
+        public KieSession getSession() {
+            return entry.kieSession;
+        }
+
+        public KnowledgeBaseStorage.KnowledgeBaseInfo getInfo() {
+            return entry.info();
+        }
+
+        /**
+         * Borrows a session with empty working memory from the knowledge base's session pool,
+         * for an execution that must not see or leave facts in the shared session
+         * @return Session to hand back with {@link #releaseSession(KieSession)}
+         */
+        public KieSession borrowSession() {
+            return entry.sessionPool().borrow();
+        }
+
+        /**
+         * Hands back a session obtained from {@link #borrowSession()}
+         * @param session The borrowed session
+         */
+        public void releaseSession(KieSession session) {
+            entry.sessionPool().release(session);
+        }
+
+        /**
+         * Runs an action on the shared stateful session. Actions of all callers are queued
+         * and run one at a time on the knowledge base's writer thread.
+         * @param action Action to run with the shared session
+         * @return Result of the action
+         * @throws IllegalStateException if the knowledge base has no shared session
+         */
+        public <T> T withSharedSession(Function<KieSession, T> action) {
+            if (entry.kieSession == null) {
+                throw new IllegalStateException("Knowledge base '" + entry.name + "' has no shared session");
+            }
+            try {
+                // Read the session on the writer thread, after any reset queued before this action
+                return entry.writer().submit(() -> action.apply(entry.kieSession)).get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new RuntimeException("Failed to run on shared session: " + e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for shared session", e);
+            }
+        }
+
+        /**
+         * Empties the shared session by swapping in a fresh session instead of deleting every
+         * fact, so no retractions are propagated. Globals, channels and event listeners are
+         * carried over, so the shared session behaves as if its facts had been deleted. The
+         * fresh session is created outside the session pool, whose sessions are only lent to
+         * isolated executions, and the old session is disposed.
+         * @return Number of facts the old session held
+         * @throws IllegalStateException if the knowledge base has no shared session
+         */
+        public long resetSharedSession() {
+            return withSharedSession(session -> {
+                long factCount = session.getFactCount();
+                KieSession fresh = entry.kieContainer.newKieSession();
+                Globals globals = session.getGlobals();
+                for (String identifier : globals.getGlobalKeys()) {
+                    fresh.setGlobal(identifier, globals.get(identifier));
+                }
+                session.getChannels().forEach(fresh::registerChannel);
+                session.getRuleRuntimeEventListeners().forEach(fresh::addEventListener);
+                session.getAgendaEventListeners().forEach(fresh::addEventListener);
+                session.getProcessEventListeners().forEach(fresh::addEventListener);
+                entry.kieSession = fresh;
+                session.dispose();
+                return factCount;
+            });
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                entry.release();
+            }
+        }
+    }
+}
@@ -4,75 +4,95 @@ import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
 
 import java.time.LocalDateTime;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.List;
 
 /**
  * Shared storage for knowledge base and session management.
- * Thread-safe singleton that stores the current knowledge base and session.
+ * Thread-safe singleton over a {@link KnowledgeBaseRegistry}, so several named knowledge
+ * bases can be kept at once. Calls without a name use the current knowledge base,
+ * which is the one stored last.
  */
 public class KnowledgeBaseStorage {
     
-    private static final KnowledgeBaseStorage INSTANCE = new KnowledgeBaseStorage();
+    public static final String DEFAULT_NAME = "main-kb";
     
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private KieContainer currentKnowledgeBase;
-    private KieSession currentSession;
-    private String knowledgeBaseName;
-    private LocalDateTime createdTime;
-    private String sourceInfo;
+    private static final KnowledgeBaseStorage INSTANCE = new KnowledgeBaseStorage(KnowledgeBaseRegistry.getInstance());
     
-    private KnowledgeBaseStorage() {
-        // Private constructor for singleton
+    private final KnowledgeBaseRegistry registry;
+    private volatile String currentName = DEFAULT_NAME;
+    
+    KnowledgeBaseStorage(KnowledgeBaseRegistry registry) {
+        this.registry = registry;
     }
     
     public static KnowledgeBaseStorage getInstance() {
         return INSTANCE;
     }
     
+    public KnowledgeBaseRegistry getRegistry() {
+        return registry;
+    }
+    
     /**
-     * Store a new knowledge base and session (replaces existing)
+     * Store a new knowledge base and session under a name and make it the current one.
+     * The swap does not wait for running executions: they finish on the knowledge base they
+     * started with, which is disposed once the last of them is done.
+     * @return The stored knowledge base, with its epoch, and the knowledge bases evicted to make room
      */
-    public void store(String name, KieContainer kieContainer, KieSession kieSession, String source) {
-        lock.writeLock().lock();
-        try {
-            // Dispose existing session if any
-            if (currentSession != null) {
-                currentSession.dispose();
-            }
-            
-            // Store new knowledge base and session
-            this.knowledgeBaseName = name;
-            this.currentKnowledgeBase = kieContainer;
-            this.currentSession = kieSession;
-            this.createdTime = LocalDateTime.now();
-            this.sourceInfo = source;
-            
-        } finally {
-            lock.writeLock().unlock();
+    public KnowledgeBaseRegistry.Registration store(String name, KieContainer kieContainer, KieSession kieSession,
+                                                    String source) {
+        return store(name, kieContainer, kieSession, source, true);
+    }
+    
+    /**
+     * Store a new knowledge base and session under a name
+     * @param makeCurrent Whether calls without a name use the stored knowledge base from now on;
+     *                    background rebuilds pass false so they never redirect those calls
+     * @return The stored knowledge base, with its epoch, and the knowledge bases evicted to make room
+     */
+    public KnowledgeBaseRegistry.Registration store(String name, KieContainer kieContainer, KieSession kieSession,
+                                                    String source, boolean makeCurrent) {
+        KnowledgeBaseRegistry.Registration registration = registry.register(name, kieContainer, kieSession, source);
+        if (makeCurrent) {
+            currentName = name;
         }
+        return registration;
+    }
+    
+    /**
+     * Resolve a knowledge base name, falling back to the current knowledge base for null or empty names
+     */
+    public String resolveName(String name) {
+        return name == null || name.isBlank() ? currentName : name;
     }
     
     /**
-     * Get the current knowledge base (read-only)
+     * Lease a knowledge base for the duration of an operation; close the lease when done
+     * @return Lease, or null if no knowledge base is stored under the name
      */
+    public KnowledgeBaseRegistry.Lease acquire(String name) {
+        return registry.acquire(resolveName(name));
+    }
+    
+    /**
+     * Get the current knowledge base (read-only).
+     * The result is not leased and may be disposed by a concurrent swap; use {@link #acquire(String)} instead.
+     */
+    @Deprecated
     public KieContainer getKnowledgeBase() {
-        lock.readLock().lock();
-        try {
-            return currentKnowledgeBase;
-        } finally {
-            lock.readLock().unlock();
+        try (KnowledgeBaseRegistry.Lease lease = acquire(null)) {
+            return lease != null ? lease.getKieContainer() : null;
         }
     }
     
     /**
-     * Get the current session (read-only)
+     * Get the current session (read-only).
+     * The result is not leased and may be disposed by a concurrent swap; use {@link #acquire(String)} instead.
      */
+    @Deprecated
     public KieSession getSession() {
-        lock.readLock().lock();
-        try {
-            return currentSession;
-        } finally {
-            lock.readLock().unlock();
+        try (KnowledgeBaseRegistry.Lease lease = acquire(null)) {
+            return lease != null ? lease.getSession() : null;
         }
     }
     
@@ -80,66 +100,70 @@ public class KnowledgeBaseStorage {
      * Get knowledge base metadata
      */
     public KnowledgeBaseInfo getInfo() {
-        lock.readLock().lock();
-        try {
-            if (currentKnowledgeBase == null) {
-                return null;
-            }
-            
-            return new KnowledgeBaseInfo(
-                knowledgeBaseName,
-                currentKnowledgeBase.getReleaseId().toString(),
-                currentSession != null ? currentSession.getId() : -1,
-                currentSession != null ? currentSession.getFactCount() : 0,
-                createdTime,
-                sourceInfo,
-                currentSession != null
-            );
-        } finally {
-            lock.readLock().unlock();
-        }
+        return getInfo(null);
+    }
+    
+    /**
+     * Get metadata of a named knowledge base
+     */
+    public KnowledgeBaseInfo getInfo(String name) {
+        return registry.getInfo(resolveName(name));
+    }
+    
+    /**
+     * Get metadata of all stored knowledge bases, most recently used first
+     */
+    public List<KnowledgeBaseInfo> list() {
+        return registry.list();
     }
     
     /**
      * Check if a knowledge base is available
      */
     public boolean hasKnowledgeBase() {
-        lock.readLock().lock();
-        try {
-            return currentKnowledgeBase != null;
-        } finally {
-            lock.readLock().unlock();
-        }
+        return hasKnowledgeBase(null);
+    }
+    
+    /**
+     * Check if a named knowledge base is available
+     */
+    public boolean hasKnowledgeBase(String name) {
+        return registry.contains(resolveName(name));
     }
     
     /**
      * Check if a session is available
      */
     public boolean hasSession() {
-        lock.readLock().lock();
-        try {
-            return currentSession != null;
-        } finally {
-            lock.readLock().unlock();
-        }
+        return hasSession(null);
+    }
+    
+    /**
+     * Check if a named knowledge base has a session
+     */
+    public boolean hasSession(String name) {
+        KnowledgeBaseInfo info = getInfo(name);
+        return info != null && info.sessionActive();
     }
     
     /**
      * Clear all facts from the current session
      */
     public long clearFacts() {
-        lock.writeLock().lock();
-        try {
-            if (currentSession == null) {
+        return clearFacts(null);
+    }
+    
+    /**
+     * Clear all facts from the session of a named knowledge base.
+     * The session is swapped for an empty one rather than deleting fact by fact.
+     */
+    public long clearFacts(String name) {
+        try (KnowledgeBaseRegistry.Lease lease = acquire(name)) {
+            if (lease == null || lease.getSession() == null) {
                 return 0;
             }
             
-            long factCount = currentSession.getFactCount();
-            currentSession.getFactHandles().forEach(currentSession::delete);
-            return factCount;
-            
-        } finally {
-            lock.writeLock().unlock();
+            return lease.resetSharedSession();
         }
     }
     
@@ -147,21 +171,15 @@ public class KnowledgeBaseStorage {
      * Dispose the current knowledge base and session
      */
     public void dispose() {
-        lock.writeLock().lock();
-        try {
-            if (currentSession != null) {
-                currentSession.dispose();
-                currentSession = null;
-            }
-            
-            currentKnowledgeBase = null;
-            knowledgeBaseName = null;
-            createdTime = null;
-            sourceInfo = null;
-            
-        } finally {
-            lock.writeLock().unlock();
-        }
+        dispose(null);
+    }
+    
+    /**
+     * Dispose a named knowledge base and session, once no one uses it anymore
+     * @return true if a knowledge base was stored under the name
+     */
+    public boolean dispose(String name) {
+        return registry.remove(resolveName(name));
     }
     
     /**
@@ -174,6 +192,7 @@ public class KnowledgeBaseStorage {
         long factCount,
         LocalDateTime createdTime,
         String sourceInfo,
-        boolean sessionActive
+        boolean sessionActive,
+        long epoch
     ) {}
 }
\ No newline at end of file
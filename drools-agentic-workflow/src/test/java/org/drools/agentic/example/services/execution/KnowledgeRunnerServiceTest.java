@@ -0,0 +1,48 @@
+package org.drools.agentic.example.services.execution;
+
+import org.drools.agentic.example.services.execution.KnowledgeRunnerService.SessionMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KnowledgeRunnerServiceTest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(KnowledgeRunnerService.SESSION_MODE_PROPERTY);
+    }
+
+    @Test
+    void testSessionModeOf_ParsesNames() {
+        assertEquals(SessionMode.ISOLATED, SessionMode.of(null));
+        assertEquals(SessionMode.ISOLATED, SessionMode.of(" "));
+        assertEquals(SessionMode.SHARED, SessionMode.of("shared"));
+        assertEquals(SessionMode.SHARED, SessionMode.of(" SHARED "));
+        assertThrows(IllegalArgumentException.class, () -> SessionMode.of("shraed"));
+    }
+
+    @Test
+    void testSessionModePropertyIsRead() {
+        // Given
+        System.setProperty(KnowledgeRunnerService.SESSION_MODE_PROPERTY, "shared");
+
+        // When
+        KnowledgeRunnerService service = new KnowledgeRunnerService();
+
+        // Then
+        assertEquals(SessionMode.SHARED, service.getSessionMode());
+    }
+
+    @Test
+    void testUnknownSessionModeFallsBackToIsolated() {
+        // Given
+        System.setProperty(KnowledgeRunnerService.SESSION_MODE_PROPERTY, "shraed");
+
+        // When
+        KnowledgeRunnerService service = new KnowledgeRunnerService();
+
+        // Then
+        assertEquals(SessionMode.ISOLATED, service.getSessionMode());
+    }
+}
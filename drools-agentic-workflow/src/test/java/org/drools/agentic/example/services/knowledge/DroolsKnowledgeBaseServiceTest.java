@@ -0,0 +1,88 @@
+package org.drools.agentic.example.services.knowledge;
+
+import org.drools.agentic.example.storage.KnowledgeBaseStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DroolsKnowledgeBaseServiceTest {
+
+    @TempDir
+    Path home;
+
+    private String originalHome;
+    private DroolsKnowledgeBaseService service;
+    private final KnowledgeBaseStorage storage = KnowledgeBaseStorage.getInstance();
+
+    @BeforeEach
+    void setUp() {
+        // The service keeps its files under the user's home directory
+        originalHome = System.getProperty("user.home");
+        System.setProperty("user.home", home.toString());
+        service = new DroolsKnowledgeBaseService(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stopAutoRebuild();
+        storage.dispose("a");
+        storage.dispose("b");
+        System.setProperty("user.home", originalHome);
+    }
+
+    @Test
+    void testAutoRebuildDoesNotChangeCurrentKnowledgeBase() throws Exception {
+        // Given
+        Files.writeString(service.getStorageRoot().resolve("b.drl"), """
+            package org.example.b;
+            rule "B"
+            when
+            then
+            end
+            """);
+        assertTrue(service.buildKnowledgeBaseFromFile("b.drl", "b").contains("✅"));
+        KnowledgeBaseWatcher watcher = service.startAutoRebuild("a", Duration.ofMillis(50));
+
+        // When
+        Files.writeString(service.getStorageRoot().resolve("a.drl"), """
+            package org.example.a;
+            rule "A"
+            when
+            then
+            end
+            """);
+
+        // Then
+        assertTrue(waitFor(watcher, Duration.ofSeconds(30)), "Expected a rebuild, got: " + watcher.getLastResult());
+        assertTrue(storage.hasKnowledgeBase("a"));
+        assertEquals("b", storage.resolveName(null));
+    }
+
+    @Test
+    void testStorageDirectoryIsRebuiltIntoOneKnowledgeBase() {
+        // Given
+        KnowledgeBaseWatcher watcher = service.startAutoRebuild("a", Duration.ofMillis(50));
+
+        // When / Then
+        assertSame(watcher, service.startAutoRebuild("a", Duration.ofMillis(50)));
+        assertThrows(IllegalStateException.class, () -> service.startAutoRebuild("b", Duration.ofMillis(50)));
+    }
+
+    private static boolean waitFor(KnowledgeBaseWatcher watcher, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (watcher.getRebuildCount() > 0) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return watcher.getRebuildCount() > 0;
+    }
+}
@@ -0,0 +1,81 @@
+package org.drools.agentic.example.services.knowledge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KnowledgeBaseWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testBurstOfDrlWritesTriggersRebuild() throws Exception {
+        // Given
+        AtomicInteger builds = new AtomicInteger();
+        try (KnowledgeBaseWatcher watcher = new KnowledgeBaseWatcher(directory, Duration.ofMillis(100),
+                () -> KnowledgeBaseWatcher.Rebuild.succeeded("build " + builds.incrementAndGet()))) {
+
+            // When
+            for (int i = 0; i < 10; i++) {
+                Files.writeString(directory.resolve("rules" + i + ".drl"), "package org.example;\n");
+            }
+
+            // Then
+            assertTrue(waitFor(() -> watcher.getRebuildCount() > 0, Duration.ofSeconds(20)), "Expected a rebuild");
+            assertTrue(builds.get() < 10, "Writes should be debounced, got " + builds.get() + " builds");
+            assertEquals("build " + builds.get(), watcher.getLastResult());
+        }
+    }
+
+    @Test
+    void testOtherFilesAreIgnored() throws Exception {
+        // Given
+        AtomicInteger builds = new AtomicInteger();
+        try (KnowledgeBaseWatcher watcher = new KnowledgeBaseWatcher(directory, Duration.ofMillis(50),
+                () -> KnowledgeBaseWatcher.Rebuild.succeeded("build " + builds.incrementAndGet()))) {
+
+            // When
+            Files.writeString(directory.resolve("notes.txt"), "not rules");
+            Thread.sleep(500);
+
+            // Then
+            assertEquals(0, watcher.getRebuildCount());
+            assertNull(watcher.getLastResult());
+        }
+    }
+
+    @Test
+    void testFailedRebuildIsNotCounted() throws Exception {
+        // Given
+        try (KnowledgeBaseWatcher watcher = new KnowledgeBaseWatcher(directory, Duration.ofMillis(50),
+                () -> KnowledgeBaseWatcher.Rebuild.failed("❌ Knowledge Base Build Failed"))) {
+
+            // When
+            Files.writeString(directory.resolve("broken.drl"), "rule \"Broken\" when then");
+
+            // Then
+            assertTrue(waitFor(() -> watcher.getFailedRebuildCount() > 0, Duration.ofSeconds(20)), "Expected a failed rebuild");
+            assertEquals(0, watcher.getRebuildCount());
+            assertEquals("❌ Knowledge Base Build Failed", watcher.getLastResult());
+        }
+    }
+
+    private static boolean waitFor(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return condition.getAsBoolean();
+    }
+}
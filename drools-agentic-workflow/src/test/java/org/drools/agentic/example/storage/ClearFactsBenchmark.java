@@ -0,0 +1,78 @@
+package org.drools.agentic.example.storage;
+
+import org.drools.execution.DRLExecutor;
+import org.kie.api.runtime.KieContainer;
+
+/**
+ * Compares clearing the shared session fact by fact with resetting it to a
+ * fresh session, for growing numbers of facts in working memory.
+ *
+ * Usage: ClearFactsBenchmark [maxFactCount] [rounds]
+ */
+public class ClearFactsBenchmark {
+
+    private static final int[] FACT_COUNTS = {1_000, 5_000, 10_000, 25_000, 50_000, 100_000};
+
+    private static final String DRL = """
+        package org.drools.benchmark;
+        rule "Large"
+        when
+            $i : Integer(intValue > 10)
+        then
+        end
+        rule "Pair"
+        when
+            $i : Integer(intValue % 1000 == 0)
+            String(length > 0)
+        then
+        end
+        """;
+
+    public static void main(String[] args) {
+        int maxFactCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        KieContainer kieContainer = new DRLExecutor().buildKieContainer(DRL);
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(KnowledgeBaseRegistry.DEFAULT_MEMORY_BUDGET);
+        registry.register("benchmark", kieContainer, kieContainer.newKieSession(), "benchmark");
+
+        System.out.printf("Rounds per size: %d%n", rounds);
+        try (KnowledgeBaseRegistry.Lease lease = registry.acquire("benchmark")) {
+            for (int factCount : FACT_COUNTS) {
+                if (factCount > maxFactCount) {
+                    break;
+                }
+                long deleteNanos = 0;
+                long resetNanos = 0;
+                for (int round = 0; round < rounds; round++) {
+                    fill(lease, factCount);
+                    long start = System.nanoTime();
+                    lease.withSharedSession(session -> {
+                        session.getFactHandles().forEach(session::delete);
+                        return null;
+                    });
+                    deleteNanos += System.nanoTime() - start;
+
+                    fill(lease, factCount);
+                    start = System.nanoTime();
+                    lease.resetSharedSession();
+                    resetNanos += System.nanoTime() - start;
+                }
+                System.out.printf("facts=%-6d delete each=%8.2f ms  reset=%8.2f ms%n", factCount,
+                        deleteNanos / (rounds * 1e6), resetNanos / (rounds * 1e6));
+            }
+        } finally {
+            registry.remove("benchmark");
+        }
+    }
+
+    private static void fill(KnowledgeBaseRegistry.Lease lease, int factCount) {
+        lease.withSharedSession(session -> {
+            session.insert("marker");
+            for (int i = 0; i < factCount; i++) {
+                session.insert(i);
+            }
+            return session.fireAllRules();
+        });
+    }
+}
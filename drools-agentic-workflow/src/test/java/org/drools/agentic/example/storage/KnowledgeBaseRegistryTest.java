@@ -0,0 +1,296 @@
+package org.drools.agentic.example.storage;
+
+import org.drools.execution.DRLExecutor;
+import org.junit.jupiter.api.Test;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.runtime.Globals;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class KnowledgeBaseRegistryTest {
+
+    @Test
+    void testKnowledgeBasesAreKeptByName() {
+        // Given
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(1000);
+        KieContainer orders = mock(KieContainer.class);
+        KieContainer pricing = mock(KieContainer.class);
+
+        // When
+        registry.register("orders", orders, null, "orders.drl", 100);
+        registry.register("pricing", pricing, null, "pricing.drl", 100);
+
+        // Then
+        try (KnowledgeBaseRegistry.Lease lease = registry.acquire("orders")) {
+            assertSame(orders, lease.getKieContainer());
+        }
+        try (KnowledgeBaseRegistry.Lease lease = registry.acquire("pricing")) {
+            assertSame(pricing, lease.getKieContainer());
+        }
+        assertNull(registry.acquire("missing"));
+        List<String> names = registry.list().stream().map(KnowledgeBaseStorage.KnowledgeBaseInfo::name).toList();
+        assertEquals(List.of("pricing", "orders"), names, "Most recently used first");
+    }
+
+    @Test
+    void testReplacedKnowledgeBaseIsDisposedAfterLastLease() {
+        // Given
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(1000);
+        KieContainer oldContainer = mock(KieContainer.class);
+        KieSession oldSession = mock(KieSession.class);
+        KieContainer newContainer = mock(KieContainer.class);
+        registry.register("orders", oldContainer, oldSession, "v1", 100);
+        KnowledgeBaseRegistry.Lease inFlight = registry.acquire("orders");
+
+        // When
+        registry.register("orders", newContainer, null, "v2", 100);
+
+        // Then
+        verify(oldContainer, never()).dispose();
+        assertSame(oldContainer, inFlight.getKieContainer(), "In-flight users keep the knowledge base they started with");
+        try (KnowledgeBaseRegistry.Lease lease = registry.acquire("orders")) {
+            assertSame(newContainer, lease.getKieContainer());
+        }
+
+        inFlight.close();
+        inFlight.close();
+        verify(oldSession, times(1)).dispose();
+        verify(oldContainer, times(1)).dispose();
+        verify(newContainer, never()).dispose();
+    }
+
+    @Test
+    void testSwapPublishesNewEpochWhileOldOneDrains() {
+        // Given
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(1000);
+        KnowledgeBaseStorage.KnowledgeBaseInfo first = registry.register("orders", mock(KieContainer.class), null, "v1", 100).info();
+        KnowledgeBaseRegistry.Lease inFlight = registry.acquire("orders");
+
+        // When
+        KnowledgeBaseStorage.KnowledgeBaseInfo second = registry.register("orders", mock(KieContainer.class), null, "v2", 100).info();
+
+        // Then
+        assertTrue(second.epoch() > first.epoch());
+        assertEquals(first.epoch(), inFlight.getEpoch());
+        try (KnowledgeBaseRegistry.Lease lease = registry.acquire("orders")) {
+            assertEquals(second.epoch(), lease.getEpoch(), "New executions pick up the new epoch immediately");
+        }
+        assertEquals(1, registry.getDrainingCount());
+
+        inFlight.close();
+        assertEquals(0, registry.getDrainingCount());
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvictedOverBudget() {
+        // Given
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(250);
+        KieContainer first = mock(KieContainer.class);
+        KieContainer second = mock(KieContainer.class);
+        KieContainer third = mock(KieContainer.class);
+        registry.register("first", first, null, "first.drl", 100);
+        registry.register("second", second, null, "second.drl", 100);
+        registry.acquire("first").close();
+
+        // When
+        KnowledgeBaseRegistry.Registration registration = registry.register("third", third, null, "third.drl", 100);
+
+        // Then
+        assertEquals(List.of("second"), registration.evicted());
+        assertTrue(registry.contains("first"));
+        assertFalse(registry.contains("second"));
+        assertTrue(registry.contains("third"));
+        assertEquals(200, registry.getFootprint());
+        assertEquals(1, registry.getEvictionCount());
+        verify(second).dispose();
+    }
+
+    @Test
+    void testLeasedKnowledgeBaseIsNotEvicted() {
+        // Given
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(150);
+        KieContainer busy = mock(KieContainer.class);
+        registry.register("busy", busy, null, "busy.drl", 100);
+
+        // When
+        try (KnowledgeBaseRegistry.Lease lease = registry.acquire("busy")) {
+            registry.register("other", mock(KieContainer.class), null, "other.drl", 100);
+
+            // Then
+            assertTrue(registry.contains("busy"));
+            assertTrue(registry.contains("other"));
+        }
+        verify(busy, never()).dispose();
+    }
+
+    @Test
+    void testKnowledgeBaseWithFactsIsNotEvicted() {
+        // Given
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(250);
+        KieSession session = mock(KieSession.class);
+        when(session.getFactCount()).thenReturn(3L);
+        KieContainer stateful = mock(KieContainer.class);
+        KieContainer idle = mock(KieContainer.class);
+        registry.register("stateful", stateful, session, "stateful.drl", 100);
+        registry.register("idle", idle, null, "idle.drl", 100);
+
+        // When
+        KnowledgeBaseRegistry.Registration registration =
+                registry.register("third", mock(KieContainer.class), null, "third.drl", 100);
+
+        // Then
+        assertEquals(List.of("idle"), registration.evicted(), "The older knowledge base holds facts");
+        assertTrue(registry.contains("stateful"));
+        verify(stateful, never()).dispose();
+        verify(idle).dispose();
+    }
+
+    @Test
+    void testSharedSessionIsUsedOneCallerAtATime() throws Exception {
+        // Given
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(1000);
+        KieSession session = mock(KieSession.class);
+        registry.register("orders", mock(KieContainer.class), session, "orders.drl", 100);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<KieSession>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 32; i++) {
+                results.add(callers.submit(() -> {
+                    try (KnowledgeBaseRegistry.Lease lease = registry.acquire("orders")) {
+                        return lease.withSharedSession(shared -> {
+                            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                            Thread.yield();
+                            inside.decrementAndGet();
+                            return shared;
+                        });
+                    }
+                }));
+            }
+            for (Future<KieSession> result : results) {
+                assertSame(session, result.get());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        // Then
+        assertEquals(1, maxInside.get());
+    }
+
+    @Test
+    void testResetSwapsInFreshSessionWithoutDeletingFacts() {
+        // Given
+        KieContainer container = mock(KieContainer.class);
+        KieSession fresh = mock(KieSession.class);
+        KieSession full = mock(KieSession.class);
+        when(container.newKieSession()).thenReturn(fresh);
+        when(full.getFactCount()).thenReturn(50_000L);
+        when(full.getGlobals()).thenReturn(mock(Globals.class));
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(1000);
+        registry.register("orders", container, full, "orders.drl", 100);
+
+        try (KnowledgeBaseRegistry.Lease lease = registry.acquire("orders")) {
+            // When
+            long cleared = lease.resetSharedSession();
+
+            // Then
+            assertEquals(50_000L, cleared);
+            assertSame(fresh, lease.withSharedSession(session -> session));
+        }
+        verify(full, never()).delete(any());
+        verify(full).dispose();
+        verify(container, never()).newKieSessionsPool(anyInt());
+    }
+
+    @Test
+    void testResetKeepsGlobalsAndListeners() {
+        // Given
+        KieContainer container = new DRLExecutor().buildKieContainer("""
+            package org.drools.reset;
+            global java.util.List results;
+            rule "Collect"
+            when
+                $s : String()
+            then
+                results.add($s);
+            end
+            """);
+        List<Object> results = new ArrayList<>();
+        DefaultAgendaEventListener listener = new DefaultAgendaEventListener();
+        KieSession session = container.newKieSession();
+        session.setGlobal("results", results);
+        session.addEventListener(listener);
+        session.insert("before");
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(Long.MAX_VALUE);
+        registry.register("reset", container, session, "reset.drl", 100);
+
+        try (KnowledgeBaseRegistry.Lease lease = registry.acquire("reset")) {
+            // When
+            long cleared = lease.resetSharedSession();
+
+            // Then
+            assertEquals(1, cleared);
+            lease.withSharedSession(fresh -> {
+                assertNotSame(session, fresh);
+                assertEquals(0, fresh.getFactCount());
+                assertSame(results, fresh.getGlobal("results"));
+                assertTrue(fresh.getAgendaEventListeners().contains(listener));
+                fresh.insert("after");
+                return fresh.fireAllRules();
+            });
+            assertEquals(List.of("after"), results);
+        } finally {
+            registry.remove("reset");
+        }
+    }
+
+    @Test
+    void testSharedSessionRequired() {
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(1000);
+        registry.register("orders", mock(KieContainer.class), null, "orders.drl", 100);
+
+        try (KnowledgeBaseRegistry.Lease lease = registry.acquire("orders")) {
+            assertThrows(IllegalStateException.class, () -> lease.withSharedSession(session -> session));
+        }
+    }
+
+    @Test
+    void testRemove() {
+        // Given
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(1000);
+        KieContainer container = mock(KieContainer.class);
+        registry.register("orders", container, null, "orders.drl", 100);
+
+        // When
+        boolean removed = registry.remove("orders");
+
+        // Then
+        assertTrue(removed);
+        assertFalse(registry.remove("orders"));
+        assertNull(registry.acquire("orders"));
+        verify(container).dispose();
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new KnowledgeBaseRegistry(0));
+        KnowledgeBaseRegistry registry = new KnowledgeBaseRegistry(1000);
+        assertThrows(IllegalArgumentException.class,
+            () -> registry.register(" ", mock(KieContainer.class), null, "blank", 100));
+    }
+}
@@ -0,0 +1,42 @@
+package org.drools.execution;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * How DRL is compiled into a KieBase.
+ */
+public enum CompilationMode {
+
+    /**
+     * Classic DRL compilation; constraints are interpreted with MVEL and JIT compiled
+     * at runtime once they have been evaluated often enough
+     */
+    DRL,
+
+    /**
+     * Drools executable model; rules are translated to Java and compiled up front, so the
+     * build is slower but constraint evaluation is fast and predictable from the first fire
+     */
+    EXECUTABLE_MODEL;
+
+    /**
+     * Parses a compilation mode, ignoring case and accepting dashes for underscores
+     * @param name Name of the mode, e.g. "drl" or "executable-model"
+     * @return The named mode, or DRL if the name is null or blank
+     * @throws IllegalArgumentException if the name is not a known mode
+     */
+    public static CompilationMode of(String name) {
+        if (name == null || name.isBlank()) {
+            return DRL;
+        }
+        String normalized = name.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+        for (CompilationMode mode : values()) {
+            if (mode.name().equals(normalized)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown compilation mode '" + name + "', expected one of "
+                + Arrays.toString(values()));
+    }
+}
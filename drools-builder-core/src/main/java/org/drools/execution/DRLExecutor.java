@@ -1,14 +1,46 @@
 package org.drools.execution;
 
+import org.drools.core.common.InternalFactHandle;
+import org.drools.model.codegen.ExecutableModelProject;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
 import org.kie.api.builder.Message;
-import org.kie.api.io.ResourceType;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.builder.Results;
+import org.kie.api.command.Command;
+import org.kie.api.command.KieCommands;
+import org.kie.api.definition.type.FactType;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.AgendaEventListener;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.runtime.ExecutionResults;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
-import org.kie.internal.utils.KieHelper;
+import org.kie.api.runtime.ObjectFilter;
+import org.kie.api.runtime.StatelessKieSession;
+import org.kie.api.runtime.rule.FactHandle;
 
+import java.lang.ref.WeakReference;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Core DRL execution engine responsible for compiling DRL content,
@@ -16,6 +48,81 @@ import java.util.List;
  */
 public class DRLExecutor {
 
+    private static final String OBJECTS_OUT_ID = "objects";
+
+    private final KieContainerCache kieContainerCache;
+    private final KieSessionPool.Settings sessionPoolSettings;
+    private final KieModuleDiskCache kieModuleDiskCache;
+    private final Map<KieContainer, KieSessionPool> sessionPools = new ConcurrentHashMap<>();
+
+    private volatile ExecutionListener executionListener = ExecutionListener.NO_OP;
+
+    public DRLExecutor() {
+        this(new KieContainerCache());
+    }
+
+    public DRLExecutor(KieContainerCache kieContainerCache) {
+        this(kieContainerCache, null);
+    }
+
+    /**
+     * Creates an executor that reuses pooled sessions for cached KieContainers
+     * @param kieContainerCache Cache of compiled KieContainers
+     * @param sessionPoolSettings Session pool settings, or null to create a fresh session per execution
+     */
+    public DRLExecutor(KieContainerCache kieContainerCache, KieSessionPool.Settings sessionPoolSettings) {
+        this(kieContainerCache, sessionPoolSettings, null);
+    }
+
+    /**
+     * Creates an executor that also keeps compiled KieModules on disk across restarts
+     * @param kieContainerCache Cache of compiled KieContainers
+     * @param sessionPoolSettings Session pool settings, or null to create a fresh session per execution
+     * @param kieModuleDiskCache Disk cache of compiled KieModules, or null to always compile from source
+     */
+    public DRLExecutor(KieContainerCache kieContainerCache, KieSessionPool.Settings sessionPoolSettings,
+                       KieModuleDiskCache kieModuleDiskCache) {
+        this.kieContainerCache = kieContainerCache;
+        this.sessionPoolSettings = sessionPoolSettings;
+        this.kieModuleDiskCache = kieModuleDiskCache;
+        if (sessionPoolSettings != null) {
+            kieContainerCache.addRemovalListener(this::closeSessionPool);
+            IdleSessionEvictor.schedule(this, sessionPoolSettings.idleTimeout());
+        }
+    }
+
+    /**
+     * Gets the cache holding compiled KieContainers
+     * @return The KieContainer cache used by this executor
+     */
+    public KieContainerCache getKieContainerCache() {
+        return kieContainerCache;
+    }
+
+    /**
+     * Gets the disk cache holding compiled KieModules
+     * @return The KieModule disk cache, or null if compiled KieModules are not kept on disk
+     */
+    public KieModuleDiskCache getKieModuleDiskCache() {
+        return kieModuleDiskCache;
+    }
+
+    /**
+     * Sets the listener notified of inserts, fired rules and collected facts
+     * @param executionListener Listener to notify, or null to disable tracing
+     */
+    public void setExecutionListener(ExecutionListener executionListener) {
+        this.executionListener = executionListener != null ? executionListener : ExecutionListener.NO_OP;
+    }
+
+    /**
+     * Gets the listener notified of execution events
+     * @return The execution listener, {@link ExecutionListener#NO_OP} if none is set
+     */
+    public ExecutionListener getExecutionListener() {
+        return executionListener;
+    }
+
     /**
      * Executes DRL content with the provided facts
      * @param drlContent The DRL content to compile and execute
@@ -25,9 +132,22 @@ public class DRLExecutor {
      * @throws RuntimeException if DRL compilation or execution fails
      */
     public DRLRunnerResult execute(String drlContent, List<Object> facts, int maxRuns) {
+        return execute(drlContent, CompilationMode.DRL, facts, maxRuns);
+    }
+
+    /**
+     * Executes DRL content compiled in the given mode with the provided facts
+     * @param drlContent The DRL content to compile and execute
+     * @param mode How the DRL content is compiled
+     * @param facts List of facts to insert into the session
+     * @param maxRuns Maximum number of rules to fire (0 for unlimited)
+     * @return DRLRunnerResult containing execution results
+     * @throws RuntimeException if DRL compilation or execution fails
+     */
+    public DRLRunnerResult execute(String drlContent, CompilationMode mode, List<Object> facts, int maxRuns) {
         validateInput(drlContent, maxRuns);
         
-        KieContainer kieContainer = buildKieContainer(drlContent);
+        KieContainer kieContainer = buildKieContainer(drlContent, mode);
         return executeWithContainer(kieContainer, facts, maxRuns);
     }
 
@@ -39,50 +159,282 @@ public class DRLExecutor {
      * @return DRLRunnerResult containing execution results
      */
     public DRLRunnerResult executeWithContainer(KieContainer kieContainer, List<Object> facts, int maxRuns) {
-        KieSession kieSession = kieContainer.newKieSession();
+        return executeWithFactSource(kieContainer, facts::forEach, maxRuns);
+    }
+
+    /**
+     * Executes with a pre-built KieContainer, inserting facts as the source produces
+     * them so they never have to be collected in memory first
+     * @param kieContainer Pre-built KieContainer
+     * @param factSource Source of the facts to insert into the session
+     * @param maxRuns Maximum number of rules to fire (0 for unlimited)
+     * @return DRLRunnerResult containing execution results
+     */
+    public DRLRunnerResult executeWithFactSource(KieContainer kieContainer, FactSource factSource, int maxRuns) {
+        return executeWithFactSource(kieContainer, factSource, maxRuns, ResultOptions.ALL);
+    }
+
+    /**
+     * Executes with a pre-built KieContainer and returns only the facts selected by the options
+     * @param kieContainer Pre-built KieContainer
+     * @param factSource Source of the facts to insert into the session
+     * @param maxRuns Maximum number of rules to fire (0 for unlimited)
+     * @param options Which facts to return and in what shape
+     * @return DRLRunnerResult containing the selected facts and the number of facts matching the filters
+     */
+    public DRLRunnerResult executeWithFactSource(KieContainer kieContainer, FactSource factSource, int maxRuns,
+                                                 ResultOptions options) {
+        // Input facts are only tracked when they have to be left out of the result
+        Set<Object> inputFacts = options.derivedOnly() ? Collections.newSetFromMap(new IdentityHashMap<>()) : null;
+        KieSessionPool sessionPool = getSessionPool(kieContainer);
+        KieSession kieSession = sessionPool != null ? sessionPool.borrow() : kieContainer.newKieSession();
+        ExecutionListener listener = executionListener;
+        AgendaEventListener fireNotifier = listener != ExecutionListener.NO_OP ? fireNotifier(listener) : null;
+        if (fireNotifier != null) {
+            kieSession.addEventListener(fireNotifier);
+        }
         
         try {
-            insertFacts(kieSession, facts);
+            insertFacts(kieSession, inputFacts == null ? factSource
+                    : sink -> factSource.forEachFact(fact -> {
+                        inputFacts.add(fact);
+                        sink.accept(fact);
+                    }), listener);
             int firedRules = fireRules(kieSession, maxRuns);
-            List<Object> resultFacts = collectFacts(kieSession);
+            if (!options.filters() && options.fields().isEmpty()) {
+                List<Object> resultFacts = collectFacts(kieSession);
+                listener.onCollect(firedRules, resultFacts);
+                return new DRLRunnerResult(resultFacts, firedRules, kieSession.getKieBase());
+            }
+
+            Collection<FactHandle> matching = options.filters()
+                    ? kieSession.getFactHandles(filterFor(options, inputFacts))
+                    : kieSession.getFactHandles();
+            List<Object> resultFacts = page(inInsertionOrder(matching), options, kieSession.getKieBase());
             
-            logExecutionResults(firedRules, resultFacts);
+            listener.onCollect(firedRules, resultFacts);
             
-            return new DRLRunnerResult(resultFacts, firedRules);
+            return new DRLRunnerResult(resultFacts, firedRules, kieSession.getKieBase(), matching.size());
             
         } finally {
-            kieSession.dispose();
+            if (fireNotifier != null) {
+                // Pooled sessions are reused, do not leave the listener behind
+                kieSession.removeEventListener(fireNotifier);
+            }
+            if (sessionPool != null) {
+                sessionPool.release(kieSession);
+            } else {
+                kieSession.dispose();
+            }
+        }
+    }
+
+    /**
+     * Executes the facts in an isolated stateless session of a pre-built KieContainer
+     * @param kieContainer Pre-built KieContainer
+     * @param facts List of facts to insert into the session
+     * @param maxRuns Maximum number of rules to fire (0 for unlimited)
+     * @return DRLRunnerResult containing execution results
+     */
+    public DRLRunnerResult executeStateless(KieContainer kieContainer, List<Object> facts, int maxRuns) {
+        StatelessKieSession session = kieContainer.newStatelessKieSession();
+        ExecutionListener listener = executionListener;
+
+        AtomicInteger firedRules = new AtomicInteger();
+        session.addEventListener(new DefaultAgendaEventListener() {
+            @Override
+            public void afterMatchFired(AfterMatchFiredEvent event) {
+                firedRules.incrementAndGet();
+                listener.onFire(event.getMatch().getRule().getName());
+            }
+        });
+        if (listener != ExecutionListener.NO_OP) {
+            facts.forEach(listener::onInsert);
         }
+
+        KieCommands commands = KieServices.Factory.get().getCommands();
+        List<Command<?>> batch = new ArrayList<>();
+        batch.add(commands.newInsertElements(facts));
+        batch.add(maxRuns > 0 ? commands.newFireAllRules(maxRuns) : commands.newFireAllRules());
+        batch.add(commands.newGetObjects(OBJECTS_OUT_ID));
+
+        ExecutionResults results = session.execute(commands.newBatchExecution(batch));
+        List<Object> resultFacts = new ArrayList<>((Collection<?>) results.getValue(OBJECTS_OUT_ID));
+        listener.onCollect(firedRules.get(), resultFacts);
+
+        return new DRLRunnerResult(resultFacts, firedRules.get(), kieContainer.getKieBase());
     }
 
     /**
-     * Builds a KieContainer from DRL content
+     * Executes several independent fact sets against one pre-built KieContainer,
+     * each in its own stateless session
+     * @param kieContainer Pre-built KieContainer
+     * @param factBatches Fact sets to execute
+     * @param maxRuns Maximum number of rules to fire per fact set (0 for unlimited)
+     * @return One DRLRunnerResult per fact set, in input order
+     */
+    public List<DRLRunnerResult> executeBatch(KieContainer kieContainer, List<List<Object>> factBatches, int maxRuns) {
+        if (maxRuns < 0) {
+            throw new IllegalArgumentException("Maximum runs cannot be negative");
+        }
+        List<DRLRunnerResult> results = new ArrayList<>(factBatches.size());
+        for (List<Object> facts : factBatches) {
+            results.add(executeStateless(kieContainer, facts, maxRuns));
+        }
+        return results;
+    }
+
+    /**
+     * Drops pooled sessions that have been idle longer than the configured timeout.
+     * Executors with session pooling call this periodically in the background.
+     */
+    public void evictIdleSessions() {
+        sessionPools.values().forEach(KieSessionPool::evictIdle);
+    }
+
+    /**
+     * Gets the session pool of a KieContainer without creating one
+     * @param kieContainer The KieContainer
+     * @return Session pool or null if none exists
+     */
+    KieSessionPool peekSessionPool(KieContainer kieContainer) {
+        return sessionPools.get(kieContainer);
+    }
+
+    /**
+     * Gets the session pool for a KieContainer. Pools are only kept for cached
+     * containers so that they are released together with the container.
+     * @param kieContainer The KieContainer to execute against
+     * @return Session pool or null if pooling does not apply
+     */
+    private KieSessionPool getSessionPool(KieContainer kieContainer) {
+        if (sessionPoolSettings == null) {
+            return null;
+        }
+        KieSessionPool sessionPool = sessionPools.get(kieContainer);
+        if (sessionPool != null) {
+            return sessionPool;
+        }
+        if (!kieContainerCache.contains(kieContainer)) {
+            return null;
+        }
+        sessionPool = sessionPools.computeIfAbsent(kieContainer,
+                container -> new KieSessionPool(container, sessionPoolSettings));
+        if (!kieContainerCache.contains(kieContainer)) {
+            // Evicted while the pool was being created
+            closeSessionPool(kieContainer);
+        }
+        return sessionPool;
+    }
+
+    private void closeSessionPool(KieContainer kieContainer) {
+        KieSessionPool sessionPool = sessionPools.remove(kieContainer);
+        if (sessionPool != null) {
+            sessionPool.close();
+        }
+    }
+
+    /**
+     * Builds a KieContainer from DRL content, reusing a cached one when the
+     * same content has already been compiled
      * @param drlContent The DRL content to compile
      * @return Compiled KieContainer
      * @throws RuntimeException if compilation fails
      */
     public KieContainer buildKieContainer(String drlContent) {
-        KieHelper kieHelper = new KieHelper();
-        kieHelper.addContent(drlContent, ResourceType.DRL);
+        return buildKieContainer(drlContent, CompilationMode.DRL);
+    }
+
+    /**
+     * Builds a KieContainer from DRL content in the given compilation mode, reusing a
+     * cached one when the same content has already been compiled in that mode
+     * @param drlContent The DRL content to compile
+     * @param mode How the DRL content is compiled
+     * @return Compiled KieContainer
+     * @throws RuntimeException if compilation fails
+     */
+    public KieContainer buildKieContainer(String drlContent, CompilationMode mode) {
+        return kieContainerCache.getOrBuild(drlContent, mode, drl -> compileKieContainer(drl, mode));
+    }
+
+    /**
+     * Compiles DRL content into a new KieContainer, loading it from the disk cache
+     * when an earlier process already compiled the same content
+     * @param drlContent The DRL content to compile
+     * @param mode How the DRL content is compiled
+     * @return Compiled KieContainer
+     * @throws RuntimeException if compilation fails
+     */
+    private KieContainer compileKieContainer(String drlContent, CompilationMode mode) {
+        if (kieModuleDiskCache == null) {
+            return compileFromSource(drlContent, mode);
+        }
+        KieContainer cached = kieModuleDiskCache.load(drlContent, mode);
+        if (cached != null) {
+            return cached;
+        }
+        KieContainer compiled = compileFromSource(drlContent, mode);
+        kieModuleDiskCache.store(drlContent, mode, compiled);
+        return compiled;
+    }
+
+    /**
+     * Compiles DRL content under its content-addressed release id. In executable model
+     * mode rules are generated as Java sources and compiled together with the KieModule.
+     */
+    private KieContainer compileFromSource(String drlContent, CompilationMode mode) {
+        KieServices kieServices = KieServices.Factory.get();
+        // Every content gets its own release id, so concurrent builds never replace each other's KieModule
+        ReleaseId releaseId = KieContainerCache.releaseIdOf(drlContent, mode);
+
+        KieFileSystem kieFileSystem = kieServices.newKieFileSystem();
+        kieFileSystem.generateAndWritePomXML(releaseId);
+        kieFileSystem.write("src/main/resources/rules.drl", drlContent);
 
-        if (kieHelper.verify().hasMessages(Message.Level.ERROR)) {
+        KieBuilder kieBuilder = kieServices.newKieBuilder(kieFileSystem);
+        if (mode == CompilationMode.EXECUTABLE_MODEL) {
+            kieBuilder.buildAll(ExecutableModelProject.class);
+        } else {
+            kieBuilder.buildAll();
+        }
+        Results results = kieBuilder.getResults();
+        if (results.hasMessages(Message.Level.ERROR)) {
             throw new RuntimeException("DRL compilation errors: " +
-                    kieHelper.verify().getMessages(Message.Level.ERROR));
+                    results.getMessages(Message.Level.ERROR));
         }
 
-        return kieHelper.getKieContainer();
+        return kieServices.newKieContainer(releaseId);
     }
 
     /**
      * Inserts facts into the KieSession
      * @param session The KieSession to insert facts into
-     * @param facts List of facts to insert
+     * @param factSource Source of the facts to insert
+     * @param listener Listener notified of every inserted fact
      */
-    private void insertFacts(KieSession session, List<Object> facts) {
-        for (Object fact : facts) {
-            session.insert(fact);
-            System.out.println("Inserted fact: " + fact);
+    private void insertFacts(KieSession session, FactSource factSource, ExecutionListener listener) {
+        if (listener == ExecutionListener.NO_OP) {
+            factSource.forEachFact(session::insert);
+            return;
         }
+        factSource.forEachFact(fact -> {
+            session.insert(fact);
+            listener.onInsert(fact);
+        });
+    }
+
+    /**
+     * Creates an agenda listener forwarding fired rules to an execution listener
+     * @param listener The execution listener to notify
+     * @return Agenda event listener to register on the session
+     */
+    private AgendaEventListener fireNotifier(ExecutionListener listener) {
+        return new DefaultAgendaEventListener() {
+            @Override
+            public void afterMatchFired(AfterMatchFiredEvent event) {
+                listener.onFire(event.getMatch().getRule().getName());
+            }
+        };
     }
 
     /**
@@ -112,14 +464,67 @@ public class DRLExecutor {
     }
 
     /**
-     * Logs execution results for debugging
-     * @param firedRules Number of rules that fired
-     * @param facts List of facts in working memory
+     * Creates the working memory filter for the type and origin options
+     */
+    private ObjectFilter filterFor(ResultOptions options, Set<Object> inputFacts) {
+        return object -> options.acceptsType(object.getClass())
+                && (inputFacts == null || !inputFacts.contains(object));
+    }
+
+    /**
+     * Orders facts by the id of their fact handle, which is the order they were inserted in.
+     * The working memory returns facts in no particular order, so without this consecutive
+     * pages over the same result could overlap or miss facts.
+     */
+    private static List<Object> inInsertionOrder(Collection<FactHandle> handles) {
+        List<InternalFactHandle> ordered = new ArrayList<>(handles.size());
+        for (FactHandle handle : handles) {
+            ordered.add((InternalFactHandle) handle);
+        }
+        ordered.sort(Comparator.comparingLong(InternalFactHandle::getId));
+        List<Object> facts = new ArrayList<>(ordered.size());
+        for (InternalFactHandle handle : ordered) {
+            facts.add(handle.getObject());
+        }
+        return facts;
+    }
+
+    /**
+     * Copies the requested page of matching facts, projecting declared-type facts to the requested fields
      */
-    private void logExecutionResults(int firedRules, List<Object> facts) {
-        System.out.println("Fired " + firedRules + " rules");
-        System.out.println("Facts in working memory: " + facts.size());
-        facts.forEach(fact -> System.out.println("  " + fact));
+    private List<Object> page(Collection<?> matching, ResultOptions options, KieBase kieBase) {
+        int limit = options.limit() > 0 ? options.limit() : Integer.MAX_VALUE;
+        List<Object> page = new ArrayList<>(Math.min(limit, Math.max(0, matching.size() - options.offset())));
+        Map<Class<?>, Optional<FactType>> factTypes = new HashMap<>();
+        int skipped = 0;
+        for (Object fact : matching) {
+            if (skipped < options.offset()) {
+                skipped++;
+                continue;
+            }
+            if (page.size() >= limit) {
+                break;
+            }
+            page.add(options.fields().isEmpty() ? fact : project(fact, options.fields(), kieBase, factTypes));
+        }
+        return page;
+    }
+
+    private Object project(Object fact, List<String> fields, KieBase kieBase, Map<Class<?>, Optional<FactType>> factTypes) {
+        FactType factType = factTypes.computeIfAbsent(fact.getClass(), type -> Optional.ofNullable(
+                kieBase.getFactType(type.getPackageName(), type.getSimpleName()))).orElse(null);
+        if (factType == null) {
+            // Only declared types can be projected, other facts are returned whole
+            return fact;
+        }
+        Map<String, Object> projected = new LinkedHashMap<>();
+        projected.put("_type", factType.getSimpleName());
+        for (String field : fields) {
+            if (factType.getField(field) != null) {
+                projected.put(field, factType.get(fact, field));
+            }
+        }
+        return projected;
     }
 
     /**
@@ -136,4 +541,44 @@ public class DRLExecutor {
             throw new IllegalArgumentException("Maximum runs cannot be negative");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Periodically evicts idle pooled sessions of an executor on a shared daemon thread.
+     * The executor is only weakly referenced, the task cancels itself once it is collected.
+     */
+    private static final class IdleSessionEvictor implements Runnable {
+
+        private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kie-session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private final WeakReference<DRLExecutor> executor;
+        private volatile ScheduledFuture<?> task;
+
+        private IdleSessionEvictor(DRLExecutor executor) {
+            this.executor = new WeakReference<>(executor);
+        }
+
+        static void schedule(DRLExecutor executor, Duration idleTimeout) {
+            IdleSessionEvictor evictor = new IdleSessionEvictor(executor);
+            // Check twice per timeout, so sessions are dropped at most half a timeout late
+            long periodMillis = Math.max(idleTimeout.toMillis() / 2, 10);
+            evictor.task = scheduler.scheduleAtFixedRate(evictor, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void run() {
+            DRLExecutor target = executor.get();
+            if (target == null) {
+                ScheduledFuture<?> scheduled = task;
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+                return;
+            }
+            target.evictIdleSessions();
+        }
+    }
+}
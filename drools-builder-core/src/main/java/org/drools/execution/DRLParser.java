@@ -14,19 +14,18 @@ public class DRLParser {
         if (drlContent == null) {
             return "";
         }
-        
-        String[] lines = drlContent.split("\n");
-        for (String line : lines) {
-            line = line.trim();
-            if (line.startsWith("package ")) {
-                String packageName = line.substring(8).trim();
-                if (packageName.endsWith(";")) {
-                    packageName = packageName.substring(0, packageName.length() - 1);
-                }
-                return packageName.trim();
-            }
-        }
-        return "";
+        return outline(drlContent).packageName();
+    }
+
+    /**
+     * Gets the structural outline of DRL content: package, imports, globals,
+     * declared types, functions, rules and queries. The content is scanned once
+     * and the outline is shared with other callers asking about the same content.
+     * @param drlContent The DRL content to index
+     * @return Outline of the content
+     */
+    public DrlOutline outline(String drlContent) {
+        return DrlIndexer.getShared().outline(drlContent);
     }
 
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package org.drools.execution;
 
 import org.kie.api.runtime.KieContainer;
 
+import java.io.Reader;
 import java.util.Collections;
 import java.util.List;
 
@@ -11,9 +12,12 @@ import java.util.List;
  */
 public class DRLPopulatorRunner {
 
-    private static final DRLExecutor executor = new DRLExecutor();
+    private static final DRLExecutor executor =
+            new DRLExecutor(new KieContainerCache(), KieSessionPool.Settings.defaults(),
+                    KieModuleDiskCache.fromSystemProperties());
     private static final FactBuilder factBuilder = new FactBuilder();
     private static final DRLParser parser = new DRLParser();
+    private static final ParallelBatchExecutor batchExecutor = new ParallelBatchExecutor(executor).closeOnShutdown();
 
     /**
      * Executes a DRL file that may contain declared types and data creation rules
@@ -52,24 +56,88 @@ public class DRLPopulatorRunner {
      * @return DRLRunnerResult containing facts in working memory and fired rules count after rule execution
      */
     public static DRLRunnerResult runDRLWithJsonFacts(String drlContent, String factsJson, int maxRuns) {
+        return runDRLWithJsonFacts(drlContent, factsJson, maxRuns, ResultOptions.ALL);
+    }
+
+    /**
+     * Executes a DRL file with external facts provided as JSON, returning only the facts selected by the options
+     * @param drlContent The DRL content as a string
+     * @param factsJson JSON string containing array of facts with type fields
+     * @param maxRuns Maximum number of rules to fire (0 for unlimited)
+     * @param options Which facts to return and in what shape
+     * @return DRLRunnerResult containing the selected facts and fired rules count after rule execution
+     */
+    public static DRLRunnerResult runDRLWithJsonFacts(String drlContent, String factsJson, int maxRuns, ResultOptions options) {
+        return runDRLWithJsonFacts(drlContent, factsJson, maxRuns, options, CompilationMode.DRL);
+    }
+
+    /**
+     * Executes a DRL file compiled in the given mode with external facts provided as JSON
+     * @param drlContent The DRL content as a string
+     * @param factsJson JSON string containing array of facts with type fields
+     * @param maxRuns Maximum number of rules to fire (0 for unlimited)
+     * @param options Which facts to return and in what shape
+     * @param mode How the DRL content is compiled
+     * @return DRLRunnerResult containing the selected facts and fired rules count after rule execution
+     */
+    public static DRLRunnerResult runDRLWithJsonFacts(String drlContent, String factsJson, int maxRuns, ResultOptions options,
+                                                      CompilationMode mode) {
         try {
             // Build KieContainer once for both fact creation and execution
-            KieContainer kieContainer = executor.buildKieContainer(drlContent);
+            KieContainer kieContainer = executor.buildKieContainer(drlContent, mode);
             
             // Extract package name
             String packageName = parser.extractPackageName(drlContent);
             
-            // Build facts from JSON
-            List<Object> facts = factBuilder.buildFromJsonArray(factsJson, kieContainer, packageName);
-            
-            // Execute with facts using pre-built container
-            return executor.executeWithContainer(kieContainer, facts, maxRuns);
+            // Stream facts from JSON straight into the session
+            return executor.executeWithFactSource(kieContainer,
+                    sink -> factBuilder.streamFromJsonArray(factsJson, kieContainer, packageName, sink), maxRuns, options);
             
         } catch (Exception e) {
             throw new RuntimeException("Failed to execute DRL with JSON facts: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Executes external facts provided as JSON against an already built KieContainer
+     * @param kieContainer KieContainer to execute against
+     * @param packageName Package name of the declared types the facts refer to
+     * @param factsJson JSON string containing array of facts with type fields
+     * @param maxRuns Maximum number of rules to fire (0 for unlimited)
+     * @return DRLRunnerResult containing facts in working memory and fired rules count after rule execution
+     */
+    public static DRLRunnerResult runDRLWithJsonFacts(KieContainer kieContainer, String packageName, String factsJson, int maxRuns) {
+        try {
+            return executor.executeWithFactSource(kieContainer,
+                    sink -> factBuilder.streamFromJsonArray(factsJson, kieContainer, packageName, sink), maxRuns);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to execute DRL with JSON facts: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Executes a DRL file with external facts streamed from a JSON reader. Facts are
+     * inserted one at a time as they are read, so large payloads never have to be
+     * held in memory as a whole.
+     * @param drlContent The DRL content as a string
+     * @param factsJson Reader providing a JSON array of facts with type fields
+     * @param maxRuns Maximum number of rules to fire (0 for unlimited)
+     * @return DRLRunnerResult containing facts in working memory and fired rules count after rule execution
+     */
+    public static DRLRunnerResult runDRLWithJsonFactStream(String drlContent, Reader factsJson, int maxRuns) {
+        try {
+            KieContainer kieContainer = executor.buildKieContainer(drlContent);
+            String packageName = parser.extractPackageName(drlContent);
+
+            return executor.executeWithFactSource(kieContainer,
+                    sink -> factBuilder.streamFromJsonArray(factsJson, kieContainer, packageName, sink), maxRuns);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to execute DRL with JSON facts: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Executes a DRL file with external facts
      * @param drlContent The DRL content as a string
@@ -166,6 +234,60 @@ public class DRLPopulatorRunner {
         }
     }
 
+    /**
+     * Executes many independent JSON fact sets against the same DRL. The DRL is
+     * compiled once and the fact sets are converted and executed in parallel,
+     * each in its own stateless session.
+     * @param drlContent The DRL content as a string
+     * @param factsJsonBatches JSON arrays of facts with type fields, one per batch
+     * @param maxRuns Maximum number of rules to fire per batch (0 for unlimited)
+     * @return One DRLRunnerResult per batch, in input order
+     */
+    public static List<DRLRunnerResult> runBatch(String drlContent, List<String> factsJsonBatches, int maxRuns) {
+        return runBatch(drlContent, factsJsonBatches, maxRuns, CompilationMode.DRL);
+    }
+
+    /**
+     * Executes many independent JSON fact sets against the same DRL compiled in the given mode
+     * @param drlContent The DRL content as a string
+     * @param factsJsonBatches JSON arrays of facts with type fields, one per batch
+     * @param maxRuns Maximum number of rules to fire per batch (0 for unlimited)
+     * @param mode How the DRL content is compiled
+     * @return One DRLRunnerResult per batch, in input order
+     */
+    public static List<DRLRunnerResult> runBatch(String drlContent, List<String> factsJsonBatches, int maxRuns,
+                                                 CompilationMode mode) {
+        try {
+            // Compile once for all batches
+            KieContainer kieContainer = executor.buildKieContainer(drlContent, mode);
+            String packageName = parser.extractPackageName(drlContent);
+
+            return batchExecutor.executeOrdered(kieContainer, factsJsonBatches,
+                    factsJson -> factBuilder.buildFromJsonArray(factsJson, kieContainer, packageName), maxRuns);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to execute DRL batch: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sets the listener traced by all executions and JSON fact conversions of this facade.
+     * Tracing is off by default.
+     * @param executionListener Listener to notify, or null to disable tracing
+     */
+    public static void setExecutionListener(ExecutionListener executionListener) {
+        executor.setExecutionListener(executionListener);
+        factBuilder.setExecutionListener(executionListener);
+    }
+
+    /**
+     * Gets the cache of compiled KieContainers shared by all executions
+     * @return The shared KieContainer cache
+     */
+    public static KieContainerCache getKieContainerCache() {
+        return executor.getKieContainerCache();
+    }
+
     /**
      * Filter facts by type name (useful for declared types)
      * @param facts List of facts
@@ -1,6 +1,23 @@
 package org.drools.execution;
 
+import org.kie.api.KieBase;
+
 import java.util.List;
 
-public record DRLRunnerResult(List<Object> objects, int firedRules) {
+/**
+ * Outcome of a rule execution
+ * @param objects Facts in working memory after the rules fired, or the requested page of them
+ * @param firedRules Number of rules fired
+ * @param kieBase KieBase the facts were produced by, used to describe declared-type facts; may be null
+ * @param totalFacts Number of facts matching the result filters, before pagination
+ */
+public record DRLRunnerResult(List<Object> objects, int firedRules, KieBase kieBase, int totalFacts) {
+
+    public DRLRunnerResult(List<Object> objects, int firedRules) {
+        this(objects, firedRules, null);
+    }
+
+    public DRLRunnerResult(List<Object> objects, int firedRules, KieBase kieBase) {
+        this(objects, firedRules, kieBase, objects != null ? objects.size() : 0);
+    }
 }
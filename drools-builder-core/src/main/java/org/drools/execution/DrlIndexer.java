@@ -0,0 +1,442 @@
+package org.drools.execution;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a {@link DrlOutline} from DRL content in a single pass.
+ * A small lexer walks the content once, skipping whitespace, comments and string
+ * literals, and only materializes the names it reports; the content is never split
+ * into lines. Rule, query and function bodies are skipped up to their closing
+ * "end" or brace without being interpreted.
+ * Outlines are cached by content hash, so callers asking about the same DRL
+ * (package name, rule count, declared types, ...) share one scan. At most
+ * maxSize outlines are kept, the least recently used are dropped first.
+ */
+public class DrlIndexer {
+
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private static final DrlIndexer SHARED = new DrlIndexer();
+
+    private final int maxSize;
+    private final Map<String, DrlOutline> outlines;
+
+    public DrlIndexer() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public DrlIndexer(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.outlines = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DrlOutline> eldest) {
+                return size() > DrlIndexer.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the indexer shared by the parsing utilities
+     * @return Shared indexer
+     */
+    public static DrlIndexer getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the outline of the DRL content, scanning it only if it has not been indexed before
+     * @param drlContent The DRL content
+     * @return Outline of the content
+     */
+    public DrlOutline outline(String drlContent) {
+        if (drlContent == null) {
+            return index("");
+        }
+        // Hash of the raw content rather than KieContainerCache.keyOf: line numbers change
+        // with the leading blank lines a normalized key would ignore
+        String key = KieContainerCache.hashOf(drlContent);
+        synchronized (outlines) {
+            DrlOutline cached = outlines.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        DrlOutline outline = index(drlContent);
+        synchronized (outlines) {
+            outlines.put(key, outline);
+        }
+        return outline;
+    }
+
+    /**
+     * Scans DRL content without consulting the cache
+     * @param drlContent The DRL content
+     * @return Outline of the content
+     */
+    public static DrlOutline index(String drlContent) {
+        return new Scanner(drlContent).scan();
+    }
+
+    /**
+     * Gets the number of cached outlines
+     * @return Cache size
+     */
+    public int size() {
+        synchronized (outlines) {
+            return outlines.size();
+        }
+    }
+
+    private static final class Scanner {
+
+        private final String text;
+        private final int length;
+        private int pos;
+        private int line = 1;
+
+        // Bounds and line of the last word read by nextWord()
+        private int wordStart;
+        private int wordEnd;
+        private int wordLine;
+        // Open parentheses passed by nextWord(), so "end" inside a pattern is not taken as a keyword
+        private int parenDepth;
+
+        private String packageName = "";
+        private final List<String> imports = new ArrayList<>();
+        private final List<DrlOutline.Global> globals = new ArrayList<>();
+        private final List<DrlOutline.DeclaredType> declaredTypes = new ArrayList<>();
+        private final List<String> functions = new ArrayList<>();
+        private final List<DrlOutline.Block> rules = new ArrayList<>();
+        private final List<DrlOutline.Block> queries = new ArrayList<>();
+
+        Scanner(String text) {
+            this.text = text;
+            this.length = text.length();
+        }
+
+        DrlOutline scan() {
+            while (nextWord()) {
+                int keywordLine = wordLine;
+                if (wordIs("package")) {
+                    packageName = readToStatementEnd();
+                } else if (wordIs("import")) {
+                    imports.add(readToStatementEnd());
+                } else if (wordIs("global")) {
+                    readGlobal();
+                } else if (wordIs("declare")) {
+                    readDeclare(keywordLine);
+                } else if (wordIs("function")) {
+                    readFunction();
+                } else if (wordIs("rule")) {
+                    rules.add(readBlock(keywordLine));
+                } else if (wordIs("query")) {
+                    queries.add(readBlock(keywordLine));
+                }
+                // Anything else at the top level (attributes, stray tokens) is skipped
+            }
+            return new DrlOutline(packageName, imports, globals, declaredTypes, functions, rules, queries);
+        }
+
+        private void readGlobal() {
+            String declaration = readToStatementEnd();
+            int split = lastWhitespace(declaration);
+            if (split > 0) {
+                globals.add(new DrlOutline.Global(declaration.substring(0, split).trim(),
+                        declaration.substring(split + 1)));
+            }
+        }
+
+        private void readDeclare(int startLine) {
+            if (!nextWord()) {
+                return;
+            }
+            if ((wordIs("trait") || wordIs("enum")) && !followedBy(':')) {
+                nextWord();
+            }
+            String name = readQualifiedTail();
+            List<DrlOutline.Field> fields = new ArrayList<>();
+            int endLine = line;
+            while (nextWord()) {
+                boolean field = followedBy(':');
+                if (wordIs("end") && !field) {
+                    endLine = wordLine;
+                    break;
+                }
+                if (field) {
+                    String fieldName = text.substring(wordStart, wordEnd);
+                    pos = skipHorizontalSpace(pos) + 1;
+                    fields.add(new DrlOutline.Field(fieldName, readFieldType()));
+                }
+                endLine = line;
+            }
+            declaredTypes.add(new DrlOutline.DeclaredType(name, fields, startLine, endLine));
+        }
+
+        private void readFunction() {
+            String name = null;
+            while (true) {
+                skipTrivia();
+                if (pos >= length) {
+                    return;
+                }
+                char c = text.charAt(pos);
+                if (c == '(') {
+                    break;
+                }
+                if (Character.isJavaIdentifierStart(c)) {
+                    int start = pos;
+                    pos = identifierEnd(pos);
+                    name = text.substring(start, pos);
+                } else {
+                    pos++;
+                }
+            }
+            if (name != null) {
+                functions.add(name);
+            }
+            skipBracedBody();
+        }
+
+        private DrlOutline.Block readBlock(int startLine) {
+            skipTrivia();
+            String name;
+            if (pos < length && (text.charAt(pos) == '"' || text.charAt(pos) == '\'')) {
+                int start = pos + 1;
+                skipString();
+                name = text.substring(start, Math.max(start, pos - 1));
+            } else if (nextWord()) {
+                name = readQualifiedTail();
+            } else {
+                name = "";
+            }
+            parenDepth = 0;
+            while (nextWord()) {
+                // "end" used as a field, variable or member, as in Event(end > 0), end = 5; or matcher.end(),
+                // does not close the block
+                if (wordIs("end") && parenDepth <= 0 && startsStatement() && endsStatement()) {
+                    return new DrlOutline.Block(name, startLine, wordLine);
+                }
+            }
+            return new DrlOutline.Block(name, startLine, line);
+        }
+
+        /**
+         * Advances to the next identifier, skipping whitespace, comments, string literals and punctuation
+         * @return false at the end of the content
+         */
+        private boolean nextWord() {
+            while (true) {
+                skipTrivia();
+                if (pos >= length) {
+                    return false;
+                }
+                char c = text.charAt(pos);
+                if (Character.isJavaIdentifierStart(c)) {
+                    wordStart = pos;
+                    wordEnd = identifierEnd(pos);
+                    wordLine = line;
+                    pos = wordEnd;
+                    return true;
+                }
+                if (c == '"' || c == '\'') {
+                    skipString();
+                    continue;
+                }
+                if (c == '(') {
+                    parenDepth++;
+                } else if (c == ')') {
+                    parenDepth--;
+                }
+                pos++;
+            }
+        }
+
+        private boolean wordIs(String keyword) {
+            return wordEnd - wordStart == keyword.length() && text.startsWith(keyword, wordStart);
+        }
+
+        /**
+         * Extends the last word over a dotted name, e.g. org.example.Person
+         */
+        private String readQualifiedTail() {
+            int end = wordEnd;
+            while (end + 1 < length && text.charAt(end) == '.' && Character.isJavaIdentifierStart(text.charAt(end + 1))) {
+                end = identifierEnd(end + 1);
+            }
+            pos = end;
+            return text.substring(wordStart, end);
+        }
+
+        private boolean followedBy(char c) {
+            int next = skipHorizontalSpace(wordEnd);
+            return next < length && text.charAt(next) == c;
+        }
+
+        /**
+         * Checks that the last word opens a statement: it is first on its line, or follows
+         * a ';', a '}' or the "then" keyword of a rule written on a single line
+         */
+        private boolean startsStatement() {
+            int previous = wordStart - 1;
+            while (previous >= 0 && (text.charAt(previous) == ' ' || text.charAt(previous) == '\t')) {
+                previous--;
+            }
+            if (previous < 0) {
+                return true;
+            }
+            char c = text.charAt(previous);
+            if (c == '\n' || c == '\r' || c == ';' || c == '}') {
+                return true;
+            }
+            int thenStart = previous - 3;
+            return thenStart >= 0 && text.startsWith("then", thenStart)
+                    && (thenStart == 0 || !Character.isJavaIdentifierPart(text.charAt(thenStart - 1)));
+        }
+
+        /**
+         * Checks that nothing but a comment, a line break or the next keyword follows the last
+         * word on its line, so it is not an operand of an assignment, call or expression
+         */
+        private boolean endsStatement() {
+            int next = skipHorizontalSpace(wordEnd);
+            if (next >= length) {
+                return true;
+            }
+            char c = text.charAt(next);
+            return c == '\n' || c == '\r' || Character.isJavaIdentifierStart(c)
+                    || c == '/' && next + 1 < length && (text.charAt(next + 1) == '/' || text.charAt(next + 1) == '*');
+        }
+
+        /**
+         * Reads a field type, including generic arguments and array brackets
+         */
+        private String readFieldType() {
+            pos = skipHorizontalSpace(pos);
+            int start = pos;
+            int depth = 0;
+            while (pos < length) {
+                char c = text.charAt(pos);
+                if (c == '<') {
+                    depth++;
+                } else if (c == '>') {
+                    depth--;
+                } else if (c == '\n' || depth == 0 && (Character.isWhitespace(c) || c == '=' || c == '@' || c == ';')) {
+                    break;
+                }
+                pos++;
+            }
+            return text.substring(start, pos);
+        }
+
+        /**
+         * Reads the rest of a statement up to a semicolon or the end of the line
+         */
+        private String readToStatementEnd() {
+            int start = pos;
+            while (pos < length) {
+                char c = text.charAt(pos);
+                if (c == ';' || c == '\n' || c == '/' && pos + 1 < length && text.charAt(pos + 1) == '/') {
+                    break;
+                }
+                pos++;
+            }
+            String statement = text.substring(start, pos).trim();
+            if (pos < length && text.charAt(pos) == ';') {
+                pos++;
+            }
+            return statement;
+        }
+
+        private void skipBracedBody() {
+            int depth = 0;
+            while (true) {
+                skipTrivia();
+                if (pos >= length) {
+                    return;
+                }
+                char c = text.charAt(pos);
+                if (c == '"' || c == '\'') {
+                    skipString();
+                    continue;
+                }
+                pos++;
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}' && --depth <= 0) {
+                    return;
+                }
+            }
+        }
+
+        private void skipString() {
+            char quote = text.charAt(pos++);
+            while (pos < length) {
+                char c = text.charAt(pos++);
+                if (c == '\\') {
+                    pos++;
+                } else if (c == quote) {
+                    return;
+                } else if (c == '\n') {
+                    line++;
+                }
+            }
+        }
+
+        private void skipTrivia() {
+            while (pos < length) {
+                char c = text.charAt(pos);
+                if (c == '\n') {
+                    line++;
+                    pos++;
+                } else if (Character.isWhitespace(c)) {
+                    pos++;
+                } else if (c == '/' && pos + 1 < length && text.charAt(pos + 1) == '/') {
+                    while (pos < length && text.charAt(pos) != '\n') {
+                        pos++;
+                    }
+                } else if (c == '/' && pos + 1 < length && text.charAt(pos + 1) == '*') {
+                    pos += 2;
+                    while (pos < length && !(text.charAt(pos) == '*' && pos + 1 < length && text.charAt(pos + 1) == '/')) {
+                        if (text.charAt(pos) == '\n') {
+                            line++;
+                        }
+                        pos++;
+                    }
+                    pos = Math.min(length, pos + 2);
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private int skipHorizontalSpace(int from) {
+            while (from < length && (text.charAt(from) == ' ' || text.charAt(from) == '\t')) {
+                from++;
+            }
+            return from;
+        }
+
+        private int identifierEnd(int from) {
+            int end = from + 1;
+            while (end < length && Character.isJavaIdentifierPart(text.charAt(end))) {
+                end++;
+            }
+            return end;
+        }
+
+        private static int lastWhitespace(String value) {
+            for (int i = value.length() - 1; i >= 0; i--) {
+                if (Character.isWhitespace(value.charAt(i))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
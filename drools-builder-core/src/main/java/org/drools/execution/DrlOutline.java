@@ -0,0 +1,79 @@
+package org.drools.execution;
+
+import java.util.List;
+
+/**
+ * Structural summary of a DRL file, as produced by {@link DrlIndexer}.
+ * Line numbers are 1-based and refer to the indexed content.
+ * @param packageName Declared package, or empty string if there is none
+ * @param imports Imported names, including "function" and "static" imports as written
+ * @param globals Declared globals
+ * @param declaredTypes Types declared with "declare", with their fields
+ * @param functions Names of the declared functions
+ * @param rules Rules with the lines they span
+ * @param queries Queries with the lines they span
+ */
+public record DrlOutline(String packageName,
+                         List<String> imports,
+                         List<Global> globals,
+                         List<DeclaredType> declaredTypes,
+                         List<String> functions,
+                         List<Block> rules,
+                         List<Block> queries) {
+
+    public DrlOutline {
+        imports = List.copyOf(imports);
+        globals = List.copyOf(globals);
+        declaredTypes = List.copyOf(declaredTypes);
+        functions = List.copyOf(functions);
+        rules = List.copyOf(rules);
+        queries = List.copyOf(queries);
+    }
+
+    /**
+     * Gets the rule names in declaration order
+     * @return Names of all rules
+     */
+    public List<String> ruleNames() {
+        return rules.stream().map(Block::name).toList();
+    }
+
+    /**
+     * A global declaration
+     * @param type Declared type as written
+     * @param name Identifier of the global
+     */
+    public record Global(String type, String name) {
+    }
+
+    /**
+     * A field of a declared type
+     * @param name Field name
+     * @param type Field type as written
+     */
+    public record Field(String name, String type) {
+    }
+
+    /**
+     * A type declared with "declare"
+     * @param name Type name as written
+     * @param fields Fields in declaration order
+     * @param startLine Line of the "declare" keyword
+     * @param endLine Line of the closing "end", or the last line if the declaration is not closed
+     */
+    public record DeclaredType(String name, List<Field> fields, int startLine, int endLine) {
+
+        public DeclaredType {
+            fields = List.copyOf(fields);
+        }
+    }
+
+    /**
+     * A rule or query
+     * @param name Name without quotes
+     * @param startLine Line of the "rule" or "query" keyword
+     * @param endLine Line of the closing "end", or the last line if the block is not closed
+     */
+    public record Block(String name, int startLine, int endLine) {
+    }
+}
@@ -0,0 +1,47 @@
+package org.drools.execution;
+
+import java.util.List;
+
+/**
+ * Callbacks for tracing DRL executions. All methods default to doing nothing,
+ * so implementations only override the events they care about. Executions use
+ * {@link #NO_OP} unless a listener is configured, in which case no per-fact
+ * work is done at all.
+ */
+public interface ExecutionListener {
+
+    /**
+     * Listener that ignores all events
+     */
+    ExecutionListener NO_OP = new ExecutionListener() {
+    };
+
+    /**
+     * Called after a fact has been inserted into the session
+     * @param fact The inserted fact
+     */
+    default void onInsert(Object fact) {
+    }
+
+    /**
+     * Called after a rule has fired
+     * @param ruleName Name of the fired rule
+     */
+    default void onFire(String ruleName) {
+    }
+
+    /**
+     * Called once the facts have been collected from working memory
+     * @param firedRules Number of rules fired during the execution
+     * @param facts Facts in working memory
+     */
+    default void onCollect(int firedRules, List<Object> facts) {
+    }
+
+    /**
+     * Called when input is skipped or only partially applied, e.g. a JSON fact of unknown type
+     * @param message Description of the problem
+     */
+    default void onWarning(String message) {
+    }
+}
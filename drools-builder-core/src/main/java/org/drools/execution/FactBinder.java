@@ -0,0 +1,338 @@
+package org.drools.execution;
+
+import org.kie.api.KieBase;
+import org.kie.api.definition.type.FactField;
+import org.kie.api.definition.type.FactType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Precompiled field setters for a declared FactType.
+ * Constructor and setters are resolved once into MethodHandles, together with a
+ * coercion from JSON values (numbers, strings, maps) to each field's type, so
+ * binding a fact does no name lookup or reflection per field. Fields whose
+ * setter cannot be resolved fall back to {@link FactType#set(Object, String, Object)}.
+ */
+public class FactBinder {
+
+    private static final MethodType GENERIC_SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType GENERIC_CONSTRUCTOR = MethodType.methodType(Object.class);
+
+    private final FactType factType;
+    private final MethodHandle constructor;
+    private final Map<String, FieldBinding> fields = new HashMap<>();
+
+    private FactBinder(FactType factType, MethodHandle constructor) {
+        this.factType = factType;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Compiles a binder for a declared type. Fields holding other declared types
+     * of the same KieBase get binders of their own, so nested JSON objects can be
+     * bound as well.
+     * @param factType The declared type to bind
+     * @param kieBase KieBase the type is declared in, used to resolve nested declared types
+     * @return Compiled binder
+     */
+    public static FactBinder compile(FactType factType, KieBase kieBase) {
+        return compile(factType, kieBase, new HashMap<>());
+    }
+
+    private static FactBinder compile(FactType factType, KieBase kieBase, Map<Class<?>, FactBinder> compiled) {
+        Class<?> factClass = factType.getFactClass();
+        FactBinder existing = compiled.get(factClass);
+        if (existing != null) {
+            return existing;
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodHandle constructor;
+        try {
+            constructor = lookup.findConstructor(factClass, MethodType.methodType(void.class))
+                    .asType(GENERIC_CONSTRUCTOR);
+        } catch (ReflectiveOperationException e) {
+            constructor = null;
+        }
+
+        FactBinder binder = new FactBinder(factType, constructor);
+        // Registered before the fields so self-referencing types resolve to this binder
+        compiled.put(factClass, binder);
+
+        for (FactField field : factType.getFields()) {
+            Class<?> fieldType = field.getType();
+            MethodHandle setter;
+            try {
+                setter = lookup.findVirtual(factClass, setterName(field.getName()),
+                        MethodType.methodType(void.class, fieldType)).asType(GENERIC_SETTER);
+            } catch (ReflectiveOperationException e) {
+                setter = null;
+            }
+            FactBinder nested = nestedBinder(fieldType, kieBase, compiled);
+            binder.fields.put(field.getName(), new FieldBinding(setter, coercionFor(fieldType, nested)));
+        }
+        return binder;
+    }
+
+    /**
+     * Gets the declared type this binder creates
+     * @return The bound FactType
+     */
+    public FactType getFactType() {
+        return factType;
+    }
+
+    /**
+     * Gets the names of the bindable fields
+     * @return Field names of the declared type
+     */
+    public Set<String> getFieldNames() {
+        return Collections.unmodifiableSet(fields.keySet());
+    }
+
+    /**
+     * Creates a new, empty instance of the declared type
+     * @return New fact instance
+     * @throws RuntimeException if the instance cannot be created
+     */
+    public Object newInstance() {
+        try {
+            if (constructor != null) {
+                return (Object) constructor.invokeExact();
+            }
+            return factType.newInstance();
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to create fact instance: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Converts a value to the field's type and assigns it
+     * @param fact Instance of the declared type
+     * @param fieldName Name of the field to set
+     * @param value Value to convert and assign
+     * @throws IllegalArgumentException if the field does not exist or the value cannot be converted
+     */
+    public void set(Object fact, String fieldName, Object value) {
+        FieldBinding field = fields.get(fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown field '" + fieldName + "' for type " + factType.getName());
+        }
+        Object converted;
+        try {
+            converted = field.coercion().apply(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for field " + fieldName + ": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cannot convert '" + value + "' for field " + fieldName + ": " + e.getMessage(), e);
+        }
+        try {
+            if (field.setter() != null) {
+                field.setter().invokeExact(fact, converted);
+            } else {
+                factType.set(fact, fieldName, converted);
+            }
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("Could not set field " + fieldName + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates an instance and assigns all given fields
+     * @param values Field values by name
+     * @return New fact instance
+     * @throws IllegalArgumentException if a field does not exist or a value cannot be converted
+     */
+    public Object bind(Map<String, Object> values) {
+        Object fact = newInstance();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            set(fact, entry.getKey(), entry.getValue());
+        }
+        return fact;
+    }
+
+    private static String setterName(String fieldName) {
+        return "set" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+    }
+
+    private static FactBinder nestedBinder(Class<?> fieldType, KieBase kieBase, Map<Class<?>, FactBinder> compiled) {
+        if (fieldType.isPrimitive() || fieldType.getName().startsWith("java.")) {
+            return null;
+        }
+        FactType nestedType = kieBase.getFactType(fieldType.getPackageName(), fieldType.getSimpleName());
+        return nestedType != null ? compile(nestedType, kieBase, compiled) : null;
+    }
+
+    /**
+     * Builds the conversion from a JSON value to a field type
+     * @param type The field type
+     * @param nested Binder for the field type if it is a declared type, otherwise null
+     * @return Conversion function
+     */
+    private static Function<Object, Object> coercionFor(Class<?> type, FactBinder nested) {
+        if (type == int.class || type == Integer.class) {
+            return primitive(type, value -> value instanceof Number n
+                    ? (int) integral(n, Integer.MIN_VALUE, Integer.MAX_VALUE) : Integer.valueOf(text(value)));
+        }
+        if (type == long.class || type == Long.class) {
+            return primitive(type, value -> value instanceof Number n
+                    ? integral(n, Long.MIN_VALUE, Long.MAX_VALUE) : Long.valueOf(text(value)));
+        }
+        if (type == double.class || type == Double.class) {
+            return primitive(type, value -> value instanceof Number n ? n.doubleValue() : Double.valueOf(text(value)));
+        }
+        if (type == float.class || type == Float.class) {
+            return primitive(type, value -> value instanceof Number n ? n.floatValue() : Float.valueOf(text(value)));
+        }
+        if (type == short.class || type == Short.class) {
+            return primitive(type, value -> value instanceof Number n
+                    ? (short) integral(n, Short.MIN_VALUE, Short.MAX_VALUE) : Short.valueOf(text(value)));
+        }
+        if (type == byte.class || type == Byte.class) {
+            return primitive(type, value -> value instanceof Number n
+                    ? (byte) integral(n, Byte.MIN_VALUE, Byte.MAX_VALUE) : Byte.valueOf(text(value)));
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return primitive(type, value -> value instanceof Boolean ? value : parseBoolean(type, text(value)));
+        }
+        if (type == char.class || type == Character.class) {
+            return primitive(type, value -> {
+                String text = text(value);
+                if (text.length() != 1) {
+                    throw new IllegalArgumentException("Expected a single character but got '" + text + "'");
+                }
+                return text.charAt(0);
+            });
+        }
+        if (type == String.class) {
+            return nullable(String::valueOf);
+        }
+        if (type == BigDecimal.class) {
+            return nullable(value -> value instanceof BigDecimal ? value
+                    : value instanceof Double || value instanceof Float ? BigDecimal.valueOf(((Number) value).doubleValue())
+                    : new BigDecimal(text(value)));
+        }
+        if (type == BigInteger.class) {
+            return nullable(value -> value instanceof BigInteger ? value
+                    : isIntegral(value) ? BigInteger.valueOf(((Number) value).longValue())
+                    : new BigDecimal(text(value)).toBigIntegerExact());
+        }
+        if (type == Date.class) {
+            return nullable(value -> value instanceof Number n ? new Date(n.longValue()) : Date.from(parseInstant(text(value))));
+        }
+        if (type == Instant.class) {
+            return nullable(value -> value instanceof Number n ? Instant.ofEpochMilli(n.longValue()) : parseInstant(text(value)));
+        }
+        if (type == LocalDate.class) {
+            return nullable(value -> LocalDate.parse(text(value)));
+        }
+        if (type == LocalDateTime.class) {
+            return nullable(value -> LocalDateTime.parse(text(value)));
+        }
+        if (nested != null) {
+            return nullable(value -> {
+                if (value instanceof Map<?, ?> map) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> values = (Map<String, Object>) map;
+                    return nested.bind(values);
+                }
+                return checked(type, value);
+            });
+        }
+        return nullable(value -> checked(type, value));
+    }
+
+    private static Function<Object, Object> primitive(Class<?> type, Function<Object, Object> conversion) {
+        if (type.isPrimitive()) {
+            return value -> {
+                if (value == null) {
+                    throw new IllegalArgumentException("Cannot assign null to " + type.getName() + " field");
+                }
+                return convert(type, value, conversion);
+            };
+        }
+        return nullable(value -> convert(type, value, conversion));
+    }
+
+    private static Function<Object, Object> nullable(Function<Object, Object> conversion) {
+        return value -> value == null ? null : conversion.apply(value);
+    }
+
+    private static Object convert(Class<?> type, Object value, Function<Object, Object> conversion) {
+        try {
+            return conversion.apply(value);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Cannot convert '" + value + "' to " + type.getSimpleName(), e);
+        }
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * Converts a JSON number to an integral value, rejecting fractions and values out of range
+     * instead of truncating them
+     * @throws ArithmeticException if the number is not an integer between min and max
+     */
+    private static long integral(Number number, long min, long max) {
+        long result;
+        if (isIntegral(number)) {
+            result = number.longValue();
+        } else {
+            BigDecimal decimal = number instanceof BigDecimal d ? d
+                    : number instanceof BigInteger i ? new BigDecimal(i)
+                    : new BigDecimal(number.toString());
+            result = decimal.longValueExact();
+        }
+        if (result < min || result > max) {
+            throw new ArithmeticException(number + " is out of range");
+        }
+        return result;
+    }
+
+    private static Boolean parseBoolean(Class<?> type, String text) {
+        if (text.equalsIgnoreCase("true")) {
+            return Boolean.TRUE;
+        }
+        if (text.equalsIgnoreCase("false")) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Cannot convert '" + text + "' to " + type.getSimpleName());
+    }
+
+    private static Object checked(Class<?> type, Object value) {
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException("Cannot convert " + value.getClass().getSimpleName() + " to " + type.getSimpleName());
+        }
+        return value;
+    }
+
+    private static String text(Object value) {
+        return value.toString().trim();
+    }
+
+    private static Instant parseInstant(String text) {
+        // Accept both full timestamps and plain dates (taken as UTC midnight)
+        return text.length() == 10 ? LocalDate.parse(text).atStartOfDay(ZoneOffset.UTC).toInstant() : Instant.parse(text);
+    }
+
+    private record FieldBinding(MethodHandle setter, Function<Object, Object> coercion) {
+    }
+}
@@ -1,21 +1,49 @@
 package org.drools.execution;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.kie.api.KieBase;
+import org.kie.api.definition.KiePackage;
 import org.kie.api.definition.type.FactType;
 import org.kie.api.runtime.KieContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
- * Handles conversion of JSON data to Drools fact objects
+ * Handles conversion of JSON data to Drools fact objects.
+ * Declared types are bound through {@link FactBinder}s compiled once per type
+ * and cached per KieBase. A KieBase updated in place may redefine a declared type
+ * under a new class, so cached binders are checked against the current fact class.
  */
 public class FactBuilder {
-    
+
+    private static final Logger logger = LoggerFactory.getLogger(FactBuilder.class);
+
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<KieBase, Map<String, FactBinder>> binders = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private volatile ExecutionListener executionListener = ExecutionListener.NO_OP;
+
+    /**
+     * Sets the listener notified when JSON facts are skipped or fields cannot be set
+     * @param executionListener Listener to notify, or null for none
+     */
+    public void setExecutionListener(ExecutionListener executionListener) {
+        this.executionListener = executionListener != null ? executionListener : ExecutionListener.NO_OP;
+    }
 
     /**
      * Builds facts from a JSON array containing multiple facts with _type fields
@@ -26,21 +54,54 @@ public class FactBuilder {
      * @throws RuntimeException if JSON parsing or fact creation fails
      */
     public List<Object> buildFromJsonArray(String factsJson, KieContainer kieContainer, String packageName) {
-        try {
-            List<Map<String, Object>> jsonFacts = objectMapper.readValue(factsJson, 
-                new TypeReference<List<Map<String, Object>>>() {});
-            
-            List<Object> facts = new ArrayList<>();
-            for (Map<String, Object> jsonFact : jsonFacts) {
-                Object fact = buildFromJsonMap(jsonFact, kieContainer, packageName);
+        List<Object> facts = new ArrayList<>();
+        streamFromJsonArray(factsJson, kieContainer, packageName, facts::add);
+        return facts;
+    }
+
+    /**
+     * Streams facts from a JSON array string, see {@link #streamFromJsonArray(Reader, KieContainer, String, Consumer)}
+     * @param factsJson JSON array string containing facts with _type fields
+     * @param kieContainer KieContainer to get FactTypes from
+     * @param packageName Package name for declared types
+     * @param sink Consumer receiving each fact as soon as it has been read
+     * @throws RuntimeException if JSON parsing or fact creation fails
+     */
+    public void streamFromJsonArray(String factsJson, KieContainer kieContainer, String packageName, Consumer<Object> sink) {
+        if (factsJson == null) {
+            throw new RuntimeException("Failed to parse JSON facts array: facts JSON cannot be null");
+        }
+        streamFromJsonArray(new StringReader(factsJson), kieContainer, packageName, sink);
+    }
+
+    /**
+     * Streams facts from a JSON array containing facts with _type fields. Objects are
+     * read one at a time and their fields are set directly on the declared type
+     * instance, so memory use does not grow with the size of the payload. Fields
+     * appearing before the _type field are held only until the type is known.
+     * @param factsJson Reader positioned at a JSON array of facts with _type fields
+     * @param kieContainer KieContainer to get FactTypes from
+     * @param packageName Package name for declared types
+     * @param sink Consumer receiving each fact as soon as it has been read
+     * @throws RuntimeException if JSON parsing or fact creation fails
+     */
+    public void streamFromJsonArray(Reader factsJson, KieContainer kieContainer, String packageName, Consumer<Object> sink) {
+        KieBase kieBase = kieContainer.getKieBase();
+        try (JsonParser parser = objectMapper.getFactory().createParser(factsJson)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Failed to parse JSON facts array: facts must be a JSON array");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                Object fact = readFact(parser, kieBase, packageName);
                 if (fact != null) {
-                    facts.add(fact);
+                    sink.accept(fact);
                 }
             }
-            
-            return facts;
-            
-        } catch (Exception e) {
+            if (token != JsonToken.END_ARRAY) {
+                throw new RuntimeException("Failed to parse JSON facts array: each fact must be a JSON object");
+            }
+        } catch (IOException e) {
             throw new RuntimeException("Failed to parse JSON facts array: " + e.getMessage(), e);
         }
     }
@@ -83,18 +144,64 @@ public class FactBuilder {
         try {
             Map<String, Object> jsonData = objectMapper.readValue(jsonString, Map.class);
             
-            FactType factType = kieContainer.getKieBase().getFactType(packageName, typeName);
-            if (factType == null) {
+            FactBinder binder = binderFor(kieContainer.getKieBase(), packageName, typeName);
+            if (binder == null) {
                 throw new RuntimeException("Could not find declared type: " + typeName + " in package: " + packageName);
             }
             
-            return createFactFromJson(jsonData, factType);
+            return createFactFromJson(jsonData, binder);
             
         } catch (Exception e) {
             throw new RuntimeException("Failed to create fact with explicit type: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Materializes already parsed JSON objects as facts. Objects with a _type naming a type
+     * declared in the KieBase become instances of that type; objects without _type, or
+     * naming an unknown type, are kept as maps. The type may be given as simple or fully
+     * qualified name. When all objects name the same type, as is usual for a JSON array
+     * of one kind of fact, the binder is resolved once for the whole list.
+     * @param objects Parsed JSON objects
+     * @param kieBase KieBase to get FactTypes from
+     * @return Facts in the order of the objects
+     */
+    public List<Object> buildFromMaps(List<Map<String, Object>> objects, KieBase kieBase) {
+        List<Object> facts = new ArrayList<>(objects.size());
+        Object commonType = commonType(objects);
+        if (commonType instanceof String typeName) {
+            FactBinder binder = binderFor(kieBase, typeName);
+            if (binder != null) {
+                for (Map<String, Object> object : objects) {
+                    facts.add(createFactFromJson(object, binder));
+                }
+                return facts;
+            }
+        }
+        for (Map<String, Object> object : objects) {
+            facts.add(buildFromMap(object, kieBase));
+        }
+        return facts;
+    }
+
+    /**
+     * Materializes a parsed JSON object as a fact, see {@link #buildFromMaps(List, KieBase)}
+     * @param object Parsed JSON object
+     * @param kieBase KieBase to get FactTypes from
+     * @return Instance of the declared type named by _type, or the map itself
+     */
+    public Object buildFromMap(Map<String, Object> object, KieBase kieBase) {
+        if (!(object.get("_type") instanceof String typeName)) {
+            return object;
+        }
+        FactBinder binder = binderFor(kieBase, typeName);
+        if (binder == null) {
+            warn("Could not find declared type: " + typeName + ", inserting the fact as a map");
+            return object;
+        }
+        return createFactFromJson(object, binder);
+    }
+
     /**
      * Builds a fact from a JSON map that may contain _type field
      * @param jsonData JSON data as a map
@@ -106,48 +213,212 @@ public class FactBuilder {
         String typeName = (String) jsonData.get("_type");
         
         if (typeName == null) {
-            System.out.println("Warning: JSON fact missing '_type' field: " + jsonData);
+            warn("JSON fact missing '_type' field: " + jsonData);
+            return null;
+        }
+
+        FactBinder binder = binderFor(kieContainer.getKieBase(), packageName, typeName);
+        if (binder == null) {
+            warn("Could not find declared type: " + typeName + " in package: " + packageName);
             return null;
         }
 
-        // Remove type information from data
-        Map<String, Object> factData = new HashMap<>(jsonData);
-        factData.remove("_type");
+        return createFactFromJson(jsonData, binder);
+    }
+
+    /**
+     * Reads one JSON object from the parser and builds the fact it describes
+     * @param parser Parser positioned at the START_OBJECT token of the fact
+     * @param kieBase KieBase to get FactTypes from
+     * @param packageName Package name for declared types
+     * @return Created fact object or null if the _type field is missing or unknown
+     * @throws IOException if the JSON cannot be read
+     */
+    private Object readFact(JsonParser parser, KieBase kieBase, String packageName) throws IOException {
+        FactBinder binder = null;
+        Object fact = null;
+        Map<String, Object> pendingFields = new LinkedHashMap<>();
+        boolean skipped = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
 
-        // Get the FactType
-        FactType factType = kieContainer.getKieBase().getFactType(packageName, typeName);
+            if (skipped) {
+                parser.skipChildren();
+            } else if (fact == null && "_type".equals(fieldName)) {
+                String typeName = parser.getValueAsString();
+                binder = typeName != null ? binderFor(kieBase, packageName, typeName) : null;
+                if (binder == null) {
+                    warn("Could not find declared type: " + typeName + " in package: " + packageName);
+                    skipped = true;
+                } else {
+                    fact = createFactFromJson(pendingFields, binder);
+                    pendingFields = null;
+                }
+            } else if (fact != null) {
+                setField(binder, fact, fieldName, readValue(parser, valueToken));
+            } else {
+                pendingFields.put(fieldName, readValue(parser, valueToken));
+            }
+        }
+
+        if (fact == null && !skipped) {
+            warn("JSON fact missing '_type' field: " + pendingFields);
+        }
+        return fact;
+    }
+
+    /**
+     * Reads the value of the current token. Scalars are read directly, nested
+     * objects and arrays are bound to maps and lists.
+     * @param parser Parser positioned at the value token
+     * @param token The current value token
+     * @return The value as a Java object
+     * @throws IOException if the JSON cannot be read
+     */
+    private Object readValue(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                return objectMapper.readValue(parser, Object.class);
+        }
+    }
+
+    /**
+     * Gets the binder for a declared type, compiling it on first use or when the
+     * type has been redefined since its binder was compiled
+     * @param kieBase KieBase the type is declared in
+     * @param packageName Package name for the declared type
+     * @param typeName Type name for the declared type
+     * @return Binder for the type or null if the type is not declared
+     */
+    FactBinder binderFor(KieBase kieBase, String packageName, String typeName) {
+        Map<String, FactBinder> kieBaseBinders = binders.computeIfAbsent(kieBase, key -> new ConcurrentHashMap<>());
+        String qualifiedName = packageName + "." + typeName;
+        FactType factType = kieBase.getFactType(packageName, typeName);
         if (factType == null) {
-            System.out.println("Warning: Could not find declared type: " + typeName + " in package: " + packageName);
+            kieBaseBinders.remove(qualifiedName);
             return null;
         }
+        FactBinder binder = kieBaseBinders.get(qualifiedName);
+        if (binder != null && binder.getFactType().getFactClass() != factType.getFactClass()) {
+            // The KieBase was updated in place; binders of nested and aliased types may be stale as well
+            logger.debug("Declared type {} was redefined, dropping cached binders", qualifiedName);
+            kieBaseBinders.clear();
+            binder = null;
+        }
+        if (binder == null) {
+            binder = kieBaseBinders.computeIfAbsent(qualifiedName, key -> FactBinder.compile(factType, kieBase));
+        }
+        return binder;
+    }
+
+    /**
+     * Gets the binder for a declared type given by simple or fully qualified name,
+     * looking a simple name up in every package of the KieBase
+     * @param kieBase KieBase the type is declared in
+     * @param typeName Simple or fully qualified type name
+     * @return Binder for the type or null if the type is not declared
+     */
+    FactBinder binderFor(KieBase kieBase, String typeName) {
+        int lastDot = typeName.lastIndexOf('.');
+        if (lastDot > 0) {
+            return binderFor(kieBase, typeName.substring(0, lastDot), typeName.substring(lastDot + 1));
+        }
+        Map<String, FactBinder> kieBaseBinders = binders.computeIfAbsent(kieBase, key -> new ConcurrentHashMap<>());
+        FactBinder binder = kieBaseBinders.get(typeName);
+        if (binder != null) {
+            // Revalidate through the qualified name, the type may have been redefined or removed
+            binder = binderFor(kieBase, binder.getFactType().getPackageName(), typeName);
+            if (binder == null) {
+                kieBaseBinders.remove(typeName);
+            }
+        }
+        if (binder == null) {
+            for (KiePackage kiePackage : kieBase.getKiePackages()) {
+                binder = binderFor(kieBase, kiePackage.getName(), typeName);
+                if (binder != null) {
+                    kieBaseBinders.put(typeName, binder);
+                    break;
+                }
+            }
+        }
+        return binder;
+    }
 
-        return createFactFromJson(factData, factType);
+    /**
+     * Gets the _type shared by all objects
+     * @return The common _type value, or null if the objects differ or have none
+     */
+    private static Object commonType(List<Map<String, Object>> objects) {
+        if (objects.isEmpty()) {
+            return null;
+        }
+        Object type = objects.get(0).get("_type");
+        if (type == null) {
+            return null;
+        }
+        for (int i = 1; i < objects.size(); i++) {
+            if (!type.equals(objects.get(i).get("_type"))) {
+                return null;
+            }
+        }
+        return type;
     }
 
     /**
-     * Creates a fact instance from JSON data using a FactType
-     * @param factData JSON data as a map (without _type field)
-     * @param factType FactType to create instance of
+     * Creates a fact instance from JSON data using a FactBinder
+     * @param factData JSON data as a map, a _type entry is ignored
+     * @param binder Binder of the declared type to create an instance of
      * @return Created fact object
      * @throws RuntimeException if fact creation fails
      */
-    private Object createFactFromJson(Map<String, Object> factData, FactType factType) {
-        try {
-            Object fact = factType.newInstance();
-
-            // Set fields from JSON
-            for (Map.Entry<String, Object> entry : factData.entrySet()) {
-                try {
-                    factType.set(fact, entry.getKey(), entry.getValue());
-                } catch (Exception e) {
-                    System.out.println("Warning: Could not set field " + entry.getKey() + ": " + e.getMessage());
-                }
+    private Object createFactFromJson(Map<String, Object> factData, FactBinder binder) {
+        Object fact = binder.newInstance();
+
+        // Set fields from JSON
+        for (Map.Entry<String, Object> entry : factData.entrySet()) {
+            if (!"_type".equals(entry.getKey())) {
+                setField(binder, fact, entry.getKey(), entry.getValue());
             }
+        }
 
-            return fact;
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create fact instance: " + e.getMessage(), e);
+        return fact;
+    }
+
+    /**
+     * Sets a field on a fact, logging a warning if the value cannot be assigned
+     * @param binder Binder of the fact's declared type
+     * @param fact The fact instance
+     * @param fieldName Name of the field to set
+     * @param value Value to assign
+     */
+    private void setField(FactBinder binder, Object fact, String fieldName, Object value) {
+        try {
+            binder.set(fact, fieldName, value);
+        } catch (IllegalArgumentException e) {
+            warn("Could not set field " + fieldName + " of " + binder.getFactType().getName() + ": " + e.getMessage());
         }
     }
+
+    /**
+     * Logs a warning and passes it on to the execution listener
+     * @param message The warning message
+     */
+    private void warn(String message) {
+        logger.warn(message);
+        executionListener.onWarning(message);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.drools.execution;
+
+import java.util.function.Consumer;
+
+/**
+ * Source of facts that hands each fact to a sink as soon as it is available,
+ * so facts can be inserted into a session without collecting them first.
+ */
+@FunctionalInterface
+public interface FactSource {
+
+    /**
+     * Passes every fact of this source to the sink, in order
+     * @param sink Consumer receiving the facts
+     */
+    void forEachFact(Consumer<Object> sink);
+}
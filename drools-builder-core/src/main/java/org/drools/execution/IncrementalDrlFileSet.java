@@ -0,0 +1,237 @@
+package org.drools.execution;
+
+import org.drools.compiler.kie.builder.impl.InternalKieBuilder;
+import org.drools.model.codegen.ExecutableModelProject;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.kie.internal.builder.IncrementalResults;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * KieModule compiled from a set of named DRL files.
+ * Every file is written as its own resource and its content hash is kept between
+ * builds, so a build only recompiles the files that were added, changed or removed,
+ * using an incremental file set build on the previous KieBuilder. Messages are
+ * reported with the name of the file they belong to.
+ * A failed incremental build is not kept: the next build starts from scratch.
+ * File sets compiled to the executable model are rebuilt as a whole whenever a
+ * file changes, since the generated model cannot be updated file by file.
+ */
+public class IncrementalDrlFileSet {
+
+    private static final String RESOURCE_ROOT = "src/main/resources/";
+
+    private final KieServices kieServices = KieServices.Factory.get();
+    private final ReleaseId releaseId;
+    private final CompilationMode mode;
+
+    private KieFileSystem kieFileSystem;
+    private KieBuilder kieBuilder;
+    private Map<String, String> hashes = new HashMap<>();
+    private boolean built;
+
+    private long fullBuilds;
+    private long incrementalBuilds;
+
+    /**
+     * @param releaseId Release id the files are built under
+     */
+    public IncrementalDrlFileSet(ReleaseId releaseId) {
+        this(releaseId, CompilationMode.DRL);
+    }
+
+    /**
+     * @param releaseId Release id the files are built under
+     * @param mode How the files are compiled
+     */
+    public IncrementalDrlFileSet(ReleaseId releaseId, CompilationMode mode) {
+        this.releaseId = releaseId;
+        this.mode = mode;
+    }
+
+    /**
+     * Compiles the files, recompiling only those that differ from the previous build
+     * @param files DRL content by file name
+     * @return Outcome of the build
+     */
+    public synchronized BuildResult build(Map<String, String> files) {
+        Map<String, String> newHashes = new HashMap<>();
+        files.forEach((name, content) -> newHashes.put(name, KieContainerCache.keyOf(content)));
+
+        if (kieBuilder == null) {
+            return rebuild(files, newHashes);
+        }
+        if (mode == CompilationMode.EXECUTABLE_MODEL) {
+            return built && newHashes.equals(hashes)
+                    ? new BuildResult(false, List.of(), List.of(), List.of())
+                    : rebuild(files, newHashes);
+        }
+
+        List<String> changedFiles = new ArrayList<>();
+        List<String> changedPaths = new ArrayList<>();
+        for (Map.Entry<String, String> file : new TreeMap<>(files).entrySet()) {
+            if (!newHashes.get(file.getKey()).equals(hashes.get(file.getKey()))) {
+                kieFileSystem.write(resourcePath(file.getKey()), file.getValue());
+                changedFiles.add(file.getKey());
+                changedPaths.add(resourcePath(file.getKey()));
+            }
+        }
+        for (String name : hashes.keySet()) {
+            if (!files.containsKey(name)) {
+                kieFileSystem.delete(resourcePath(name));
+                changedFiles.add(name);
+                changedPaths.add(resourcePath(name));
+            }
+        }
+        if (changedPaths.isEmpty()) {
+            return new BuildResult(true, List.of(), List.of(), List.of());
+        }
+
+        IncrementalResults results = ((InternalKieBuilder) kieBuilder)
+                .createFileSet(changedPaths.toArray(new String[0]))
+                .build();
+        List<FileMessage> errors = fileMessages(results.getAddedMessages(), Message.Level.ERROR, files.keySet());
+        if (!errors.isEmpty()) {
+            // The builder now holds the broken files, start over on the next build
+            kieBuilder = null;
+            kieFileSystem = null;
+            built = false;
+            return new BuildResult(true, changedFiles, errors, List.of());
+        }
+
+        hashes = newHashes;
+        built = true;
+        incrementalBuilds++;
+        return new BuildResult(true, changedFiles, List.of(),
+                fileMessages(results.getAddedMessages(), Message.Level.WARNING, files.keySet()));
+    }
+
+    /**
+     * Creates a new KieContainer over the last successful build. Every container gets its
+     * own KieBase, so containers handed out earlier are not affected by later builds.
+     * @return New KieContainer
+     * @throws IllegalStateException if the last build failed or nothing was built yet
+     */
+    public synchronized KieContainer newKieContainer() {
+        if (!built) {
+            throw new IllegalStateException("No successful build for " + releaseId);
+        }
+        return kieServices.newKieContainer(releaseId);
+    }
+
+    public ReleaseId getReleaseId() {
+        return releaseId;
+    }
+
+    public CompilationMode getCompilationMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the number of full builds done so far
+     * @return Full build count
+     */
+    public synchronized long getFullBuildCount() {
+        return fullBuilds;
+    }
+
+    /**
+     * Gets the number of incremental builds done so far
+     * @return Incremental build count
+     */
+    public synchronized long getIncrementalBuildCount() {
+        return incrementalBuilds;
+    }
+
+    private BuildResult rebuild(Map<String, String> files, Map<String, String> newHashes) {
+        KieFileSystem fileSystem = kieServices.newKieFileSystem();
+        fileSystem.generateAndWritePomXML(releaseId);
+        files.forEach((name, content) -> fileSystem.write(resourcePath(name), content));
+
+        KieBuilder builder = mode == CompilationMode.EXECUTABLE_MODEL
+                ? kieServices.newKieBuilder(fileSystem).buildAll(ExecutableModelProject.class)
+                : kieServices.newKieBuilder(fileSystem).buildAll();
+        List<String> allFiles = new ArrayList<>(new TreeMap<>(files).keySet());
+        List<FileMessage> errors = fileMessages(builder.getResults().getMessages(Message.Level.ERROR),
+                Message.Level.ERROR, files.keySet());
+        fullBuilds++;
+        if (!errors.isEmpty()) {
+            built = false;
+            return new BuildResult(false, allFiles, errors, List.of());
+        }
+
+        kieFileSystem = fileSystem;
+        kieBuilder = builder;
+        hashes = newHashes;
+        built = true;
+        return new BuildResult(false, allFiles, List.of(),
+                fileMessages(builder.getResults().getMessages(Message.Level.WARNING), Message.Level.WARNING, files.keySet()));
+    }
+
+    private static List<FileMessage> fileMessages(Collection<? extends Message> messages, Message.Level level,
+                                                  Collection<String> fileNames) {
+        Map<String, String> filesByPath = new HashMap<>();
+        for (String name : fileNames) {
+            filesByPath.put(resourcePath(name), name);
+        }
+        List<FileMessage> fileMessages = new ArrayList<>();
+        for (Message message : messages) {
+            if (message.getLevel() == level) {
+                String path = message.getPath();
+                String file = path == null ? null
+                        : filesByPath.getOrDefault(path, filesByPath.get(RESOURCE_ROOT + path));
+                fileMessages.add(new FileMessage(file != null ? file : path, message.getLine(), message.getText()));
+            }
+        }
+        return fileMessages;
+    }
+
+    private static String resourcePath(String fileName) {
+        String safeName = fileName.replaceAll("[^A-Za-z0-9_.-]", "_");
+        if (!safeName.endsWith(".drl")) {
+            safeName += ".drl";
+        }
+        // The hash keeps names apart that only differ in replaced characters
+        return RESOURCE_ROOT + Integer.toHexString(fileName.hashCode()) + "_" + safeName;
+    }
+
+    /**
+     * Outcome of a build
+     * @param incremental true if only the changed files were compiled
+     * @param changedFiles Files compiled or removed by this build, all files for a full build
+     * @param errors Compilation errors; a build with errors produces no new KieBase
+     * @param warnings Compilation warnings
+     */
+    public record BuildResult(boolean incremental, List<String> changedFiles,
+                              List<FileMessage> errors, List<FileMessage> warnings) {
+
+        public BuildResult {
+            changedFiles = List.copyOf(changedFiles);
+            errors = List.copyOf(errors);
+            warnings = List.copyOf(warnings);
+        }
+
+        public boolean success() {
+            return errors.isEmpty();
+        }
+    }
+
+    /**
+     * A compiler message attributed to a file
+     * @param file Name of the file, or the resource path if it cannot be attributed
+     * @param line Line in the file, 0 if unknown
+     * @param text Message text
+     */
+    public record FileMessage(String file, int line, String text) {
+    }
+}
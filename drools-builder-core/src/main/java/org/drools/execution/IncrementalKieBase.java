@@ -0,0 +1,215 @@
+package org.drools.execution;
+
+import org.drools.compiler.kie.builder.impl.InternalKieBuilder;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.kie.internal.builder.IncrementalResults;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Live KieContainer backed by a set of named DRL definitions.
+ * Every definition is compiled from its own resource, so when definitions are
+ * added, replaced or removed only the affected resources are rebuilt and the
+ * running KieBase is updated in place with {@link KieContainer#updateToVersion(ReleaseId)}.
+ * Imports are part of the header of every resource; changing them, or an
+ * incremental build that fails, causes a full rebuild.
+ */
+public class IncrementalKieBase {
+
+    private static final String RESOURCE_ROOT = "src/main/resources/";
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final KieServices kieServices = KieServices.Factory.get();
+    private final String packageName;
+    private final ReleaseId releaseId;
+
+    private KieFileSystem kieFileSystem;
+    private KieBuilder kieBuilder;
+    private KieContainer kieContainer;
+    private String header;
+    private Map<String, String> resources = new HashMap<>();
+    private long syncedVersion = -1;
+
+    private long fullBuilds;
+    private long incrementalBuilds;
+
+    /**
+     * @param packageName Package all definitions are compiled into
+     */
+    public IncrementalKieBase(String packageName) {
+        this.packageName = packageName;
+        this.releaseId = kieServices.newReleaseId("org.drools.generated",
+                "stored-definitions-" + INSTANCES.incrementAndGet(), "1.0.0");
+    }
+
+    /**
+     * Brings the KieBase in line with a versioned set of definitions. Nothing is
+     * rendered or compared when the version has not changed since the last sync.
+     * @param version Version of the definitions, increased on every change
+     * @param sources Supplier of the definitions at that version
+     * @return KieContainer holding all definitions
+     * @throws RuntimeException if the definitions do not compile
+     */
+    public synchronized KieContainer sync(long version, Supplier<Sources> sources) {
+        if (kieContainer != null && header != null && version == syncedVersion) {
+            return kieContainer;
+        }
+        KieContainer synced = sync(sources.get());
+        syncedVersion = version;
+        return synced;
+    }
+
+    /**
+     * Brings the KieBase in line with the given definitions, rebuilding only what changed
+     * @param sources The current definitions
+     * @return KieContainer holding all definitions
+     * @throws RuntimeException if the definitions do not compile
+     */
+    public synchronized KieContainer sync(Sources sources) {
+        String newHeader = renderHeader(sources.imports());
+        Map<String, String> newResources = renderResources(newHeader, sources.definitions());
+
+        if (kieContainer == null || !newHeader.equals(header)) {
+            return rebuild(newHeader, newResources);
+        }
+
+        Set<String> changedPaths = new HashSet<>();
+        for (Map.Entry<String, String> entry : newResources.entrySet()) {
+            if (!entry.getValue().equals(resources.get(entry.getKey()))) {
+                kieFileSystem.write(entry.getKey(), entry.getValue());
+                changedPaths.add(entry.getKey());
+            }
+        }
+        for (String path : resources.keySet()) {
+            if (!newResources.containsKey(path)) {
+                kieFileSystem.delete(path);
+                changedPaths.add(path);
+            }
+        }
+        if (changedPaths.isEmpty()) {
+            return kieContainer;
+        }
+
+        IncrementalResults results = ((InternalKieBuilder) kieBuilder)
+                .createFileSet(changedPaths.toArray(new String[0]))
+                .build();
+        boolean failed = results.getAddedMessages().stream()
+                .anyMatch(message -> message.getLevel() == Message.Level.ERROR);
+        if (failed) {
+            // Leave the broken build behind and start from a clean file system
+            return rebuild(newHeader, newResources);
+        }
+
+        kieContainer.updateToVersion(releaseId);
+        resources = newResources;
+        incrementalBuilds++;
+        return kieContainer;
+    }
+
+    /**
+     * Gets the package all definitions are compiled into
+     * @return The package name
+     */
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Gets the number of full builds done so far
+     * @return Full build count
+     */
+    public synchronized long getFullBuildCount() {
+        return fullBuilds;
+    }
+
+    /**
+     * Gets the number of incremental updates applied so far
+     * @return Incremental build count
+     */
+    public synchronized long getIncrementalBuildCount() {
+        return incrementalBuilds;
+    }
+
+    /**
+     * Disposes the KieContainer and removes its module from the repository
+     */
+    public synchronized void dispose() {
+        if (kieContainer != null) {
+            kieContainer.dispose();
+            kieServices.getRepository().removeKieModule(releaseId);
+            kieContainer = null;
+            header = null;
+            resources = new HashMap<>();
+        }
+    }
+
+    private KieContainer rebuild(String newHeader, Map<String, String> newResources) {
+        KieFileSystem fileSystem = kieServices.newKieFileSystem();
+        fileSystem.generateAndWritePomXML(releaseId);
+        newResources.forEach(fileSystem::write);
+
+        KieBuilder builder = kieServices.newKieBuilder(fileSystem).buildAll();
+        if (builder.getResults().hasMessages(Message.Level.ERROR)) {
+            // Keep the last good KieBase, but do a full rebuild on the next sync
+            header = null;
+            throw new RuntimeException("DRL compilation errors: " +
+                    builder.getResults().getMessages(Message.Level.ERROR));
+        }
+
+        if (kieContainer != null) {
+            kieContainer.dispose();
+        }
+        kieFileSystem = fileSystem;
+        kieBuilder = builder;
+        kieContainer = kieServices.newKieContainer(releaseId);
+        header = newHeader;
+        resources = newResources;
+        fullBuilds++;
+        return kieContainer;
+    }
+
+    private String renderHeader(Collection<String> imports) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("package ").append(packageName).append(";\n\n");
+        imports.forEach(drl -> builder.append(drl).append("\n"));
+        return builder.append("\n").toString();
+    }
+
+    private Map<String, String> renderResources(String header, Map<String, String> definitions) {
+        Map<String, String> rendered = new HashMap<>();
+        definitions.forEach((name, drl) -> rendered.put(resourcePath(name), header + drl + "\n"));
+        return rendered;
+    }
+
+    private String resourcePath(String name) {
+        // The hash keeps names that sanitize to the same text apart
+        String safeName = name.replaceAll("[^A-Za-z0-9_]", "_");
+        return RESOURCE_ROOT + packageName.replace('.', '/') + "/" + safeName
+                + "_" + KieContainerCache.hashOf(name) + ".drl";
+    }
+
+    /**
+     * DRL of a set of definitions
+     * @param imports Import statements, in the order they are written into the header of every resource
+     * @param definitions DRL text of every other definition, by a name unique among them
+     */
+    public record Sources(List<String> imports, Map<String, String> definitions) {
+
+        public Sources {
+            imports = List.copyOf(imports);
+            definitions = Map.copyOf(definitions);
+        }
+    }
+}
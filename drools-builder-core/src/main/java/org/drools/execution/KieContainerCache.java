@@ -0,0 +1,254 @@
+package org.drools.execution;
+
+import org.kie.api.KieServices;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bounded, content-addressed cache of compiled KieContainers.
+ * Entries are keyed by the SHA-256 hash of the normalized DRL content and the
+ * compilation mode, and evicted in least-recently-used order once the cache is full.
+ * Containers are expected to be built under the content-addressed release id of
+ * {@link #releaseIdOf}; a KieModule is only dropped from the KieRepository once no
+ * cache holds a container built from it.
+ */
+public class KieContainerCache {
+
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    // Cached containers per KieModule, across all caches since they share the KieRepository
+    private static final Map<ReleaseId, Integer> moduleReferences = new HashMap<>();
+
+    private final int maxSize;
+    private final Map<String, KieContainer> containers;
+    private final List<Consumer<KieContainer>> removalListeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public KieContainerCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public KieContainerCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.containers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, KieContainer> eldest) {
+                if (size() > KieContainerCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    release(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached container for the DRL content, compiling it on a miss
+     * @param drlContent The DRL content to look up
+     * @param compiler Function compiling the DRL content into a KieContainer
+     * @return Cached or freshly compiled KieContainer
+     */
+    public KieContainer getOrBuild(String drlContent, Function<String, KieContainer> compiler) {
+        return getOrBuild(drlContent, CompilationMode.DRL, compiler);
+    }
+
+    /**
+     * Returns the cached container for the DRL content compiled in the given mode, compiling it on a miss
+     * @param drlContent The DRL content to look up
+     * @param mode Compilation mode the container is built with
+     * @param compiler Function compiling the DRL content into a KieContainer
+     * @return Cached or freshly compiled KieContainer
+     */
+    public KieContainer getOrBuild(String drlContent, CompilationMode mode, Function<String, KieContainer> compiler) {
+        String key = keyOf(drlContent, mode);
+
+        synchronized (containers) {
+            KieContainer cached = containers.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        // Compile outside the lock so that one slow build does not block other lookups
+        KieContainer built = compiler.apply(drlContent);
+
+        synchronized (containers) {
+            KieContainer existing = containers.get(key);
+            if (existing != null) {
+                // Another thread compiled the same content concurrently, keep the first one.
+                // Both were built under the same release id, so the KieModule stays registered.
+                return existing;
+            }
+            retainModule(built);
+            containers.put(key, built);
+        }
+        return built;
+    }
+
+    /**
+     * Registers a listener notified whenever a container leaves the cache,
+     * either by eviction or invalidation
+     * @param listener Listener receiving the removed container
+     */
+    public void addRemovalListener(Consumer<KieContainer> listener) {
+        removalListeners.add(listener);
+    }
+
+    /**
+     * Checks whether the given container is currently held by this cache
+     * @param kieContainer Container to look up
+     * @return true if the container is cached
+     */
+    public boolean contains(KieContainer kieContainer) {
+        synchronized (containers) {
+            return containers.containsValue(kieContainer);
+        }
+    }
+
+    /**
+     * Removes the compiled containers for the given DRL content, in every compilation mode
+     * @param drlContent The DRL content whose compiled form should be dropped
+     * @return true if an entry was removed
+     */
+    public boolean invalidate(String drlContent) {
+        List<KieContainer> removed = new ArrayList<>();
+        synchronized (containers) {
+            for (CompilationMode mode : CompilationMode.values()) {
+                KieContainer container = containers.remove(keyOf(drlContent, mode));
+                if (container != null) {
+                    removed.add(container);
+                }
+            }
+        }
+        removed.forEach(this::release);
+        return !removed.isEmpty();
+    }
+
+    /**
+     * Removes all cached containers
+     */
+    public void invalidateAll() {
+        synchronized (containers) {
+            containers.values().forEach(this::release);
+            containers.clear();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the cache counters
+     * @return Current cache statistics
+     */
+    public Stats getStats() {
+        synchronized (containers) {
+            return new Stats(hits.get(), misses.get(), evictions.get(), containers.size(), maxSize);
+        }
+    }
+
+    /**
+     * Computes the cache key of DRL content. Line endings and surrounding
+     * whitespace are normalized so that cosmetic differences share an entry.
+     * @param drlContent The DRL content
+     * @return Hex encoded SHA-256 hash of the normalized content
+     */
+    public static String keyOf(String drlContent) {
+        return hashOf(drlContent.replace("\r\n", "\n").strip());
+    }
+
+    /**
+     * Hashes content exactly as given, without normalizing it
+     * @param content The content
+     * @return Hex encoded SHA-256 hash of the content
+     */
+    static String hashOf(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Computes the cache key of DRL content compiled in the given mode
+     * @param drlContent The DRL content
+     * @param mode Compilation mode
+     * @return The content key, suffixed with the mode for modes other than DRL
+     */
+    public static String keyOf(String drlContent, CompilationMode mode) {
+        String key = keyOf(drlContent);
+        return mode == CompilationMode.DRL ? key : key + "-" + mode.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Computes the content-addressed release id containers of DRL content are built under.
+     * Different content never shares a release id, so concurrent builds cannot replace
+     * each other's KieModule in the KieRepository.
+     * @param drlContent The DRL content
+     * @param mode Compilation mode
+     * @return Release id derived from the cache key
+     */
+    public static ReleaseId releaseIdOf(String drlContent, CompilationMode mode) {
+        return KieServices.Factory.get().newReleaseId("org.drools.execution", "drl-" + keyOf(drlContent, mode), "1.0.0");
+    }
+
+    /**
+     * Notifies the removal listeners of a container leaving the cache and drops its KieModule
+     * from the KieRepository once no cached container references it any more.
+     * The container itself is not disposed since executions may still be using it.
+     */
+    private void release(KieContainer kieContainer) {
+        removalListeners.forEach(listener -> listener.accept(kieContainer));
+        ReleaseId releaseId = kieContainer.getReleaseId();
+        if (releaseId == null) {
+            return;
+        }
+        synchronized (moduleReferences) {
+            Integer references = moduleReferences.get(releaseId);
+            if (references != null && references > 1) {
+                moduleReferences.put(releaseId, references - 1);
+                return;
+            }
+            moduleReferences.remove(releaseId);
+            KieServices.Factory.get().getRepository().removeKieModule(releaseId);
+        }
+    }
+
+    private static void retainModule(KieContainer kieContainer) {
+        ReleaseId releaseId = kieContainer.getReleaseId();
+        if (releaseId != null) {
+            synchronized (moduleReferences) {
+                moduleReferences.merge(releaseId, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Cache statistics record
+     */
+    public record Stats(long hits, long misses, long evictions, int size, int maxSize) {
+    }
+}
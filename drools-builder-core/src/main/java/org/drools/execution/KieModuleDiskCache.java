@@ -0,0 +1,297 @@
+package org.drools.execution;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieModule;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of compiled KieModules, so that a new process does not have to
+ * build DRL it has already built before. Only executable model builds are cached:
+ * their kjars carry the generated and compiled rule classes, so loading them skips
+ * compilation entirely, whereas a DRL kjar is compiled again when it is loaded.
+ * Every KieModule is written as a kjar named after the hash of its DRL content and
+ * the Drools version that built it; a kjar built by another Drools version is never
+ * loaded. SNAPSHOT versions change without changing their name, so they are never
+ * cached. The cache is disabled unless {@link #ENABLED_PROPERTY} is set, and only
+ * the most recently used kjars are kept.
+ */
+public class KieModuleDiskCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieModuleDiskCache.class);
+
+    /** Set to true to enable the disk cache */
+    public static final String ENABLED_PROPERTY = "drools.kjarCache.enabled";
+    /** Directory holding the cached kjars, defaults to ~/.drools-mcp/kjar-cache */
+    public static final String DIRECTORY_PROPERTY = "drools.kjarCache.dir";
+    /** Maximum number of kjars kept on disk, the least recently used are deleted first */
+    public static final String MAX_ENTRIES_PROPERTY = "drools.kjarCache.maxEntries";
+
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private static final String SUFFIX = ".jar";
+
+    private final KieServices kieServices = KieServices.Factory.get();
+    private final Path directory;
+    private final String droolsVersion;
+    private final int maxEntries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+
+    /**
+     * @param directory Directory holding the cached kjars, created on first write
+     * @throws IllegalStateException if the Drools version is unknown or a SNAPSHOT
+     */
+    public KieModuleDiskCache(Path directory) {
+        this(directory, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param directory Directory holding the cached kjars, created on first write
+     * @param maxEntries Maximum number of kjars kept on disk
+     * @throws IllegalStateException if the Drools version is unknown or a SNAPSHOT
+     */
+    public KieModuleDiskCache(Path directory, int maxEntries) {
+        this(directory, droolsVersion(), maxEntries);
+    }
+
+    KieModuleDiskCache(Path directory, String droolsVersion) {
+        this(directory, droolsVersion, DEFAULT_MAX_ENTRIES);
+    }
+
+    KieModuleDiskCache(Path directory, String droolsVersion, int maxEntries) {
+        if (!isReleaseVersion(droolsVersion)) {
+            throw new IllegalStateException("Cannot cache KieModules of Drools version " + droolsVersion
+                    + ", a release version is required");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.directory = directory;
+        this.droolsVersion = droolsVersion.replaceAll("[^A-Za-z0-9_.-]", "_");
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Creates the disk cache configured by the system properties
+     * @return Disk cache, or null if it is disabled or the Drools version cannot be cached
+     */
+    public static KieModuleDiskCache fromSystemProperties() {
+        if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "false"))) {
+            return null;
+        }
+        String version = droolsVersion();
+        if (!isReleaseVersion(version)) {
+            logger.warn("KieModule disk cache disabled, Drools version {} is not a release version", version);
+            return null;
+        }
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        return new KieModuleDiskCache(directory == null || directory.isBlank()
+                ? Paths.get(System.getProperty("user.home"), ".drools-mcp", "kjar-cache")
+                : Path.of(directory),
+                version,
+                Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+    }
+
+    /**
+     * Checks whether KieModules built in the given mode are cached
+     * @param mode Compilation mode
+     * @return true for executable model builds, the only ones whose kjars carry compiled rules
+     */
+    public static boolean isCached(CompilationMode mode) {
+        return mode == CompilationMode.EXECUTABLE_MODEL;
+    }
+
+    /**
+     * Loads the cached KieModule of the DRL content compiled in the given mode into the KieRepository
+     * @param drlContent The DRL content to look up
+     * @param mode Compilation mode the KieModule was built with
+     * @return New KieContainer over the cached KieModule, or null if it is not cached
+     */
+    public KieContainer load(String drlContent, CompilationMode mode) {
+        if (!isCached(mode)) {
+            return null;
+        }
+        Path file = fileOf(drlContent, mode);
+        if (!Files.isRegularFile(file)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        try {
+            byte[] kjar = Files.readAllBytes(file);
+            KieModule kieModule = kieServices.getRepository()
+                    .addKieModule(kieServices.getResources().newByteArrayResource(kjar));
+            KieContainer kieContainer = kieServices.newKieContainer(kieModule.getReleaseId());
+            hits.incrementAndGet();
+            touch(file);
+            return kieContainer;
+        } catch (IOException | RuntimeException e) {
+            // A truncated or unreadable kjar is dropped and rebuilt from source
+            logger.warn("Failed to load cached KieModule {}: {}", file, e.getMessage());
+            deleteQuietly(file);
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Writes the KieModule backing a freshly compiled container to disk. The container must
+     * have been built under the content-addressed release id of the DRL content, otherwise the
+     * KieModule found under its release id may hold other content and nothing is written.
+     * Failures are logged and otherwise ignored, the container stays usable.
+     * @param drlContent The DRL content the container was compiled from
+     * @param mode Compilation mode the container was built with
+     * @param kieContainer The compiled container
+     */
+    public void store(String drlContent, CompilationMode mode, KieContainer kieContainer) {
+        ReleaseId releaseId = kieContainer.getReleaseId();
+        if (!KieContainerCache.releaseIdOf(drlContent, mode).equals(releaseId)) {
+            logger.debug("Not caching KieModule {}, it is not the content-addressed module of its DRL", releaseId);
+            return;
+        }
+        store(drlContent, mode, kieServices.getRepository().getKieModule(releaseId));
+    }
+
+    /**
+     * Writes a freshly built KieModule to disk.
+     * Failures are logged and otherwise ignored, the module stays usable.
+     * @param drlContent The content the KieModule was built from, used as its cache key
+     * @param mode Compilation mode the KieModule was built with
+     * @param kieModule The KieModule returned by the KieBuilder
+     */
+    public void store(String drlContent, CompilationMode mode, KieModule kieModule) {
+        if (!isCached(mode) || !(kieModule instanceof InternalKieModule internalKieModule)) {
+            return;
+        }
+        Path file = fileOf(drlContent, mode);
+        try {
+            Files.createDirectories(directory);
+            // Write to a temporary file first so that readers never see a partial kjar
+            Path temp = Files.createTempFile(directory, "kjar", ".tmp");
+            try {
+                Files.write(temp, internalKieModule.getBytes());
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            writes.incrementAndGet();
+            prune();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to write KieModule to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether the DRL content compiled in the given mode has a cached KieModule
+     * @param drlContent The DRL content to look up
+     * @param mode Compilation mode
+     * @return true if a kjar built by this Drools version is on disk
+     */
+    public boolean contains(String drlContent, CompilationMode mode) {
+        return Files.isRegularFile(fileOf(drlContent, mode));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public String getDroolsVersion() {
+        return droolsVersion;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Gets a snapshot of the cache counters
+     * @return Current cache statistics
+     */
+    public Stats getStats() {
+        return new Stats(hits.get(), misses.get(), writes.get());
+    }
+
+    private Path fileOf(String drlContent, CompilationMode mode) {
+        return directory.resolve(KieContainerCache.keyOf(drlContent, mode) + "-" + droolsVersion + SUFFIX);
+    }
+
+    /**
+     * Deletes the least recently used kjars, including those of other Drools versions,
+     * until at most maxEntries are left
+     */
+    private void prune() throws IOException {
+        List<Path> kjars;
+        try (Stream<Path> files = Files.list(directory)) {
+            kjars = files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).toList();
+        }
+        if (kjars.size() <= maxEntries) {
+            return;
+        }
+        kjars.stream()
+                .sorted(Comparator.comparing(KieModuleDiskCache::lastModified))
+                .limit(kjars.size() - maxEntries)
+                .forEach(KieModuleDiskCache::deleteQuietly);
+    }
+
+    /**
+     * Marks a kjar as used, so that it is among the last to be pruned
+     */
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            logger.debug("Failed to touch {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            // Already deleted by a concurrent prune
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the version of the Drools jars on the class path
+     * @return Drools version, or null if the jars carry none
+     */
+    private static String droolsVersion() {
+        return KieServices.class.getPackage().getImplementationVersion();
+    }
+
+    private static boolean isReleaseVersion(String version) {
+        return version != null && !version.isBlank() && !version.endsWith("-SNAPSHOT");
+    }
+
+    /**
+     * Disk cache statistics record
+     */
+    public record Stats(long hits, long misses, long writes) {
+    }
+}
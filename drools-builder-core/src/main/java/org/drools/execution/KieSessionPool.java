@@ -0,0 +1,182 @@
+package org.drools.execution;
+
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieContainerSessionsPool;
+import org.kie.api.runtime.KieSession;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of reusable KieSessions for a single KieContainer.
+ * Pooled sessions come from a Drools KieContainerSessionsPool, which resets a
+ * session when it is disposed, so every borrowed session starts with empty
+ * working memory. When all pooled sessions are in use a fresh, unpooled
+ * session is handed out instead of blocking the caller. Idle sessions are only
+ * dropped by {@link #evictIdle()}, which the owning executor calls periodically.
+ */
+public class KieSessionPool implements AutoCloseable {
+
+    private final KieContainer kieContainer;
+    private final Settings settings;
+    private final Semaphore permits;
+    private final Set<KieSession> borrowedSessions = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong fallbackCount = new AtomicLong();
+
+    private KieContainerSessionsPool sessionsPool;
+    private long lastReleasedNanos = System.nanoTime();
+    private boolean closed;
+
+    public KieSessionPool(KieContainer kieContainer, Settings settings) {
+        this.kieContainer = kieContainer;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.maxSize());
+    }
+
+    /**
+     * Borrows a session, falling back to a fresh session when the pool is exhausted
+     * @return KieSession with empty working memory
+     */
+    public KieSession borrow() {
+        borrowCount.incrementAndGet();
+        if (permits.tryAcquire()) {
+            try {
+                return borrowPooledSession();
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        fallbackCount.incrementAndGet();
+        return kieContainer.newKieSession();
+    }
+
+    /**
+     * Returns a session obtained from {@link #borrow()}. Pooled sessions are
+     * reset and kept for reuse, fallback sessions are disposed.
+     * @param session The session to return
+     */
+    public void release(KieSession session) {
+        // Dispose first, so the session is back in the pool before it stops counting as borrowed
+        session.dispose();
+        boolean pooled;
+        synchronized (this) {
+            pooled = borrowedSessions.remove(session);
+            if (pooled) {
+                lastReleasedNanos = System.nanoTime();
+            }
+        }
+        if (pooled) {
+            permits.release();
+        }
+    }
+
+    /**
+     * Drops the idle sessions if none has been used for longer than the idle timeout
+     * @return true if idle sessions were evicted
+     */
+    public synchronized boolean evictIdle() {
+        if (sessionsPool == null || !borrowedSessions.isEmpty()) {
+            return false;
+        }
+        if (System.nanoTime() - lastReleasedNanos < settings.idleTimeout().toNanos()) {
+            return false;
+        }
+        sessionsPool.shutdown();
+        sessionsPool = null;
+        return true;
+    }
+
+    /**
+     * Tells whether the pool currently holds pooled sessions
+     * @return true if sessions have been pooled and not evicted since
+     */
+    public synchronized boolean isWarm() {
+        return sessionsPool != null;
+    }
+
+    /**
+     * Gets the number of sessions currently borrowed from the pool
+     * @return Number of pooled sessions in use
+     */
+    public int getActiveCount() {
+        return borrowedSessions.size();
+    }
+
+    /**
+     * Gets the number of borrow requests served so far
+     * @return Total borrow count
+     */
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    /**
+     * Gets the number of borrow requests served with an unpooled session
+     * @return Number of fallbacks caused by pool exhaustion
+     */
+    public long getFallbackCount() {
+        return fallbackCount.get();
+    }
+
+    /**
+     * Shuts down the pool. Sessions still borrowed are disposed when released.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (sessionsPool != null) {
+            sessionsPool.shutdown();
+            sessionsPool = null;
+        }
+    }
+
+    /**
+     * Takes a session from the pool and marks it borrowed under the pool monitor,
+     * so that {@link #evictIdle()} never sees a borrow in flight as an idle pool
+     */
+    private synchronized KieSession borrowPooledSession() {
+        KieSession session;
+        if (closed) {
+            session = kieContainer.newKieSession();
+        } else {
+            if (sessionsPool == null) {
+                // The Drools pool grows on demand; the permits bound it to maxSize sessions
+                sessionsPool = kieContainer.newKieSessionsPool(1);
+            }
+            session = sessionsPool.newKieSession();
+        }
+        borrowedSessions.add(session);
+        return session;
+    }
+
+    /**
+     * Session pool settings
+     * @param maxSize Maximum number of pooled sessions per KieContainer
+     * @param idleTimeout Time after which unused pooled sessions are dropped
+     */
+    public record Settings(int maxSize, Duration idleTimeout) {
+
+        public Settings {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("Pool size must be positive");
+            }
+            if (idleTimeout == null || idleTimeout.isNegative()) {
+                throw new IllegalArgumentException("Idle timeout cannot be null or negative");
+            }
+        }
+
+        /**
+         * Default settings: two sessions per available processor, five minutes idle timeout
+         */
+        public static Settings defaults() {
+            return new Settings(Runtime.getRuntime().availableProcessors() * 2, Duration.ofMinutes(5));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.drools.execution;
+
+import org.kie.api.runtime.KieContainer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Executes independent fact sets in parallel against one compiled KieContainer.
+ * A compiled KieBase is immutable and thread-safe, so every task opens its own
+ * stateless session on a shared work-stealing ForkJoinPool. The number of
+ * submitted but unfinished tasks is bounded to apply backpressure on callers
+ * producing batches faster than they can be executed.
+ */
+public class ParallelBatchExecutor implements AutoCloseable {
+
+    private final DRLExecutor executor;
+    private final ForkJoinPool pool;
+    private final int maxInFlight;
+
+    public ParallelBatchExecutor(DRLExecutor executor) {
+        this(executor, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelBatchExecutor(DRLExecutor executor, int parallelism) {
+        this(executor, parallelism, parallelism * 4);
+    }
+
+    /**
+     * @param executor Executor running each fact set in a stateless session
+     * @param parallelism Number of worker threads
+     * @param maxInFlight Maximum number of submitted batches not yet completed
+     */
+    public ParallelBatchExecutor(DRLExecutor executor, int parallelism, int maxInFlight) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Maximum in-flight batches must be positive");
+        }
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    }
+
+    /**
+     * Registers a JVM shutdown hook closing this executor, for executors held in static fields
+     * @return This executor
+     */
+    public ParallelBatchExecutor closeOnShutdown() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "batch-executor-shutdown"));
+        return this;
+    }
+
+    /**
+     * Executes the fact sets in parallel and returns the results in input order
+     * @param kieContainer Pre-built KieContainer
+     * @param factBatches Fact sets to execute
+     * @param maxRuns Maximum number of rules to fire per fact set (0 for unlimited)
+     * @return One DRLRunnerResult per fact set, in input order
+     */
+    public List<DRLRunnerResult> executeOrdered(KieContainer kieContainer, List<List<Object>> factBatches, int maxRuns) {
+        return executeOrdered(kieContainer, factBatches, Function.identity(), maxRuns);
+    }
+
+    /**
+     * Converts the inputs to fact sets and executes them in parallel, returning the results in input order.
+     * The conversion runs on the worker threads as part of each task.
+     * @param kieContainer Pre-built KieContainer
+     * @param inputs Inputs to convert into fact sets
+     * @param factsOf Thread-safe conversion from an input to its facts
+     * @param maxRuns Maximum number of rules to fire per fact set (0 for unlimited)
+     * @return One DRLRunnerResult per input, in input order
+     */
+    public <T> List<DRLRunnerResult> executeOrdered(KieContainer kieContainer, List<T> inputs,
+                                                    Function<? super T, List<Object>> factsOf, int maxRuns) {
+        DRLRunnerResult[] results = new DRLRunnerResult[inputs.size()];
+        executeUnordered(kieContainer, inputs, factsOf, maxRuns, (index, result) -> results[index] = result);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Executes the fact sets in parallel, delivering each result as soon as it is available
+     * @param kieContainer Pre-built KieContainer
+     * @param factBatches Fact sets to execute, consumed lazily as capacity frees up
+     * @param maxRuns Maximum number of rules to fire per fact set (0 for unlimited)
+     * @param consumer Thread-safe consumer receiving the batch index and its result in completion order
+     */
+    public void executeUnordered(KieContainer kieContainer, Iterable<List<Object>> factBatches, int maxRuns,
+                                 BatchResultConsumer consumer) {
+        executeUnordered(kieContainer, factBatches, Function.identity(), maxRuns, consumer);
+    }
+
+    /**
+     * Converts the inputs to fact sets and executes them in parallel, delivering each result as soon as it is available
+     * @param kieContainer Pre-built KieContainer
+     * @param inputs Inputs to convert into fact sets, consumed lazily as capacity frees up
+     * @param factsOf Thread-safe conversion from an input to its facts
+     * @param maxRuns Maximum number of rules to fire per fact set (0 for unlimited)
+     * @param consumer Thread-safe consumer receiving the batch index and its result in completion order
+     * @throws RuntimeException naming the first failing batch; no batch is started after a failure
+     */
+    public <T> void executeUnordered(KieContainer kieContainer, Iterable<T> inputs,
+                                     Function<? super T, List<Object>> factsOf, int maxRuns,
+                                     BatchResultConsumer consumer) {
+        if (maxRuns < 0) {
+            throw new IllegalArgumentException("Maximum runs cannot be negative");
+        }
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        // First failure; once set no further batch is submitted and queued batches are skipped
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        try {
+            int index = 0;
+            for (T input : inputs) {
+                // Backpressure: wait until an earlier batch completes
+                inFlight.acquire();
+                if (failure.get() != null) {
+                    inFlight.release();
+                    break;
+                }
+                int batchIndex = index++;
+                pool.execute(() -> {
+                    try {
+                        if (failure.get() == null) {
+                            List<Object> facts = factsOf.apply(input);
+                            consumer.accept(batchIndex, executor.executeStateless(kieContainer, facts, maxRuns));
+                        }
+                    } catch (RuntimeException | Error e) {
+                        failure.compareAndSet(null, new RuntimeException("Batch " + (batchIndex + 1) + ": " + e.getMessage(), e));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            // Wait for the batches still running; no task is referenced once it has completed
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, new RuntimeException("Interrupted while executing batches", e));
+        } catch (RuntimeException e) {
+            // Reading the inputs failed, skip the batches not started yet
+            failure.compareAndSet(null, e);
+        }
+        RuntimeException error = failure.get();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Gets the number of worker threads
+     * @return Configured parallelism
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Receives the result of one batch
+     */
+    @FunctionalInterface
+    public interface BatchResultConsumer {
+        void accept(int batchIndex, DRLRunnerResult result);
+    }
+}
@@ -0,0 +1,51 @@
+package org.drools.execution;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Selects which facts of the working memory are returned after execution and in what shape.
+ * Type and origin filters are applied while reading the working memory, so facts that are
+ * not wanted are never copied into the result. Filtered results are returned in insertion
+ * order, so offset and limit page over the same sequence on every execution.
+ * @param types Simple or fully qualified names of the fact types to return; empty for all types
+ * @param fields Fields to keep of declared-type facts, which are then returned as maps; empty for whole facts
+ * @param offset Number of matching facts to skip
+ * @param limit Maximum number of facts to return (0 for unlimited)
+ * @param derivedOnly Return only facts inserted by rules, leaving out the facts given as input
+ */
+public record ResultOptions(Set<String> types, List<String> fields, int offset, int limit, boolean derivedOnly) {
+
+    /**
+     * Returns every fact in working memory as is
+     */
+    public static final ResultOptions ALL = new ResultOptions(Set.of(), List.of(), 0, 0, false);
+
+    public ResultOptions {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        types = types != null ? Set.copyOf(types) : Set.of();
+        fields = fields != null ? List.copyOf(fields) : List.of();
+    }
+
+    /**
+     * Tells whether facts of a class pass the type filter
+     * @param factClass Class of the fact
+     * @return true if no type filter is set or the class matches one of the types
+     */
+    public boolean acceptsType(Class<?> factClass) {
+        return types.isEmpty() || types.contains(factClass.getSimpleName()) || types.contains(factClass.getName());
+    }
+
+    /**
+     * Tells whether the working memory has to be filtered at all
+     * @return true if facts are skipped by type, origin or position
+     */
+    public boolean filters() {
+        return !types.isEmpty() || derivedOnly || offset > 0 || limit > 0;
+    }
+}
@@ -0,0 +1,70 @@
+package org.drools.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Execution listener that logs a sample of execution events through slf4j.
+ * Only every n-th inserted fact and fired rule is logged, and at most a fixed
+ * number of the collected facts, so tracing large executions stays cheap.
+ * Nothing is written to stdout, which is reserved for the MCP stdio transport.
+ * Warnings are not repeated here, FactBuilder already logs them.
+ */
+public class SamplingExecutionListener implements ExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SamplingExecutionListener.class);
+
+    private final int sampleRate;
+    private final int maxLoggedFacts;
+    private final AtomicLong inserts = new AtomicLong();
+    private final AtomicLong fires = new AtomicLong();
+
+    public SamplingExecutionListener() {
+        this(100, 10);
+    }
+
+    /**
+     * @param sampleRate Log every n-th insert and fire event
+     * @param maxLoggedFacts Maximum number of collected facts to log per execution
+     */
+    public SamplingExecutionListener(int sampleRate, int maxLoggedFacts) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("Sample rate must be positive");
+        }
+        if (maxLoggedFacts < 0) {
+            throw new IllegalArgumentException("Maximum logged facts cannot be negative");
+        }
+        this.sampleRate = sampleRate;
+        this.maxLoggedFacts = maxLoggedFacts;
+    }
+
+    @Override
+    public void onInsert(Object fact) {
+        long count = inserts.incrementAndGet();
+        if (count % sampleRate == 1 || sampleRate == 1) {
+            logger.debug("Inserted fact #{}: {}", count, fact);
+        }
+    }
+
+    @Override
+    public void onFire(String ruleName) {
+        long count = fires.incrementAndGet();
+        if (count % sampleRate == 1 || sampleRate == 1) {
+            logger.debug("Fired rule #{}: {}", count, ruleName);
+        }
+    }
+
+    @Override
+    public void onCollect(int firedRules, List<Object> facts) {
+        logger.info("Fired {} rules, {} facts in working memory", firedRules, facts.size());
+        if (logger.isDebugEnabled()) {
+            facts.stream().limit(maxLoggedFacts).forEach(fact -> logger.debug("  {}", fact));
+            if (facts.size() > maxLoggedFacts) {
+                logger.debug("  ... {} more", facts.size() - maxLoggedFacts);
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package org.drools.model;
 
+import org.drools.execution.DRLRunnerResult;
 import org.drools.storage.DefinitionStorage;
+import org.kie.api.KieBase;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -13,6 +16,7 @@ import java.util.Map;
 public class JsonResponseBuilder {
     
     private Map<String, Object> response;
+    private KieBase kieBase;
     
     private JsonResponseBuilder() {
         this.response = new HashMap<>();
@@ -99,6 +103,39 @@ public class JsonResponseBuilder {
         return this;
     }
     
+    /**
+     * Adds facts list to response, writing facts of types declared in the KieBase as JSON objects
+     */
+    public JsonResponseBuilder facts(List<Object> facts, KieBase kieBase) {
+        this.kieBase = kieBase;
+        return facts(facts);
+    }
+    
+    /**
+     * Adds per-batch execution results and the total number of fired rules
+     */
+    public JsonResponseBuilder batches(List<DRLRunnerResult> results) {
+        List<Map<String, Object>> batchMaps = new ArrayList<>();
+        int totalFiredRules = 0;
+        for (int i = 0; i < results.size(); i++) {
+            DRLRunnerResult result = results.get(i);
+            Map<String, Object> batchMap = new HashMap<>();
+            batchMap.put("batch", i + 1);
+            batchMap.put("firedRules", result.firedRules());
+            batchMap.put("factsCount", result.objects().size());
+            batchMap.put("facts", result.objects());
+            batchMaps.add(batchMap);
+            totalFiredRules += result.firedRules();
+            if (kieBase == null) {
+                kieBase = result.kieBase();
+            }
+        }
+        response.put("batchCount", results.size());
+        response.put("totalFiredRules", totalFiredRules);
+        response.put("batches", batchMaps);
+        return this;
+    }
+    
     /**
      * Adds definitions list to response
      */
@@ -137,75 +174,27 @@ public class JsonResponseBuilder {
      * Builds and returns the JSON string
      */
     public String build() {
+        StringBuilder json = new StringBuilder();
         try {
-            return convertToJson(response);
+            writeTo(json);
+            return json.toString();
         } catch (Exception e) {
             // Fallback to simple error response
-            return "{\"status\":\"error\",\"message\":\"Failed to build JSON response: " + 
-                   escapeJsonString(e.getMessage()) + "\"}";
-        }
-    }
-    
-    /**
-     * Simple JSON conversion without external dependencies
-     */
-    private String convertToJson(Object obj) {
-        if (obj == null) {
-            return "null";
-        }
-        
-        if (obj instanceof String) {
-            return "\"" + escapeJsonString((String) obj) + "\"";
-        }
-        
-        if (obj instanceof Number || obj instanceof Boolean) {
-            return obj.toString();
-        }
-        
-        if (obj instanceof Map) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> map = (Map<String, Object>) obj;
-            StringBuilder sb = new StringBuilder("{");
-            boolean first = true;
-            for (Map.Entry<String, Object> entry : map.entrySet()) {
-                if (!first) sb.append(",");
-                sb.append("\"").append(escapeJsonString(entry.getKey())).append("\":")
-                  .append(convertToJson(entry.getValue()));
-                first = false;
-            }
-            sb.append("}");
-            return sb.toString();
-        }
-        
-        if (obj instanceof List) {
-            @SuppressWarnings("unchecked")
-            List<Object> list = (List<Object>) obj;
-            StringBuilder sb = new StringBuilder("[");
-            boolean first = true;
-            for (Object item : list) {
-                if (!first) sb.append(",");
-                sb.append(convertToJson(item));
-                first = false;
+            json.setLength(0);
+            json.append("{\"status\":\"error\",\"message\":\"Failed to build JSON response: ");
+            try {
+                JsonWriter.escape(String.valueOf(e.getMessage()), json);
+            } catch (IOException ignored) {
+                // A StringBuilder does not throw
             }
-            sb.append("]");
-            return sb.toString();
+            return json.append("\"}").toString();
         }
-        
-        // For other objects, convert to string
-        return "\"" + escapeJsonString(obj.toString()) + "\"";
     }
     
     /**
-     * Escapes special characters in JSON strings
+     * Writes the JSON response to the destination in a single pass
      */
-    private String escapeJsonString(String str) {
-        if (str == null) return "";
-        return str.replace("\\", "\\\\")
-                 .replace("\"", "\\\"")
-                 .replace("\b", "\\b")
-                 .replace("\f", "\\f")
-                 .replace("\n", "\\n")
-                 .replace("\r", "\\r")
-                 .replace("\t", "\\t");
+    public void writeTo(Appendable out) throws IOException {
+        new JsonWriter(out, kieBase).write(response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,183 @@
+package org.drools.model;
+
+import org.kie.api.KieBase;
+import org.kie.api.definition.type.FactField;
+import org.kie.api.definition.type.FactType;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Writes values as JSON directly to an {@link Appendable}, in one pass and without
+ * building intermediate strings.
+ * Maps become objects and collections become arrays. Facts of types declared in
+ * the given KieBase become objects holding their FactType fields; any other value
+ * is written as its string form.
+ */
+public class JsonWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Appendable out;
+    private final KieBase kieBase;
+    private final Map<Class<?>, Optional<FactType>> factTypes = new HashMap<>();
+    private final Set<Object> writing = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * @param out Destination of the JSON text
+     * @param kieBase KieBase used to recognize declared-type facts, or null to write all facts as strings
+     */
+    public JsonWriter(Appendable out, KieBase kieBase) {
+        this.out = out;
+        this.kieBase = kieBase;
+    }
+
+    /**
+     * Writes a value as JSON
+     * @param value Value to write
+     * @throws IOException if the destination fails
+     */
+    public void write(Object value) throws IOException {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof CharSequence text) {
+            writeString(text);
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            out.append(Double.isFinite(number) ? value.toString() : "null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value.toString());
+        } else if (value instanceof Map<?, ?> map) {
+            writeMap(map);
+        } else if (value instanceof Collection<?> collection) {
+            writeCollection(collection);
+        } else {
+            FactType factType = factTypeOf(value);
+            if (factType != null && writing.add(value)) {
+                try {
+                    writeFact(factType, value);
+                } finally {
+                    writing.remove(value);
+                }
+            } else {
+                // Not a declared type, or a fact referring back to itself
+                writeString(value.toString());
+            }
+        }
+    }
+
+    /**
+     * Writes a JSON string literal, escaping quotes, backslashes and control characters
+     * @param text Text to write
+     * @throws IOException if the destination fails
+     */
+    public void writeString(CharSequence text) throws IOException {
+        out.append('"');
+        escape(text, out);
+        out.append('"');
+    }
+
+    /**
+     * Escapes text for use inside a JSON string literal in a single scan.
+     * Runs of characters that need no escaping are copied as is.
+     * @param text Text to escape
+     * @param out Destination of the escaped text
+     * @throws IOException if the destination fails
+     */
+    public static void escape(CharSequence text, Appendable out) throws IOException {
+        int length = text.length();
+        int run = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            String replacement;
+            switch (c) {
+                case '"' -> replacement = "\\\"";
+                case '\\' -> replacement = "\\\\";
+                case '\n' -> replacement = "\\n";
+                case '\r' -> replacement = "\\r";
+                case '\t' -> replacement = "\\t";
+                case '\b' -> replacement = "\\b";
+                case '\f' -> replacement = "\\f";
+                default -> replacement = null;
+            }
+            if (replacement == null && c >= 0x20 && c != 0x2028 && c != 0x2029) {
+                continue;
+            }
+            out.append(text, run, i);
+            if (replacement != null) {
+                out.append(replacement);
+            } else {
+                out.append("\\u").append(HEX[c >> 12 & 0xF]).append(HEX[c >> 8 & 0xF])
+                        .append(HEX[c >> 4 & 0xF]).append(HEX[c & 0xF]);
+            }
+            run = i + 1;
+        }
+        out.append(text, run, length);
+    }
+
+    private void writeMap(Map<?, ?> map) throws IOException {
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            writeString(String.valueOf(entry.getKey()));
+            out.append(':');
+            write(entry.getValue());
+            first = false;
+        }
+        out.append('}');
+    }
+
+    private void writeCollection(Collection<?> collection) throws IOException {
+        out.append('[');
+        boolean first = true;
+        for (Object item : collection) {
+            if (!first) {
+                out.append(',');
+            }
+            write(item);
+            first = false;
+        }
+        out.append(']');
+    }
+
+    private void writeFact(FactType factType, Object fact) throws IOException {
+        out.append('{');
+        writeString("_type");
+        out.append(':');
+        writeString(factType.getSimpleName());
+        for (FactField field : factType.getFields()) {
+            out.append(',');
+            writeString(field.getName());
+            out.append(':');
+            write(field.get(fact));
+        }
+        out.append('}');
+    }
+
+    /**
+     * Looks up the declared type of a fact, remembering the answer per class
+     */
+    private FactType factTypeOf(Object value) {
+        if (kieBase == null) {
+            return null;
+        }
+        Class<?> type = value.getClass();
+        Optional<FactType> factType = factTypes.get(type);
+        if (factType == null) {
+            factType = type.getName().startsWith("java.")
+                    ? Optional.empty()
+                    : Optional.ofNullable(kieBase.getFactType(type.getPackageName(), type.getSimpleName()));
+            factTypes.put(type, factType);
+        }
+        return factType.orElse(null);
+    }
+}
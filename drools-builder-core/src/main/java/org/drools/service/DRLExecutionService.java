@@ -1,8 +1,15 @@
 package org.drools.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.drools.exception.DRLExecutionException;
+import org.drools.execution.CompilationMode;
 import org.drools.execution.DRLPopulatorRunner;
 import org.drools.execution.DRLRunnerResult;
+import org.drools.execution.ResultOptions;
+import org.kie.api.runtime.KieContainer;
+
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -10,6 +17,10 @@ import java.util.List;
  */
 public class DRLExecutionService {
     
+    private static final String STORED_DEFINITIONS_PACKAGE = "org.drools.generated";
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
     /**
      * Executes DRL code with external JSON facts.
      * 
@@ -35,6 +46,36 @@ public class DRLExecutionService {
         }
     }
     
+    /**
+     * Executes DRL code compiled in the given mode with external JSON facts and returns only
+     * the facts selected by the options.
+     * 
+     * @param drlCode The DRL code to execute
+     * @param externalFactsJson JSON string containing external facts
+     * @param maxActivations Maximum number of rule activations (0 for unlimited)
+     * @param options Type filters, field projection, pagination and derived-only selection, or null for all facts
+     * @param mode How the DRL code is compiled, or null for DRL
+     * @return DRLRunnerResult containing the selected facts, the number of matching facts and fired rules count
+     * @throws DRLExecutionException if execution fails
+     */
+    public DRLRunnerResult executeDRLWithJsonFacts(String drlCode, String externalFactsJson, int maxActivations,
+                                                   ResultOptions options, CompilationMode mode) {
+        if (drlCode == null || drlCode.trim().isEmpty()) {
+            throw new DRLExecutionException("DRL code cannot be null or empty");
+        }
+        
+        if (maxActivations < 0) {
+            throw new DRLExecutionException("Maximum activations cannot be negative");
+        }
+        
+        try {
+            return DRLPopulatorRunner.runDRLWithJsonFacts(drlCode, externalFactsJson, maxActivations,
+                    options != null ? options : ResultOptions.ALL, mode != null ? mode : CompilationMode.DRL);
+        } catch (Exception e) {
+            throw new DRLExecutionException("Failed to execute DRL: " + e.getMessage(), e);
+        }
+    }
+    
     /**
      * Executes DRL code with external facts.
      * 
@@ -61,7 +102,83 @@ public class DRLExecutionService {
     }
 
     /**
-     * Executes external JSON facts against all stored DRL definitions.
+     * Executes several independent JSON fact sets against the same DRL code.
+     * The DRL is compiled once and each fact set runs in an isolated stateless session.
+     * 
+     * @param drlCode The DRL code to execute
+     * @param factBatchesJson JSON arrays of facts, one per batch
+     * @param maxActivations Maximum number of rule activations per batch (0 for unlimited)
+     * @return One DRLRunnerResult per batch, in input order
+     * @throws DRLExecutionException if execution fails
+     */
+    public List<DRLRunnerResult> executeBatchWithJsonFacts(String drlCode, List<String> factBatchesJson, int maxActivations) {
+        if (drlCode == null || drlCode.trim().isEmpty()) {
+            throw new DRLExecutionException("DRL code cannot be null or empty");
+        }
+        
+        if (factBatchesJson == null) {
+            throw new DRLExecutionException("Fact batches cannot be null");
+        }
+        
+        if (maxActivations < 0) {
+            throw new DRLExecutionException("Maximum activations cannot be negative");
+        }
+        
+        try {
+            return DRLPopulatorRunner.runBatch(drlCode, factBatchesJson, maxActivations);
+        } catch (Exception e) {
+            throw new DRLExecutionException("Failed to execute DRL batch: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Executes several independent JSON fact sets against the same DRL code.
+     * 
+     * @param drlCode The DRL code to execute
+     * @param factBatchesJson JSON array whose elements are JSON arrays of facts, one per batch
+     * @param maxActivations Maximum number of rule activations per batch (0 for unlimited)
+     * @return One DRLRunnerResult per batch, in input order
+     * @throws DRLExecutionException if the batches are not valid JSON or execution fails
+     */
+    public List<DRLRunnerResult> executeBatchWithJsonFacts(String drlCode, String factBatchesJson, int maxActivations) {
+        return executeBatchWithJsonFacts(drlCode, splitFactBatches(factBatchesJson), maxActivations);
+    }
+
+    /**
+     * Executes several independent JSON fact sets against the same DRL code compiled in the given mode.
+     * 
+     * @param drlCode The DRL code to execute
+     * @param factBatchesJson JSON array whose elements are JSON arrays of facts, one per batch
+     * @param maxActivations Maximum number of rule activations per batch (0 for unlimited)
+     * @param mode How the DRL code is compiled
+     * @return One DRLRunnerResult per batch, in input order
+     * @throws DRLExecutionException if the batches are not valid JSON or execution fails
+     */
+    public List<DRLRunnerResult> executeBatchWithJsonFacts(String drlCode, String factBatchesJson, int maxActivations,
+                                                           CompilationMode mode) {
+        if (drlCode == null || drlCode.trim().isEmpty()) {
+            throw new DRLExecutionException("DRL code cannot be null or empty");
+        }
+        
+        if (maxActivations < 0) {
+            throw new DRLExecutionException("Maximum activations cannot be negative");
+        }
+        
+        if (mode == null) {
+            throw new DRLExecutionException("Compilation mode cannot be null");
+        }
+        
+        List<String> batches = splitFactBatches(factBatchesJson);
+        try {
+            return DRLPopulatorRunner.runBatch(drlCode, batches, maxActivations, mode);
+        } catch (Exception e) {
+            throw new DRLExecutionException("Failed to execute DRL batch: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Executes external JSON facts against all stored DRL definitions. The definitions
+     * back a live KieBase that is only updated for definitions changed since the last call.
      * 
      * @param externalFactsJson JSON string containing external facts
      * @param maxActivations Maximum number of rule activations (0 for unlimited)
@@ -76,18 +193,86 @@ public class DRLExecutionService {
         }
         
         try {
-            // Generate complete DRL from all stored definitions
-            String drlCode = definitionService.generateDRLFromDefinitions("org.drools.generated");
-            
             // Check if we have any definitions
             if (definitionService.getDefinitionCount() == 0) {
                 throw new DRLExecutionException("No DRL definitions found in storage. Please add some definitions first using addDefinition.");
             }
             
-            // Execute with the generated DRL
-            return DRLPopulatorRunner.runDRLWithJsonFacts(drlCode, externalFactsJson, maxActivations);
+            // Bring the live KieBase up to date with the stored definitions
+            KieContainer kieContainer = definitionService.getKieContainer(STORED_DEFINITIONS_PACKAGE);
+            
+            return DRLPopulatorRunner.runDRLWithJsonFacts(kieContainer, STORED_DEFINITIONS_PACKAGE, externalFactsJson, maxActivations);
         } catch (Exception e) {
             throw new DRLExecutionException("Failed to execute facts against stored definitions: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Executes external JSON facts against all stored DRL definitions compiled in the given mode.
+     * In DRL mode the live, incrementally updated KieBase is used. In executable model mode the
+     * combined DRL of the definitions is compiled as a whole and cached by content, so it is only
+     * rebuilt after definitions change.
+     * 
+     * @param externalFactsJson JSON string containing external facts
+     * @param maxActivations Maximum number of rule activations (0 for unlimited)
+     * @param definitionService Service to access stored definitions
+     * @param mode How the stored definitions are compiled
+     * @return DRLRunnerResult containing facts in working memory and fired rules count after execution
+     * @throws DRLExecutionException if execution fails
+     */
+    public DRLRunnerResult executeDRLWithJsonFactsAgainstStoredDefinitions(String externalFactsJson, int maxActivations,
+                                                                        DefinitionManagementService definitionService,
+                                                                        CompilationMode mode) {
+        if (mode == null) {
+            throw new DRLExecutionException("Compilation mode cannot be null");
+        }
+        
+        if (mode == CompilationMode.DRL) {
+            return executeDRLWithJsonFactsAgainstStoredDefinitions(externalFactsJson, maxActivations, definitionService);
+        }
+        
+        if (maxActivations < 0) {
+            throw new DRLExecutionException("Maximum activations cannot be negative");
+        }
+        
+        try {
+            if (definitionService.getDefinitionCount() == 0) {
+                throw new DRLExecutionException("No DRL definitions found in storage. Please add some definitions first using addDefinition.");
+            }
+            
+            String drlCode = definitionService.generateDRLFromDefinitions(STORED_DEFINITIONS_PACKAGE);
+            return DRLPopulatorRunner.runDRLWithJsonFacts(drlCode, externalFactsJson, maxActivations, ResultOptions.ALL, mode);
+        } catch (Exception e) {
+            throw new DRLExecutionException("Failed to execute facts against stored definitions: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Splits a JSON array of fact arrays into one JSON string per batch.
+     */
+    private List<String> splitFactBatches(String factBatchesJson) {
+        if (factBatchesJson == null || factBatchesJson.trim().isEmpty()) {
+            throw new DRLExecutionException("Fact batches cannot be null or empty");
+        }
+        
+        try {
+            JsonNode root = objectMapper.readTree(factBatchesJson);
+            if (!root.isArray()) {
+                throw new DRLExecutionException("Fact batches must be a JSON array of fact arrays");
+            }
+            
+            List<String> batches = new ArrayList<>(root.size());
+            for (JsonNode batch : root) {
+                if (!batch.isArray()) {
+                    throw new DRLExecutionException("Each fact batch must be a JSON array of facts");
+                }
+                batches.add(batch.toString());
+            }
+            return batches;
+        } catch (DRLExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DRLExecutionException("Failed to parse fact batches: " + e.getMessage(), e);
+        }
+    }
 }
\ No newline at end of file
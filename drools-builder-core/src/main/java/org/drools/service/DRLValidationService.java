@@ -19,13 +19,13 @@ public class DRLValidationService {
     public DRLValidationService() {
         logger.debug("Initializing DRLValidationService with default DRLVerifier and DrlFaultFinder");
         this.verifier = new DRLVerifier();
-        this.faultFinder = new DrlFaultFinder();
+        this.faultFinder = new DrlFaultFinder(DrlFaultFinder.SearchStrategy.PARSER_FIRST);
     }
     
     public DRLValidationService(DRLVerifier verifier) {
         logger.debug("Initializing DRLValidationService with custom DRLVerifier and default DrlFaultFinder");
         this.verifier = verifier;
-        this.faultFinder = new DrlFaultFinder();
+        this.faultFinder = new DrlFaultFinder(DrlFaultFinder.SearchStrategy.PARSER_FIRST);
     }
     
     public DRLValidationService(DRLVerifier verifier, DrlFaultFinder faultFinder) {
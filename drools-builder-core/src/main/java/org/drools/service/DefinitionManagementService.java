@@ -1,8 +1,15 @@
 package org.drools.service;
 
 import org.drools.exception.DefinitionNotFoundException;
+import org.drools.execution.IncrementalKieBase;
 import org.drools.storage.DefinitionStorage;
+import org.kie.api.runtime.KieContainer;
+
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service responsible for managing DRL definitions.
@@ -10,6 +17,7 @@ import java.util.List;
 public class DefinitionManagementService {
     
     private final DefinitionStorage definitionStorage;
+    private final Map<String, IncrementalKieBase> knowledgeBases = new ConcurrentHashMap<>();
     
     public DefinitionManagementService() {
         this.definitionStorage = new DefinitionStorage();
@@ -91,6 +99,38 @@ public class DefinitionManagementService {
         return definitionStorage.generateDRLString(packageName);
     }
     
+    /**
+     * Gets a live KieContainer compiled from all stored definitions. The container is
+     * kept per package and updated incrementally when definitions have changed since
+     * the last call, so unchanged definitions are never recompiled.
+     * 
+     * @param packageName The package name to compile the definitions into
+     * @return KieContainer reflecting the current definitions
+     * @throws RuntimeException if the definitions do not compile
+     */
+    public KieContainer getKieContainer(String packageName) {
+        return knowledgeBases.computeIfAbsent(packageName, IncrementalKieBase::new)
+                .sync(definitionStorage.getVersion(), () -> sourcesOf(definitionStorage.getAllDefinitions()));
+    }
+    
+    /**
+     * Splits definitions into the imports shared by every resource and the DRL of the others, by name
+     */
+    private static IncrementalKieBase.Sources sourcesOf(List<DefinitionStorage.DroolsDefinition> definitions) {
+        List<String> imports = definitions.stream()
+                .filter(definition -> "import".equals(definition.getType()))
+                .sorted(Comparator.comparing(DefinitionStorage.DroolsDefinition::getName))
+                .map(DefinitionStorage.DroolsDefinition::getContent)
+                .toList();
+        Map<String, String> sources = new HashMap<>();
+        for (DefinitionStorage.DroolsDefinition definition : definitions) {
+            if (!"import".equals(definition.getType())) {
+                sources.put(definition.getType() + "_" + definition.getName(), definition.getContent());
+            }
+        }
+        return new IncrementalKieBase.Sources(imports, sources);
+    }
+    
     /**
      * Gets the count of stored definitions.
      * 
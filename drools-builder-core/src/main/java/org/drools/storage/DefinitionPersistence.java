@@ -0,0 +1,55 @@
+package org.drools.storage;
+
+import java.util.Map;
+
+/**
+ * Durable backend for {@link DefinitionStorage}.
+ * The storage recovers its definitions from the backend once when it is created
+ * and then reports every mutation, in order, while holding its write lock, so
+ * backends must not block on anything slower than recording the change itself.
+ * All methods default to doing nothing, which keeps definitions in memory only.
+ */
+public interface DefinitionPersistence extends AutoCloseable {
+
+    /**
+     * Backend that persists nothing
+     */
+    DefinitionPersistence NONE = new DefinitionPersistence() {
+    };
+
+    /**
+     * Recovers the definitions persisted so far and prepares the backend for writing
+     * @return Persisted definitions by storage key
+     */
+    default Map<String, DefinitionStorage.DroolsDefinition> recover() {
+        return Map.of();
+    }
+
+    /**
+     * Persists an added, replaced or modified definition
+     * @param key Storage key of the definition
+     * @param definition The definition
+     */
+    default void put(String key, DefinitionStorage.DroolsDefinition definition) {
+    }
+
+    /**
+     * Persists the removal of a definition
+     * @param key Storage key of the removed definition
+     */
+    default void remove(String key) {
+    }
+
+    /**
+     * Persists the removal of all definitions
+     */
+    default void clear() {
+    }
+
+    /**
+     * Flushes outstanding changes and releases resources
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -5,16 +5,31 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Storage for Drools rule engine definitions.
  * Manages declared types, functions, and other DRL definitions.
+ * Every mutation bumps a version counter; generated DRL and summaries are
+ * memoized against that version, so repeated reads between edits are cheap.
+ * Definitions are kept in memory unless a {@link DefinitionPersistence} is given,
+ * in which case they are recovered from it on creation and every mutation is
+ * reported to it in order.
  */
-public class DefinitionStorage {
+public class DefinitionStorage implements AutoCloseable {
     
     // Thread-safe storage for definitions
     private final Map<String, DroolsDefinition> definitions = new ConcurrentHashMap<>();
     
+    // Serializes mutations so the persisted change order matches the in-memory one
+    private final Object writeLock = new Object();
+    private final DefinitionPersistence persistence;
+    
+    // Bumped after every mutation, so a value computed at version v is stale once v changes
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, Memo> generatedDRL = new ConcurrentHashMap<>();
+    private volatile Memo summaryMemo;
+    
     /**
      * Represents a Drools definition (declared type, function, etc.)
      */
@@ -23,29 +38,49 @@ public class DefinitionStorage {
         private String type;  // "declare", "function", "global", "import", etc.
         private String content;
         private long lastModified;
+        private DefinitionStorage owner;  // storage holding this definition, notified of changes
+        private String key;               // key of this definition in the owning storage
         
         public DroolsDefinition(String name, String type, String content) {
+            this(name, type, content, System.currentTimeMillis());
+        }
+        
+        DroolsDefinition(String name, String type, String content, long lastModified) {
             this.name = name;
             this.type = type;
             this.content = content;
-            this.lastModified = System.currentTimeMillis();
+            this.lastModified = lastModified;
         }
         
         // Getters and setters
         public String getName() { return name; }
-        public void setName(String name) { this.name = name; }
+        public void setName(String name) { 
+            this.name = name;
+            notifyOwner();
+        }
         
         public String getType() { return type; }
-        public void setType(String type) { this.type = type; }
+        public void setType(String type) { 
+            this.type = type;
+            notifyOwner();
+        }
         
         public String getContent() { return content; }
         public void setContent(String content) { 
             this.content = content;
             this.lastModified = System.currentTimeMillis();
+            notifyOwner();
         }
         
         public long getLastModified() { return lastModified; }
         
+        private void notifyOwner() {
+            DefinitionStorage storage = owner;
+            if (storage != null) {
+                storage.definitionChanged(this);
+            }
+        }
+        
         @Override
         public String toString() {
             return String.format("DroolsDefinition{name='%s', type='%s', lastModified=%d}", 
@@ -53,6 +88,22 @@ public class DefinitionStorage {
         }
     }
     
+    public DefinitionStorage() {
+        this(DefinitionPersistence.NONE);
+    }
+    
+    /**
+     * Creates a storage backed by the given persistence, recovering the definitions persisted so far
+     * @param persistence Durable backend for the definitions
+     */
+    public DefinitionStorage(DefinitionPersistence persistence) {
+        if (persistence == null) {
+            throw new IllegalArgumentException("Definition persistence cannot be null");
+        }
+        this.persistence = persistence;
+        persistence.recover().forEach((key, definition) -> definitions.put(key, attach(key, definition)));
+    }
+    
     /**
      * Add a single definition. If a definition with the same name exists, it will be replaced.
      * @param name The name/identifier of the definition
@@ -71,8 +122,14 @@ public class DefinitionStorage {
             throw new IllegalArgumentException("Definition content cannot be null or empty");
         }
         
-        DroolsDefinition definition = new DroolsDefinition(name.trim(), type.trim(), content.trim());
-        return definitions.put(name.trim(), definition);
+        String key = name.trim();
+        DroolsDefinition definition = new DroolsDefinition(key, type.trim(), content.trim());
+        synchronized (writeLock) {
+            persistence.put(key, definition);
+            DroolsDefinition previous = definitions.put(key, attach(key, definition));
+            version.incrementAndGet();
+            return detach(previous);
+        }
     }
     
     /**
@@ -155,14 +212,38 @@ public class DefinitionStorage {
         if (name == null || name.trim().isEmpty()) {
             return null;
         }
-        return definitions.remove(name.trim());
+        String key = name.trim();
+        synchronized (writeLock) {
+            if (!definitions.containsKey(key)) {
+                return null;
+            }
+            persistence.remove(key);
+            DroolsDefinition removed = definitions.remove(key);
+            version.incrementAndGet();
+            return detach(removed);
+        }
     }
     
     /**
      * Remove all definitions
      */
     public void clearAllDefinitions() {
-        definitions.clear();
+        synchronized (writeLock) {
+            persistence.clear();
+            definitions.values().forEach(this::detach);
+            definitions.clear();
+            version.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Flushes outstanding changes to the persistence and releases it
+     */
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            persistence.close();
+        }
     }
     
     /**
@@ -185,12 +266,34 @@ public class DefinitionStorage {
         return definitions.size();
     }
     
+    /**
+     * Get the current version of the stored definitions. The version increases with
+     * every mutation, including changes made through stored DroolsDefinition setters.
+     * @return Monotonically increasing version number
+     */
+    public long getVersion() {
+        return version.get();
+    }
+    
     /**
      * Generate a complete DRL string with all definitions
      * @param packageName The package name to use (optional)
      * @return Complete DRL string with all definitions
      */
     public String generateDRLString(String packageName) {
+        String key = packageName != null ? packageName.trim() : "";
+        long currentVersion = version.get();
+        Memo memo = generatedDRL.get(key);
+        if (memo != null && memo.version() == currentVersion) {
+            return memo.value();
+        }
+        
+        String drl = buildDRLString(packageName);
+        generatedDRL.put(key, new Memo(currentVersion, drl));
+        return drl;
+    }
+    
+    private String buildDRLString(String packageName) {
         StringBuilder drlBuilder = new StringBuilder();
         
         // Add package declaration if provided
@@ -256,6 +359,18 @@ public class DefinitionStorage {
      * @return String summary of all definitions
      */
     public String getSummary() {
+        long currentVersion = version.get();
+        Memo memo = summaryMemo;
+        if (memo != null && memo.version() == currentVersion) {
+            return memo.value();
+        }
+        
+        String result = buildSummary();
+        summaryMemo = new Memo(currentVersion, result);
+        return result;
+    }
+    
+    private String buildSummary() {
         if (definitions.isEmpty()) {
             return "No definitions stored.";
         }
@@ -281,4 +396,36 @@ public class DefinitionStorage {
         
         return summary.toString();
     }
+    
+    /**
+     * Persists a change made through the setters of a stored definition
+     */
+    private void definitionChanged(DroolsDefinition definition) {
+        synchronized (writeLock) {
+            if (definitions.get(definition.key) != definition) {
+                return;
+            }
+            persistence.put(definition.key, definition);
+            version.incrementAndGet();
+        }
+    }
+    
+    private DroolsDefinition attach(String key, DroolsDefinition definition) {
+        definition.owner = this;
+        definition.key = key;
+        return definition;
+    }
+    
+    private DroolsDefinition detach(DroolsDefinition definition) {
+        if (definition != null) {
+            definition.owner = null;
+        }
+        return definition;
+    }
+    
+    /**
+     * Value computed from the definitions at a given version
+     */
+    private record Memo(long version, String value) {
+    }
 }
\ No newline at end of file
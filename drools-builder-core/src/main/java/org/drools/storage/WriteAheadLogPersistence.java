@@ -0,0 +1,500 @@
+package org.drools.storage;
+
+import org.drools.storage.DefinitionStorage.DroolsDefinition;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Definition persistence on local disk using an append-only write-ahead log
+ * and periodically compacted snapshots.
+ * <p>
+ * Every change is appended to {@code definitions.wal} as a record framed by its
+ * length and CRC32. Once the log grows past the compaction threshold, the
+ * background writer thread writes all current definitions to a new snapshot that
+ * atomically replaces {@code definitions.snapshot}, and truncates the log. The
+ * definitions are tracked from the logged changes themselves, so compaction never
+ * runs on, or waits for, the thread making a change. Recovery loads the snapshot
+ * and replays the log up to the first torn or corrupt record.
+ * <p>
+ * With {@link FsyncPolicy#PER_WRITE} every change is written and forced to disk
+ * before the mutation returns. The other policies only encode the record in
+ * memory and leave writing and fsync to the background thread, either as soon as
+ * records are available ({@link FsyncPolicy#BATCHED}, group commit) or at a
+ * fixed interval ({@link FsyncPolicy#INTERVAL}).
+ */
+public class WriteAheadLogPersistence implements DefinitionPersistence {
+
+    public static final String WAL_FILE = "definitions.wal";
+    public static final String SNAPSHOT_FILE = "definitions.snapshot";
+
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 4L * 1024 * 1024;
+    private static final int MAX_RECORD_LENGTH = 64 * 1024 * 1024;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final byte OP_CLEAR = 3;
+
+    /**
+     * When appended records are forced to disk
+     */
+    public enum FsyncPolicy {
+        /** Write and fsync every record before the mutation returns */
+        PER_WRITE,
+        /** Write and fsync in the background as soon as records are pending, grouping concurrent records */
+        BATCHED,
+        /** Write and fsync pending records in the background at a fixed interval */
+        INTERVAL;
+
+        /**
+         * Parses a fsync policy, ignoring case and accepting dashes for underscores
+         * @param name Name of the policy, e.g. "batched" or "per-write"
+         * @return The named policy, or BATCHED if the name is null or blank
+         * @throws IllegalArgumentException if the name is not a known policy
+         */
+        public static FsyncPolicy of(String name) {
+            if (name == null || name.isBlank()) {
+                return BATCHED;
+            }
+            String normalized = name.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+            for (FsyncPolicy policy : values()) {
+                if (policy.name().equals(normalized)) {
+                    return policy;
+                }
+            }
+            throw new IllegalArgumentException("Unknown fsync policy '" + name + "', expected one of "
+                    + Arrays.toString(values()));
+        }
+    }
+
+    private final Path walPath;
+    private final Path snapshotPath;
+    private final FsyncPolicy fsyncPolicy;
+    private final Duration fsyncInterval;
+    private final long compactionThreshold;
+
+    // Guards pending records and state; never held during disk I/O by the writer
+    private final Object lock = new Object();
+    // Guards the log channel
+    private final Object ioLock = new Object();
+
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    // Definitions after every logged change, written out by a compaction
+    private final Map<String, DroolsDefinition> logged = new HashMap<>();
+    private FileChannel wal;
+    private long walSize;
+    private Thread writer;
+    private boolean closed;
+    private IOException writeFailure;
+
+    public WriteAheadLogPersistence(Path directory) {
+        this(directory, FsyncPolicy.BATCHED, Duration.ofMillis(50), DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public WriteAheadLogPersistence(Path directory, FsyncPolicy fsyncPolicy) {
+        this(directory, fsyncPolicy, Duration.ofMillis(50), DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * @param directory Directory holding the log and snapshot, created if missing
+     * @param fsyncPolicy When appended records are forced to disk
+     * @param fsyncInterval Interval between background flushes for {@link FsyncPolicy#INTERVAL}
+     * @param compactionThreshold Log size in bytes after which a compaction is due
+     */
+    public WriteAheadLogPersistence(Path directory, FsyncPolicy fsyncPolicy, Duration fsyncInterval, long compactionThreshold) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Persistence directory cannot be null");
+        }
+        if (fsyncPolicy == null) {
+            throw new IllegalArgumentException("Fsync policy cannot be null");
+        }
+        if (fsyncInterval == null || fsyncInterval.isNegative() || fsyncInterval.isZero()) {
+            throw new IllegalArgumentException("Fsync interval must be positive");
+        }
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Compaction threshold must be positive");
+        }
+        this.walPath = directory.resolve(WAL_FILE);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncInterval = fsyncInterval;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @Override
+    public Map<String, DroolsDefinition> recover() {
+        synchronized (ioLock) {
+            if (wal != null) {
+                throw new IllegalStateException("Definitions have already been recovered");
+            }
+            try {
+                Files.createDirectories(walPath.getParent());
+                Map<String, DroolsDefinition> definitions = new HashMap<>();
+                if (Files.exists(snapshotPath)) {
+                    replay(snapshotPath, definitions);
+                }
+                long validLength = Files.exists(walPath) ? replay(walPath, definitions) : 0;
+
+                // Drop a torn tail so new records follow the last complete one
+                boolean created = !Files.exists(walPath);
+                wal = FileChannel.open(walPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                wal.truncate(validLength);
+                wal.position(validLength);
+                if (created) {
+                    forceDirectory(walPath.getParent());
+                }
+                synchronized (lock) {
+                    walSize = validLength;
+                    logged.putAll(definitions);
+                }
+
+                // Writes pending records and compacts the log; with PER_WRITE it only compacts
+                writer = new Thread(this::writeLoop, "definitions-wal-writer");
+                writer.setDaemon(true);
+                writer.start();
+                return definitions;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to recover definitions: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void put(String key, DroolsDefinition definition) {
+        // A copy, the stored definition may change before the log is compacted
+        DroolsDefinition copy = new DroolsDefinition(definition.getName(), definition.getType(),
+                definition.getContent(), definition.getLastModified());
+        append(encode(OP_PUT, key, copy), logged -> logged.put(key, copy));
+    }
+
+    @Override
+    public void remove(String key) {
+        append(encode(OP_REMOVE, key, null), logged -> logged.remove(key));
+    }
+
+    @Override
+    public void clear() {
+        append(encode(OP_CLEAR, "", null), Map::clear);
+    }
+
+    /**
+     * Writes the logged definitions to a new snapshot and truncates the log.
+     * Runs on the writer thread once the log has grown past the compaction threshold.
+     */
+    private void compact() throws IOException {
+        synchronized (ioLock) {
+            Map<String, DroolsDefinition> definitions;
+            synchronized (lock) {
+                // Records still pending are covered by the snapshot as well; they are
+                // written to the truncated log anyway, replaying them again is harmless
+                definitions = new HashMap<>(logged);
+            }
+            Path tempPath = snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+            try (FileChannel snapshot = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteArrayOutputStream records = new ByteArrayOutputStream();
+                for (Map.Entry<String, DroolsDefinition> entry : definitions.entrySet()) {
+                    records.write(encode(OP_PUT, entry.getKey(), entry.getValue()));
+                }
+                writeFully(snapshot, records.toByteArray());
+                snapshot.force(true);
+                Files.move(tempPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                // Make the rename itself durable before the log it replaces is truncated
+                forceDirectory(snapshotPath.getParent());
+
+                wal.truncate(0);
+                wal.position(0);
+                wal.force(true);
+                synchronized (lock) {
+                    walSize = pending.size();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        Thread writerThread;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            writerThread = writer;
+            lock.notifyAll();
+        }
+        try {
+            if (writerThread != null) {
+                writerThread.join();
+            }
+            synchronized (ioLock) {
+                if (wal != null) {
+                    writePending();
+                    wal.close();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close definition log: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the current size of the log, including records not yet written
+     * @return Log size in bytes
+     */
+    public long getLogSize() {
+        synchronized (lock) {
+            return walSize;
+        }
+    }
+
+    private void append(byte[] record, Consumer<Map<String, DroolsDefinition>> change) {
+        if (fsyncPolicy == FsyncPolicy.PER_WRITE) {
+            synchronized (ioLock) {
+                ensureOpen();
+                try {
+                    writeFully(wal, record);
+                    wal.force(false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to persist definition change: " + e.getMessage(), e);
+                }
+                synchronized (lock) {
+                    walSize += record.length;
+                    change.accept(logged);
+                    if (compactionDue()) {
+                        lock.notifyAll();
+                    }
+                }
+            }
+            return;
+        }
+
+        synchronized (lock) {
+            ensureOpen();
+            if (writeFailure != null) {
+                throw new UncheckedIOException("Failed to persist definition change: " + writeFailure.getMessage(), writeFailure);
+            }
+            pending.writeBytes(record);
+            walSize += record.length;
+            change.accept(logged);
+            if (fsyncPolicy == FsyncPolicy.BATCHED || compactionDue()) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Called with the state lock held
+     */
+    private boolean compactionDue() {
+        return walSize >= compactionThreshold;
+    }
+
+    private void writeLoop() {
+        long intervalMillis = fsyncInterval.toMillis();
+        while (true) {
+            boolean stop;
+            synchronized (lock) {
+                try {
+                    if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+                        if (!closed) {
+                            lock.wait(Math.max(1, intervalMillis));
+                        }
+                    } else if (fsyncPolicy == FsyncPolicy.BATCHED) {
+                        while (pending.size() == 0 && !compactionDue() && !closed) {
+                            lock.wait();
+                        }
+                    } else {
+                        while (!compactionDue() && !closed) {
+                            lock.wait();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                stop = closed;
+            }
+            try {
+                synchronized (ioLock) {
+                    writePending();
+                }
+                boolean due;
+                synchronized (lock) {
+                    due = compactionDue();
+                }
+                if (due) {
+                    compact();
+                }
+            } catch (IOException e) {
+                synchronized (lock) {
+                    writeFailure = e;
+                }
+                return;
+            }
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes and forces the pending records. Called with the I/O lock held.
+     */
+    private void writePending() throws IOException {
+        byte[] batch;
+        synchronized (lock) {
+            if (pending.size() == 0) {
+                return;
+            }
+            batch = pending.toByteArray();
+            pending.reset();
+        }
+        writeFully(wal, batch);
+        wal.force(false);
+    }
+
+    private void ensureOpen() {
+        if (wal == null) {
+            throw new IllegalStateException("Definitions must be recovered before changes are persisted");
+        }
+        if (closed) {
+            throw new IllegalStateException("Definition log is closed");
+        }
+    }
+
+    /**
+     * Forces a directory, so that files created or renamed in it survive a crash.
+     * Not every platform can open a directory; there the rename is as durable as the OS makes it.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for sync on Windows
+        }
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Encodes a framed record: payload length, payload CRC32, payload
+     */
+    private static byte[] encode(byte op, String key, DroolsDefinition definition) {
+        try {
+            ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+            DataOutputStream payload = new DataOutputStream(payloadBytes);
+            payload.writeByte(op);
+            writeString(payload, key);
+            if (op == OP_PUT) {
+                writeString(payload, definition.getName());
+                writeString(payload, definition.getType());
+                writeString(payload, definition.getContent());
+                payload.writeLong(definition.getLastModified());
+            }
+            byte[] body = payloadBytes.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(body.length + 8);
+            DataOutputStream record = new DataOutputStream(recordBytes);
+            record.writeInt(body.length);
+            record.writeInt((int) crc.getValue());
+            record.write(body);
+            return recordBytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Applies the records of a file to the definitions, stopping at the first torn or corrupt record
+     * @return Length of the valid prefix of the file
+     */
+    private static long replay(Path file, Map<String, DroolsDefinition> definitions) throws IOException {
+        long validLength = 0;
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            while (true) {
+                byte[] body;
+                int checksum;
+                try {
+                    int length = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_LENGTH) {
+                        return validLength;
+                    }
+                    checksum = in.readInt();
+                    body = new byte[length];
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    return validLength;
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != checksum) {
+                    return validLength;
+                }
+                apply(body, definitions);
+                validLength += body.length + 8;
+            }
+        }
+    }
+
+    private static void apply(byte[] body, Map<String, DroolsDefinition> definitions) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        byte op = in.readByte();
+        String key = readString(in);
+        switch (op) {
+            case OP_PUT -> {
+                String name = readString(in);
+                String type = readString(in);
+                String content = readString(in);
+                long lastModified = in.readLong();
+                definitions.put(key, new DroolsDefinition(name, type, content, lastModified));
+            }
+            case OP_REMOVE -> definitions.remove(key);
+            case OP_CLEAR -> definitions.clear();
+            default -> throw new IOException("Unknown definition log operation: " + op);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
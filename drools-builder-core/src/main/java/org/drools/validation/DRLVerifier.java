@@ -4,10 +4,12 @@ import org.drools.io.ClassPathResource;
 import org.drools.io.InputStreamResource;
 import org.drools.verifier.EmptyVerifierConfiguration;
 import org.drools.verifier.Verifier;
-import org.drools.verifier.builder.VerifierBuilder;
-import org.drools.verifier.builder.VerifierBuilderFactory;
+import org.drools.verifier.VerifierConfiguration;
+import org.drools.verifier.builder.VerifierImpl;
+import org.drools.verifier.builder.VerifierKnowledgeBaseBuilder;
 import org.drools.verifier.report.components.Severity;
 import org.drools.verifier.report.components.VerifierMessageBase;
+import org.kie.api.KieBase;
 import org.kie.api.io.ResourceType;
 
 import java.io.ByteArrayInputStream;
@@ -15,24 +17,71 @@ import java.util.Collection;
 
 public class DRLVerifier {
 
-    public String verify(String code) {
+    private static final Object analysisRulesLock = new Object();
+    private static volatile AnalysisRules analysisRules;
+
+    /**
+     * Verifier configuration and its compiled analysis rules, built once on first use.
+     * The analysis KieBase is immutable, so concurrent verifications share it and
+     * only differ in the session analyzing their own DRL.
+     */
+    private record AnalysisRules(VerifierConfiguration configuration, KieBase knowledgeBase) {
+
+        static AnalysisRules build() {
+            final EmptyVerifierConfiguration verifierConfiguration = new EmptyVerifierConfiguration();
+            verifierConfiguration.getVerifyingResources().put(
+                    new ClassPathResource( "MyValidation.drl",
+                            DRLVerifier.class ),
+                    ResourceType.DRL
+
+            );
+            return new AnalysisRules(verifierConfiguration,
+                    new VerifierKnowledgeBaseBuilder().newVerifierKnowledgeBase(verifierConfiguration));
+        }
+    }
+
+    /**
+     * Gets the shared analysis rules, building them if no earlier call has succeeded.
+     * A failed build is not remembered, so the next verification tries again.
+     * @return The analysis rules
+     * @throws RuntimeException carrying the original cause if the analysis rules cannot be built
+     */
+    private static AnalysisRules analysisRules() {
+        AnalysisRules rules = analysisRules;
+        if (rules == null) {
+            synchronized (analysisRulesLock) {
+                rules = analysisRules;
+                if (rules == null) {
+                    try {
+                        rules = AnalysisRules.build();
+                    } catch (RuntimeException | LinkageError e) {
+                        throw new RuntimeException("Failed to build verifier analysis rules: " + e.getMessage(), e);
+                    }
+                    analysisRules = rules;
+                }
+            }
+        }
+        return rules;
+    }
 
-        final VerifierBuilder vBuilder = VerifierBuilderFactory.newVerifierBuilder();
+    public String verify(String code) {
 
-        final EmptyVerifierConfiguration verifierConfiguration = new EmptyVerifierConfiguration();
-        verifierConfiguration.getVerifyingResources().put(
-                new ClassPathResource( "MyValidation.drl",
-                        DRLVerifier.class ),
-                ResourceType.DRL
+        final AnalysisRules rules = analysisRules();
+        final Verifier verifier = new VerifierImpl(rules.configuration(), rules.knowledgeBase());
+        try {
+            verifier.addResourcesToVerify(
+                    new InputStreamResource(new ByteArrayInputStream(code.getBytes())),
+                    ResourceType.DRL);
 
-        );
+            verifier.fireAnalysis();
 
-        final Verifier verifier = vBuilder.newVerifier(verifierConfiguration);
-        verifier.addResourcesToVerify(
-                new InputStreamResource(new ByteArrayInputStream(code.getBytes())),
-                ResourceType.DRL);
+            return report(verifier);
+        } finally {
+            verifier.dispose();
+        }
+    }
 
-        verifier.fireAnalysis();
+    private String report(Verifier verifier) {
 
         final StringBuilder result = new StringBuilder();
         boolean hasIssues = false;
@@ -6,23 +6,61 @@ import org.kie.internal.utils.KieHelper;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class DrlFaultFinder {
     
+    /**
+     * Default upper bound on the number of compiles spent locating a single fault
+     */
+    public static final int DEFAULT_MAX_COMPILES = 64;
+    
+    /**
+     * How a fault is located once the DRL is known not to compile
+     */
+    public enum SearchStrategy {
+        /**
+         * Use the line reported by the compiler for the first error and bisect
+         * only when the compiler does not point at a usable line
+         */
+        PARSER_FIRST,
+        /**
+         * Bisect over growing prefixes of the DRL until the first line that breaks it is found
+         */
+        BISECTION,
+        /**
+         * Like {@link #BISECTION}, but split the suspect range into several parts per step
+         * and compile the candidate prefixes concurrently
+         */
+        PARALLEL_BISECTION
+    }
+    
     public static class FaultLocation {
         private final String faultyContent;
         private final int lineNumber;
         private final String errorMessage;
+        private final int compileCount;
         
         public FaultLocation(String faultyContent, int lineNumber, String errorMessage) {
+            this(faultyContent, lineNumber, errorMessage, 0);
+        }
+        
+        public FaultLocation(String faultyContent, int lineNumber, String errorMessage, int compileCount) {
             this.faultyContent = faultyContent;
             this.lineNumber = lineNumber;
             this.errorMessage = errorMessage;
+            this.compileCount = compileCount;
         }
         
         public String getFaultyContent() { return faultyContent; }
         public int getLineNumber() { return lineNumber; }
         public String getErrorMessage() { return errorMessage; }
+        public int getCompileCount() { return compileCount; }
         
         @Override
         public String toString() {
@@ -30,49 +68,278 @@ public class DrlFaultFinder {
         }
     }
     
+    /**
+     * Daemon pool shared by all finders doing parallel bisection, created on first use
+     */
+    private static final class ProbePool {
+        
+        static final int PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors());
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+            Thread thread = new Thread(runnable, "drl-fault-finder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    private final SearchStrategy strategy;
+    private final int maxCompiles;
+    private final ExecutorService probeExecutor;
+    private final int parallelism;
+    
+    public DrlFaultFinder() {
+        this(SearchStrategy.BISECTION);
+    }
+    
+    public DrlFaultFinder(SearchStrategy strategy) {
+        this(strategy, DEFAULT_MAX_COMPILES);
+    }
+    
+    /**
+     * @param strategy How to locate faults
+     * @param maxCompiles Maximum number of compiles per search, including the initial one
+     */
+    public DrlFaultFinder(SearchStrategy strategy, int maxCompiles) {
+        this(strategy, maxCompiles, null, 0);
+    }
+    
+    /**
+     * @param strategy How to locate faults
+     * @param maxCompiles Maximum number of compiles per search, including the initial one
+     * @param probeExecutor Executor compiling prefixes for {@link SearchStrategy#PARALLEL_BISECTION},
+     *                      or null to use a shared pool sized to the available processors
+     * @param parallelism Number of prefixes compiled concurrently per step, or 0 to match the shared pool
+     */
+    public DrlFaultFinder(SearchStrategy strategy, int maxCompiles, ExecutorService probeExecutor, int parallelism) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Search strategy cannot be null");
+        }
+        if (maxCompiles < 1) {
+            throw new IllegalArgumentException("Compile budget must be at least 1 but was " + maxCompiles);
+        }
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("Parallelism cannot be negative");
+        }
+        this.strategy = strategy;
+        this.maxCompiles = maxCompiles;
+        this.probeExecutor = probeExecutor;
+        this.parallelism = parallelism;
+    }
+    
+    public SearchStrategy getStrategy() {
+        return strategy;
+    }
+    
+    public int getMaxCompiles() {
+        return maxCompiles;
+    }
+    
     public FaultLocation findFaultyLine(String drlContent) {
         if (drlContent == null || drlContent.trim().isEmpty()) {
             throw new IllegalArgumentException("DRL content cannot be null or empty");
         }
         
-        if (isValidDrl(drlContent)) {
+        Search search = new Search(drlContent.split("\n"));
+        Probe full = search.probe(drlContent);
+        if (full.isValid()) {
             return null;
         }
         
-        String[] lines = drlContent.split("\n");
-        return findFaultyLineByBinarySearch(lines);
+        if (strategy == SearchStrategy.PARSER_FIRST) {
+            FaultLocation reported = search.locateReported(full);
+            if (reported != null) {
+                return reported;
+            }
+        }
+        return search.bisect(full, strategy == SearchStrategy.PARALLEL_BISECTION);
     }
     
-    private FaultLocation findFaultyLineByBinarySearch(String[] lines) {
-        if (lines.length == 1) {
-            String content = lines[0].trim();
-            String errorMsg = getCompilationError(content);
-            return new FaultLocation(content, 1, errorMsg);
+    /**
+     * State of a single fault search: the DRL lines and the compiles spent so far
+     */
+    private class Search {
+        private final String[] lines;
+        private int compiles;
+        
+        // Invariant while bisecting: the prefix up to 'end' does not compile and 'failing' holds its errors
+        private int start;
+        private int end;
+        private Probe failing;
+        private boolean failingIsPrefix;
+        
+        Search(String[] lines) {
+            this.lines = lines;
+        }
+        
+        /**
+         * Uses the line number the compiler attached to the first error, if it points at a non-blank line
+         */
+        FaultLocation locateReported(Probe probe) {
+            int line = probe.firstErrorLine();
+            if (line < 1 || line > lines.length || lines[line - 1].trim().isEmpty()) {
+                return null;
+            }
+            return new FaultLocation(lines[line - 1].trim(), line, probe.firstErrorText(), compiles);
+        }
+        
+        FaultLocation bisect(Probe full, boolean parallel) {
+            if (lines.length == 1) {
+                return new FaultLocation(lines[0].trim(), 1, full.firstErrorText(), compiles);
+            }
+            
+            start = 0;
+            end = lines.length - 1;
+            failing = full;
+            failingIsPrefix = false;
+            
+            while (start < end) {
+                if (!hasBudget()) {
+                    return new FaultLocation(lines[start].trim(), start + 1,
+                            failing.firstErrorText() + " (search stopped after " + compiles
+                                    + " compiles, fault is within lines " + (start + 1) + "-" + (end + 1) + ")",
+                            compiles);
+                }
+                if (parallel) {
+                    narrowInParallel();
+                } else {
+                    narrow();
+                }
+            }
+            
+            if (!failingIsPrefix && hasBudget()) {
+                failing = probe(rebuildDrlFromLines(lines, 0, start));
+            }
+            return new FaultLocation(lines[start].trim(), start + 1, failing.firstErrorText(), compiles);
+        }
+        
+        private void narrow() {
+            int mid = start + (end - start) / 2;
+            Probe prefix = probe(rebuildDrlFromLines(lines, 0, mid));
+            if (prefix.isValid()) {
+                start = mid + 1;
+            } else {
+                failedAt(mid, prefix);
+            }
+        }
+        
+        /**
+         * Splits the suspect range at several points and compiles the prefixes up to each
+         * point concurrently. As soon as a compiling prefix is followed by a failing one the
+         * new range is known and the remaining probes are cancelled; probes already compiling
+         * run to completion in the background, queued ones never start.
+         */
+        private void narrowInParallel() {
+            int span = end - start;
+            int cuts = Math.min(Math.min(effectiveParallelism(), span), maxCompiles - compiles);
+            int[] points = new int[cuts];
+            for (int i = 0; i < cuts; i++) {
+                points[i] = start + (int) ((long) span * (i + 1) / (cuts + 1));
+            }
+            
+            CompletionService<Outcome> completion = new ExecutorCompletionService<>(executor());
+            List<Future<Outcome>> futures = new ArrayList<>(cuts);
+            for (int i = 0; i < cuts; i++) {
+                int index = i;
+                String prefix = rebuildDrlFromLines(lines, 0, points[i]);
+                compiles++;
+                futures.add(completion.submit(() -> new Outcome(index, compile(prefix))));
+            }
+            
+            Probe[] outcomes = new Probe[cuts];
+            try {
+                int lowestFailing = cuts;
+                for (int received = 0; received < cuts; received++) {
+                    Outcome outcome = completion.take().get();
+                    outcomes[outcome.index()] = outcome.probe();
+                    if (!outcome.probe().isValid()) {
+                        lowestFailing = Math.min(lowestFailing, outcome.index());
+                    }
+                    if (outcomes[cuts - 1] != null && outcomes[cuts - 1].isValid()) {
+                        start = points[cuts - 1] + 1;
+                        return;
+                    }
+                    if (lowestFailing < cuts && (lowestFailing == 0
+                            || outcomes[lowestFailing - 1] != null && outcomes[lowestFailing - 1].isValid())) {
+                        if (lowestFailing > 0) {
+                            start = points[lowestFailing - 1] + 1;
+                        }
+                        failedAt(points[lowestFailing], outcomes[lowestFailing]);
+                        return;
+                    }
+                }
+                // Every probe answered without an adjacent pass/fail pair, keep the lowest failure
+                failedAt(points[lowestFailing], outcomes[lowestFailing]);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while locating DRL fault", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Failed to compile DRL prefix: " + e.getCause().getMessage(), e.getCause());
+            } finally {
+                // Not interrupting: the compiler is not interruption safe, a running probe just finishes
+                futures.forEach(future -> future.cancel(false));
+            }
+        }
+        
+        private void failedAt(int line, Probe prefix) {
+            end = line;
+            failing = prefix;
+            failingIsPrefix = true;
+        }
+        
+        boolean hasBudget() {
+            return compiles < maxCompiles;
         }
         
-        return binarySearchForFaultyLine(lines, 0, lines.length - 1);
+        Probe probe(String drlContent) {
+            if (drlContent == null || drlContent.trim().isEmpty()) {
+                return new Probe(List.of(), null);
+            }
+            compiles++;
+            return compile(drlContent);
+        }
+    }
+    
+    private ExecutorService executor() {
+        return probeExecutor != null ? probeExecutor : ProbePool.EXECUTOR;
+    }
+    
+    private int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : ProbePool.PARALLELISM;
+    }
+    
+    private static Probe compile(String drlContent) {
+        if (drlContent.trim().isEmpty()) {
+            return new Probe(List.of(), null);
+        }
+        try {
+            KieHelper kieHelper = new KieHelper();
+            kieHelper.addContent(drlContent, ResourceType.DRL);
+            return new Probe(kieHelper.verify().getMessages(Message.Level.ERROR), null);
+        } catch (Exception e) {
+            return new Probe(List.of(), e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+    
+    private record Outcome(int index, Probe probe) {
     }
     
-    private FaultLocation binarySearchForFaultyLine(String[] lines, int start, int end) {
-        if (start == end) {
-            String content = lines[start].trim();
-            String errorMsg = getCompilationError(rebuildDrlFromLines(lines, 0, start));
-            return new FaultLocation(content, start + 1, errorMsg);
+    /**
+     * Outcome of one compile: the error messages, or the failure if compiling threw
+     */
+    private record Probe(List<Message> errors, String failure) {
+        
+        boolean isValid() {
+            return failure == null && errors.isEmpty();
         }
         
-        int mid = start + (end - start) / 2;
-        String testDrl = rebuildDrlFromLines(lines, 0, mid);
+        int firstErrorLine() {
+            return errors.isEmpty() ? -1 : errors.get(0).getLine();
+        }
         
-        if (isValidDrl(testDrl)) {
-            if (mid + 1 <= end) {
-                return binarySearchForFaultyLine(lines, mid + 1, end);
-            } else {
-                String content = lines[end].trim();
-                String errorMsg = getCompilationError(rebuildDrlFromLines(lines, 0, end));
-                return new FaultLocation(content, end + 1, errorMsg);
+        String firstErrorText() {
+            if (failure != null) {
+                return failure;
             }
-        } else {
-            return binarySearchForFaultyLine(lines, start, mid);
+            return errors.isEmpty() ? "Unknown compilation error" : errors.get(0).getText();
         }
     }
     
@@ -165,34 +432,4 @@ public class DrlFaultFinder {
         }
         return count;
     }
-    
-    private boolean isValidDrl(String drlContent) {
-        if (drlContent == null || drlContent.trim().isEmpty()) {
-            return true;
-        }
-        
-        try {
-            KieHelper kieHelper = new KieHelper();
-            kieHelper.addContent(drlContent, ResourceType.DRL);
-            return !kieHelper.verify().hasMessages(Message.Level.ERROR);
-        } catch (Exception e) {
-            return false;
-        }
-    }
-    
-    private String getCompilationError(String drlContent) {
-        try {
-            KieHelper kieHelper = new KieHelper();
-            kieHelper.addContent(drlContent, ResourceType.DRL);
-            
-            List<Message> errors = kieHelper.verify().getMessages(Message.Level.ERROR);
-            if (!errors.isEmpty()) {
-                return errors.get(0).getText();
-            }
-        } catch (Exception e) {
-            return e.getMessage();
-        }
-        
-        return "Unknown compilation error";
-    }
-}
\ No newline at end of file
+}
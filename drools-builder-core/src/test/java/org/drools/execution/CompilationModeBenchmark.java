@@ -0,0 +1,66 @@
+package org.drools.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the classic DRL compilation with the executable model: time to build the
+ * KieBase, latency of the first execution and steady-state execution throughput.
+ *
+ * Usage: CompilationModeBenchmark [ruleCount] [factCount] [executions]
+ */
+public class CompilationModeBenchmark {
+
+    public static void main(String[] args) {
+        int ruleCount = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int factCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int executions = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+
+        String drl = drl(ruleCount);
+        List<Object> facts = new ArrayList<>(factCount);
+        for (int i = 0; i < factCount; i++) {
+            facts.add(i);
+        }
+
+        System.out.printf("Rules: %d, facts per execution: %d, executions: %d%n", ruleCount, factCount, executions);
+        for (CompilationMode mode : CompilationMode.values()) {
+            // A fresh executor without disk cache, so every mode compiles from source
+            DRLExecutor executor = new DRLExecutor(new KieContainerCache(), KieSessionPool.Settings.defaults(), null);
+
+            long start = System.nanoTime();
+            var kieContainer = executor.buildKieContainer(drl, mode);
+            kieContainer.getKieBase();
+            long buildNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int fired = executor.executeWithContainer(kieContainer, facts, 0).firedRules();
+            long firstNanos = System.nanoTime() - start;
+
+            // Warm up until the MVEL constraints of the DRL mode have been JIT compiled
+            for (int i = 0; i < executions / 4; i++) {
+                executor.executeWithContainer(kieContainer, facts, 0);
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < executions; i++) {
+                executor.executeWithContainer(kieContainer, facts, 0);
+            }
+            long steadyNanos = System.nanoTime() - start;
+
+            System.out.printf("%-16s build=%8.1f ms  first=%7.2f ms  steady=%8.0f exec/s  fired=%d%n", mode,
+                    buildNanos / 1e6, firstNanos / 1e6, executions / (steadyNanos / 1e9), fired);
+            executor.getKieContainerCache().invalidateAll();
+        }
+    }
+
+    private static String drl(int ruleCount) {
+        StringBuilder drl = new StringBuilder("package org.drools.benchmark;\n");
+        for (int i = 0; i < ruleCount; i++) {
+            drl.append("rule \"Rule ").append(i).append("\"\n")
+                    .append("when\n")
+                    .append("    $i : Integer(intValue % ").append(i + 2).append(" == 0, intValue > ").append(i).append(")\n")
+                    .append("then\n")
+                    .append("end\n");
+        }
+        return drl.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package org.drools.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompilationModeTest {
+
+    private static final String DRL = """
+        package org.drools.modes;
+        declare Person
+            name : String
+            age : int
+            adult : boolean
+        end
+        rule "Create people"
+        when
+        then
+            insert(new Person("John", 25, false));
+            insert(new Person("Jane", 16, false));
+        end
+        rule "Mark adults"
+        when
+            $p : Person(age >= 18, adult == false)
+        then
+            modify($p) { setAdult(true) }
+        end
+        """;
+
+    @Test
+    void testOf_ParsesNames() {
+        assertEquals(CompilationMode.DRL, CompilationMode.of(null));
+        assertEquals(CompilationMode.DRL, CompilationMode.of(" "));
+        assertEquals(CompilationMode.DRL, CompilationMode.of("drl"));
+        assertEquals(CompilationMode.EXECUTABLE_MODEL, CompilationMode.of("executable-model"));
+        assertEquals(CompilationMode.EXECUTABLE_MODEL, CompilationMode.of("EXECUTABLE_MODEL"));
+        assertThrows(IllegalArgumentException.class, () -> CompilationMode.of("mvel"));
+    }
+
+    @Test
+    void testExecutableModelMatchesDrl() {
+        // Given
+        DRLExecutor executor = new DRLExecutor();
+
+        // When
+        DRLRunnerResult drl = executor.execute(DRL, CompilationMode.DRL, Collections.emptyList(), 0);
+        DRLRunnerResult executableModel = executor.execute(DRL, CompilationMode.EXECUTABLE_MODEL, Collections.emptyList(), 0);
+
+        // Then
+        assertEquals(drl.firedRules(), executableModel.firedRules());
+        assertEquals(2, executableModel.firedRules());
+        List<Object> people = DRLPopulatorRunner.filterFactsByType(executableModel.objects(), "Person");
+        assertEquals(2, people.size());
+        assertTrue(people.stream().anyMatch(person -> person.toString().contains("John")
+                && person.toString().contains("adult=true")));
+    }
+
+    @Test
+    void testExecutableModelReportsCompilationErrors() {
+        // Given
+        DRLExecutor executor = new DRLExecutor();
+
+        // When
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> executor.buildKieContainer("package org.drools.modes;\nrule \"Broken\"\nwhen\n    Unknown()\nthen\nend\n",
+                        CompilationMode.EXECUTABLE_MODEL));
+
+        // Then
+        assertTrue(error.getMessage().contains("DRL compilation errors"));
+    }
+}
@@ -2,7 +2,11 @@ package org.drools.execution;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -274,4 +278,170 @@ public class DRLPopulatorRunnerTest {
         assertTrue(productString.contains("inStock=true"), "Product should be in stock (default value)");
         assertTrue(productString.contains("discounted=true"), "Product should be discounted after rule execution");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRunBatchIsolatesFactSets() {
+        String drlContent = 
+            "package org.drools.batch;\n" +
+            "declare Person\n" +
+            "    name : String\n" +
+            "    age : int\n" +
+            "    adult : boolean = false\n" +
+            "end\n" +
+            "rule 'Mark as Adult'\n" +
+            "when\n" +
+            "    $p : Person(age >= 18, adult == false)\n" +
+            "then\n" +
+            "    modify($p) { setAdult(true); }\n" +
+            "end";
+        
+        List<String> batches = List.of(
+            "[{\"_type\":\"Person\", \"name\":\"John\", \"age\":25}, {\"_type\":\"Person\", \"name\":\"Ann\", \"age\":40}]",
+            "[{\"_type\":\"Person\", \"name\":\"Jane\", \"age\":16}]",
+            "[]");
+        
+        List<DRLRunnerResult> results = DRLPopulatorRunner.runBatch(drlContent, batches, 0);
+        
+        assertEquals(3, results.size(), "Should have one result per batch");
+        
+        assertEquals(2, results.get(0).objects().size(), "First batch should only see its own facts");
+        assertEquals(2, results.get(0).firedRules(), "Both adults in the first batch should be marked");
+        assertTrue(results.get(0).objects().stream().allMatch(p -> p.toString().contains("adult=true")));
+        
+        assertEquals(1, results.get(1).objects().size(), "Second batch should only see its own facts");
+        assertEquals(0, results.get(1).firedRules(), "Minor should not be marked as adult");
+        
+        assertEquals(0, results.get(2).objects().size(), "Empty batch should produce no facts");
+        
+        // maxRuns applies per batch
+        List<DRLRunnerResult> limited = DRLPopulatorRunner.runBatch(drlContent, batches, 1);
+        assertEquals(1, limited.get(0).firedRules(), "Only one rule should fire in the first batch");
+    }
+
+    @Test
+    public void testRunBatchWithInvalidJson() {
+        String drlContent = 
+            "package org.drools.batch;\n" +
+            "declare Person\n" +
+            "    name : String\n" +
+            "end";
+        
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> 
+            DRLPopulatorRunner.runBatch(drlContent, List.of("[]", "{invalid json"), 0));
+        assertTrue(exception.getMessage().contains("Batch 2"), "Error should identify the failing batch");
+    }
+
+    @Test
+    public void testRunDRLWithJsonFactStream() {
+        String drlContent = 
+            "package org.drools.stream;\n" +
+            "declare Person\n" +
+            "    name : String\n" +
+            "    age : int\n" +
+            "    adult : boolean = false\n" +
+            "end\n" +
+            "rule 'Mark as Adult'\n" +
+            "when\n" +
+            "    $p : Person(age >= 18, adult == false)\n" +
+            "then\n" +
+            "    modify($p) { setAdult(true); }\n" +
+            "end";
+        
+        // Fields before _type, an unknown type and a fact without _type
+        String factsJson = "[{\"name\":\"John\", \"age\":25, \"_type\":\"Person\"}," +
+            " {\"_type\":\"Robot\", \"name\":\"R2\", \"parts\":[1, {\"x\":2}]}," +
+            " {\"name\":\"Nobody\"}," +
+            " {\"_type\":\"Person\", \"name\":\"Jane\", \"age\":16}]";
+        
+        DRLRunnerResult result = DRLPopulatorRunner.runDRLWithJsonFactStream(drlContent, new StringReader(factsJson), 0);
+        
+        assertEquals(2, result.objects().size(), "Only facts of known declared types should be inserted");
+        assertEquals(1, result.firedRules(), "Only John should be marked as adult");
+        assertTrue(result.objects().stream().anyMatch(p -> p.toString().contains("John") && p.toString().contains("adult=true")));
+        assertTrue(result.objects().stream().anyMatch(p -> p.toString().contains("Jane") && p.toString().contains("adult=false")));
+    }
+
+    @Test
+    public void testRunDRLWithJsonFactsNotAnArray() {
+        String drlContent = 
+            "package org.drools.stream;\n" +
+            "declare Person\n" +
+            "    name : String\n" +
+            "end";
+        
+        assertThrows(RuntimeException.class, () -> 
+            DRLPopulatorRunner.runDRLWithJsonFacts(drlContent, "{\"_type\":\"Person\"}", 0));
+        assertThrows(RuntimeException.class, () -> 
+            DRLPopulatorRunner.runDRLWithJsonFacts(drlContent, "[\"Person\"]", 0));
+    }
+
+    @Test
+    public void testRunDRLWithJsonFactsAndResultOptions() {
+        String drlContent = 
+            "package org.drools.options;\n" +
+            "declare Person\n" +
+            "    name : String\n" +
+            "    age : int\n" +
+            "end\n" +
+            "declare Adult\n" +
+            "    name : String\n" +
+            "    age : int\n" +
+            "end\n" +
+            "rule 'Derive Adult'\n" +
+            "when\n" +
+            "    $p : Person(age >= 18)\n" +
+            "then\n" +
+            "    insert(new Adult($p.getName(), $p.getAge()));\n" +
+            "end";
+        
+        String factsJson = "[{\"_type\":\"Person\", \"name\":\"John\", \"age\":25}," +
+            " {\"_type\":\"Person\", \"name\":\"Jane\", \"age\":16}," +
+            " {\"_type\":\"Person\", \"name\":\"Bob\", \"age\":70}]";
+        
+        ResultOptions derivedNames = new ResultOptions(Set.of("Adult"), List.of("name"), 1, 5, true);
+        DRLRunnerResult result = DRLPopulatorRunner.runDRLWithJsonFacts(drlContent, factsJson, 0, derivedNames);
+        
+        assertEquals(2, result.firedRules());
+        assertEquals(2, result.totalFacts(), "Both derived adults should match before paging");
+        assertEquals(1, result.objects().size(), "The offset should skip the first adult");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> adult = (Map<String, Object>) result.objects().get(0);
+        assertEquals("Adult", adult.get("_type"));
+        assertTrue(adult.containsKey("name"));
+        assertFalse(adult.containsKey("age"), "Fields not asked for should be left out");
+        
+        DRLRunnerResult inputsOnly = DRLPopulatorRunner.runDRLWithJsonFacts(drlContent, factsJson, 0,
+            new ResultOptions(Set.of("org.drools.options.Person"), List.of(), 0, 0, false));
+        assertEquals(3, inputsOnly.totalFacts());
+        assertEquals(3, inputsOnly.objects().size());
+    }
+
+    @Test
+    public void testResultOptionsPageInInsertionOrder() {
+        String drlContent = 
+            "package org.drools.paging;\n" +
+            "declare Item\n" +
+            "    id : int\n" +
+            "end\n";
+        
+        StringBuilder factsJson = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            factsJson.append(i == 0 ? "" : ",").append("{\"_type\":\"Item\", \"id\":").append(i).append("}");
+        }
+        factsJson.append("]");
+        
+        List<Object> ids = new ArrayList<>();
+        for (int offset = 0; offset < 50; offset += 7) {
+            DRLRunnerResult page = DRLPopulatorRunner.runDRLWithJsonFacts(drlContent, factsJson.toString(), 0,
+                new ResultOptions(Set.of("Item"), List.of("id"), offset, 7, false));
+            for (Object item : page.objects()) {
+                ids.add(((Map<?, ?>) item).get("id"));
+            }
+        }
+        
+        assertEquals(50, ids.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, ids.get(i), "Pages should follow the insertion order");
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.drools.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DrlIndexerTest {
+
+    private static final String DRL = """
+        package org.example.rules;
+
+        import java.util.List;
+        global java.util.Map<String, Integer> counts;
+
+        declare Person
+            @role(fact)
+            name : String @key
+            tags : java.util.List<String>
+        end
+
+        function String greet(String name) {
+            return "rule " + name + " end";
+        }
+
+        /* rule "Commented out"
+           end */
+        rule "Adults"
+        when
+            $p : Person(name != "end")
+        then
+            System.out.println("end"); // end
+        end
+
+        query findPerson(String n)
+            Person(name == n)
+        end
+        """;
+
+    @Test
+    void testIndexBuildsOutline() {
+        // When
+        DrlOutline outline = DrlIndexer.index(DRL);
+
+        // Then
+        assertEquals("org.example.rules", outline.packageName());
+        assertEquals(List.of("java.util.List"), outline.imports());
+        assertEquals(List.of(new DrlOutline.Global("java.util.Map<String, Integer>", "counts")), outline.globals());
+        assertEquals(List.of(new DrlOutline.DeclaredType("Person", List.of(
+                new DrlOutline.Field("name", "String"),
+                new DrlOutline.Field("tags", "java.util.List<String>")), 6, 10)), outline.declaredTypes());
+        assertEquals(List.of("greet"), outline.functions());
+        assertEquals(List.of(new DrlOutline.Block("Adults", 18, 23)), outline.rules());
+        assertEquals(List.of(new DrlOutline.Block("findPerson", 25, 27)), outline.queries());
+    }
+
+    @Test
+    void testOutlineIsCachedPerContent() {
+        // Given
+        DrlIndexer indexer = new DrlIndexer(2);
+
+        // When
+        DrlOutline first = indexer.outline(DRL);
+        DrlOutline again = indexer.outline(DRL);
+        DrlOutline shifted = indexer.outline("\n\n" + DRL);
+
+        // Then
+        assertSame(first, again);
+        assertEquals(2, indexer.size());
+        assertEquals(List.of(new DrlOutline.Block("Adults", 20, 25)), shifted.rules());
+    }
+
+    @Test
+    void testLeastRecentlyUsedOutlineIsDropped() {
+        // Given
+        DrlIndexer indexer = new DrlIndexer(2);
+        DrlOutline first = indexer.outline(DRL);
+        indexer.outline("package org.other;\n");
+
+        // When
+        indexer.outline("package org.third;\n");
+
+        // Then
+        assertEquals(2, indexer.size());
+        assertNotSame(first, indexer.outline(DRL));
+    }
+
+    @Test
+    void testEndIdentifierInConsequenceDoesNotCloseRule() {
+        // Given
+        String drl = """
+            rule "Window"
+            when
+                $e : Event()
+            then
+                long end = $e.getStart() + 10;
+                end = end * 2;
+                $e.setEnd(end);
+                System.out.println(end
+                    );
+            end
+            rule "Single line" when then end
+            """;
+
+        // When
+        DrlOutline outline = DrlIndexer.index(drl);
+
+        // Then
+        assertEquals(List.of(new DrlOutline.Block("Window", 1, 10),
+                new DrlOutline.Block("Single line", 11, 11)), outline.rules());
+    }
+
+    @Test
+    void testExtractPackageNameUsesOutline() {
+        DRLParser parser = new DRLParser();
+
+        assertEquals("org.example.rules", parser.extractPackageName(DRL));
+        assertEquals("", parser.extractPackageName("rule \"No package\" when then end"));
+        assertEquals("", parser.extractPackageName(null));
+    }
+}
@@ -0,0 +1,87 @@
+package org.drools.execution;
+
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.KieContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionListenerTest {
+
+    private static final String DRL = """
+        package org.drools.listener;
+        declare Person
+            name : String
+        end
+        rule "Greet"
+        when
+            Person()
+        then
+        end
+        """;
+
+    @Test
+    void testListenerReceivesExecutionEvents() {
+        // Given
+        DRLExecutor executor = new DRLExecutor();
+        RecordingListener listener = new RecordingListener();
+        executor.setExecutionListener(listener);
+        KieContainer kieContainer = executor.buildKieContainer(DRL);
+        FactBuilder factBuilder = new FactBuilder();
+        factBuilder.setExecutionListener(listener);
+        List<Object> facts = factBuilder.buildFromJsonArray(
+            "[{\"_type\":\"Person\", \"name\":\"John\"}, {\"_type\":\"Robot\"}]", kieContainer, "org.drools.listener");
+
+        // When
+        executor.executeWithContainer(kieContainer, facts, 0);
+        executor.executeStateless(kieContainer, facts, 0);
+
+        // Then
+        assertEquals(2, listener.inserted.size());
+        assertEquals(List.of("Greet", "Greet"), listener.fired);
+        assertEquals(List.of(1, 1), listener.collected);
+        assertEquals(1, listener.warnings.size());
+        assertTrue(listener.warnings.get(0).contains("Robot"));
+    }
+
+    @Test
+    void testNullListenerFallsBackToNoOp() {
+        // Given
+        DRLExecutor executor = new DRLExecutor();
+
+        // When
+        executor.setExecutionListener(null);
+
+        // Then
+        assertSame(ExecutionListener.NO_OP, executor.getExecutionListener());
+    }
+
+    private static class RecordingListener implements ExecutionListener {
+        final List<Object> inserted = new ArrayList<>();
+        final List<String> fired = new ArrayList<>();
+        final List<Integer> collected = new ArrayList<>();
+        final List<String> warnings = new ArrayList<>();
+
+        @Override
+        public void onInsert(Object fact) {
+            inserted.add(fact);
+        }
+
+        @Override
+        public void onFire(String ruleName) {
+            fired.add(ruleName);
+        }
+
+        @Override
+        public void onCollect(int firedRules, List<Object> facts) {
+            collected.add(firedRules);
+        }
+
+        @Override
+        public void onWarning(String message) {
+            warnings.add(message);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.drools.execution;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+import org.kie.api.definition.type.FactType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FactBinderTest {
+
+    private static final String DRL = """
+        package org.drools.binder;
+        declare Address
+            city : String
+        end
+        declare Order
+            id : long
+            quantity : int
+            amount : java.math.BigDecimal
+            placed : java.util.Date
+            due : java.time.LocalDate
+            address : Address
+            priority : short
+            channel : byte
+            express : boolean
+        end
+        """;
+
+    private KieBase kieBase;
+    private FactType orderType;
+    private FactBinder binder;
+
+    @BeforeEach
+    void setUp() {
+        kieBase = new DRLExecutor().buildKieContainer(DRL).getKieBase();
+        orderType = kieBase.getFactType("org.drools.binder", "Order");
+        binder = FactBinder.compile(orderType, kieBase);
+    }
+
+    @Test
+    void testBindCoercesJsonValues() {
+        // When
+        Object order = binder.bind(Map.of(
+            "id", 7,
+            "quantity", "3",
+            "amount", "19.99",
+            "placed", 0L,
+            "due", "2024-05-01",
+            "address", Map.of("city", "Brno")));
+
+        // Then
+        assertEquals(7L, orderType.get(order, "id"));
+        assertEquals(3, orderType.get(order, "quantity"));
+        assertEquals(new BigDecimal("19.99"), orderType.get(order, "amount"));
+        assertEquals(new Date(0L), orderType.get(order, "placed"));
+        assertEquals(LocalDate.of(2024, 5, 1), orderType.get(order, "due"));
+
+        FactType addressType = kieBase.getFactType("org.drools.binder", "Address");
+        assertEquals("Brno", addressType.get(orderType.get(order, "address"), "city"));
+    }
+
+    @Test
+    void testSetRejectsUnknownFieldAndBadValues() {
+        // Given
+        Object order = binder.newInstance();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> binder.set(order, "missing", 1));
+        assertThrows(IllegalArgumentException.class, () -> binder.set(order, "quantity", "many"));
+        assertThrows(IllegalArgumentException.class, () -> binder.set(order, "quantity", null));
+    }
+
+    @Test
+    void testSetRejectsOutOfRangeNumbers() {
+        // Given
+        Object order = binder.newInstance();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> binder.set(order, "quantity", 3_000_000_000L));
+        assertThrows(IllegalArgumentException.class, () -> binder.set(order, "id", new BigInteger("9223372036854775808")));
+        assertThrows(IllegalArgumentException.class, () -> binder.set(order, "priority", 40_000));
+        assertThrows(IllegalArgumentException.class, () -> binder.set(order, "channel", 128));
+        binder.set(order, "channel", -128);
+        assertEquals((byte) -128, orderType.get(order, "channel"));
+    }
+
+    @Test
+    void testSetRejectsFractionsForIntegralFields() {
+        // Given
+        Object order = binder.newInstance();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> binder.set(order, "quantity", 2.9));
+        assertThrows(IllegalArgumentException.class, () -> binder.set(order, "id", new BigDecimal("2.5")));
+        assertThrows(IllegalArgumentException.class, () -> binder.set(order, "priority", "2.9"));
+        binder.set(order, "quantity", 4.0);
+        assertEquals(4, orderType.get(order, "quantity"));
+    }
+
+    @Test
+    void testSetAcceptsOnlyTrueOrFalseForBooleans() {
+        // Given
+        Object order = binder.newInstance();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> binder.set(order, "express", "yes"));
+        assertThrows(IllegalArgumentException.class, () -> binder.set(order, "express", "1"));
+        binder.set(order, "express", "TRUE");
+        assertEquals(true, orderType.get(order, "express"));
+        binder.set(order, "express", "false");
+        assertEquals(false, orderType.get(order, "express"));
+    }
+
+    @Test
+    void testFactBuilderCachesBinderPerKieBase() {
+        // Given
+        FactBuilder factBuilder = new FactBuilder();
+
+        // When & Then
+        FactBinder first = factBuilder.binderFor(kieBase, "org.drools.binder", "Order");
+        assertSame(first, factBuilder.binderFor(kieBase, "org.drools.binder", "Order"));
+        assertNull(factBuilder.binderFor(kieBase, "org.drools.binder", "Unknown"));
+        assertTrue(first.getFieldNames().contains("address"));
+    }
+
+    @Test
+    void testFactBuilderMaterializesParsedMaps() {
+        // Given
+        FactBuilder factBuilder = new FactBuilder();
+        Map<String, Object> typed = Map.of("_type", "Address", "city", "Brno");
+        Map<String, Object> qualified = Map.of("_type", "org.drools.binder.Address", "city", "Praha");
+        Map<String, Object> untyped = Map.of("city", "Olomouc");
+        Map<String, Object> unknown = Map.of("_type", "Unknown", "city", "Zlin");
+
+        // When
+        List<Object> mixed = factBuilder.buildFromMaps(List.of(typed, qualified, untyped, unknown), kieBase);
+        List<Object> homogeneous = factBuilder.buildFromMaps(List.of(typed, typed), kieBase);
+
+        // Then
+        FactType addressType = kieBase.getFactType("org.drools.binder", "Address");
+        assertEquals("Brno", addressType.get(mixed.get(0), "city"));
+        assertEquals("Praha", addressType.get(mixed.get(1), "city"));
+        assertSame(untyped, mixed.get(2));
+        assertSame(unknown, mixed.get(3));
+        assertEquals(2, homogeneous.size());
+        assertSame(addressType.getFactClass(), homogeneous.get(1).getClass());
+        assertSame(factBuilder.binderFor(kieBase, "Address"), factBuilder.binderFor(kieBase, "org.drools.binder", "Address"));
+    }
+}
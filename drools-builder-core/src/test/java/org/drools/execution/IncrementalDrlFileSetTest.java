@@ -0,0 +1,150 @@
+package org.drools.execution;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalDrlFileSetTest {
+
+    private static final String TYPES = """
+        package org.drools.files;
+        declare Person
+            name : String
+            age : int
+        end
+        """;
+
+    private static final String CREATE = """
+        package org.drools.files;
+        rule "Create John"
+        when
+        then
+            insert(new Person("John", 25));
+        end
+        """;
+
+    private IncrementalDrlFileSet fileSet;
+    private Map<String, String> files;
+
+    @BeforeEach
+    void setUp() {
+        fileSet = new IncrementalDrlFileSet(KieServices.Factory.get()
+                .newReleaseId("org.drools.test", "file-set-" + System.nanoTime(), "1.0.0"));
+        files = new HashMap<>();
+        files.put("types.drl", TYPES);
+        files.put("create.drl", CREATE);
+    }
+
+    @Test
+    void testOnlyChangedFilesAreRecompiled() {
+        // Given
+        IncrementalDrlFileSet.BuildResult first = fileSet.build(files);
+        assertTrue(first.success());
+        assertFalse(first.incremental());
+        assertEquals(1, fire(fileSet.newKieContainer()));
+
+        // When
+        files.put("adult.drl", "package org.drools.files;\nrule \"Adult\"\nwhen\n    Person(age >= 18)\nthen\nend\n");
+        IncrementalDrlFileSet.BuildResult second = fileSet.build(files);
+
+        // Then
+        assertTrue(second.success());
+        assertTrue(second.incremental());
+        assertEquals(List.of("adult.drl"), second.changedFiles());
+        assertEquals(2, fire(fileSet.newKieContainer()));
+        assertEquals(1, fileSet.getFullBuildCount());
+        assertEquals(1, fileSet.getIncrementalBuildCount());
+    }
+
+    @Test
+    void testUnchangedFilesDoNotRebuild() {
+        // When
+        fileSet.build(files);
+        IncrementalDrlFileSet.BuildResult again = fileSet.build(new HashMap<>(files));
+
+        // Then
+        assertTrue(again.success());
+        assertTrue(again.changedFiles().isEmpty());
+        assertEquals(1, fileSet.getFullBuildCount());
+        assertEquals(0, fileSet.getIncrementalBuildCount());
+    }
+
+    @Test
+    void testRemovedFileIsDropped() {
+        // Given
+        files.put("adult.drl", "package org.drools.files;\nrule \"Adult\"\nwhen\n    Person(age >= 18)\nthen\nend\n");
+        fileSet.build(files);
+
+        // When
+        files.remove("adult.drl");
+        IncrementalDrlFileSet.BuildResult result = fileSet.build(files);
+
+        // Then
+        assertTrue(result.success());
+        assertEquals(List.of("adult.drl"), result.changedFiles());
+        assertEquals(1, fire(fileSet.newKieContainer()));
+    }
+
+    @Test
+    void testErrorsNameTheirFile() {
+        // Given
+        fileSet.build(files);
+
+        // When
+        files.put("broken.drl", "package org.drools.files;\nrule \"Broken\"\nwhen\n    Unknown()\nthen\nend\n");
+        IncrementalDrlFileSet.BuildResult broken = fileSet.build(files);
+
+        // Then
+        assertFalse(broken.success());
+        assertTrue(broken.errors().stream().allMatch(error -> "broken.drl".equals(error.file())),
+                "Errors should point at the broken file: " + broken.errors());
+        assertThrows(IllegalStateException.class, fileSet::newKieContainer);
+
+        // When - fixed again, the next build starts over
+        files.remove("broken.drl");
+        IncrementalDrlFileSet.BuildResult fixed = fileSet.build(files);
+
+        // Then
+        assertTrue(fixed.success());
+        assertFalse(fixed.incremental());
+        assertEquals(1, fire(fileSet.newKieContainer()));
+    }
+
+    @Test
+    void testExecutableModelRebuildsChangedFileSetInFull() {
+        // Given
+        IncrementalDrlFileSet executableModel = new IncrementalDrlFileSet(KieServices.Factory.get()
+                .newReleaseId("org.drools.test", "file-set-" + System.nanoTime(), "1.0.0"), CompilationMode.EXECUTABLE_MODEL);
+        assertTrue(executableModel.build(files).success());
+        assertEquals(1, fire(executableModel.newKieContainer()));
+
+        // When
+        files.put("adult.drl", "package org.drools.files;\nrule \"Adult\"\nwhen\n    Person(age >= 18)\nthen\nend\n");
+        IncrementalDrlFileSet.BuildResult result = executableModel.build(files);
+
+        // Then
+        assertTrue(result.success());
+        assertFalse(result.incremental());
+        assertEquals(2, fire(executableModel.newKieContainer()));
+        assertEquals(2, executableModel.getFullBuildCount());
+        assertTrue(executableModel.build(files).changedFiles().isEmpty());
+    }
+
+    private static int fire(KieContainer kieContainer) {
+        KieSession session = kieContainer.newKieSession();
+        try {
+            return session.fireAllRules();
+        } finally {
+            session.dispose();
+            kieContainer.dispose();
+        }
+    }
+}
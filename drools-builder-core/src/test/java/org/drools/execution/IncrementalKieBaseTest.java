@@ -0,0 +1,149 @@
+package org.drools.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalKieBaseTest {
+
+    private final List<String> imports = new ArrayList<>();
+    private final Map<String, String> definitions = new HashMap<>();
+    private IncrementalKieBase knowledgeBase;
+
+    @BeforeEach
+    void setUp() {
+        knowledgeBase = new IncrementalKieBase("org.drools.incremental");
+        definitions.put("Person", "declare Person\n    name : String\n    age : int\nend");
+        definitions.put("CreateJohn", "rule \"Create John\"\nwhen\nthen\n    insert(new Person(\"John\", 25));\nend");
+    }
+
+    @AfterEach
+    void tearDown() {
+        knowledgeBase.dispose();
+    }
+
+    @Test
+    void testAddAndRemoveRulesUpdateInPlace() {
+        // Given
+        KieContainer kieContainer = sync();
+        assertEquals(1, fire(kieContainer));
+
+        // When - add a rule
+        definitions.put("Adult", "rule \"Adult\"\nwhen\n    Person(age >= 18)\nthen\nend");
+        KieContainer updated = sync();
+
+        // Then
+        assertSame(kieContainer, updated, "Container should be updated in place");
+        assertEquals(2, fire(updated));
+        assertEquals(1, knowledgeBase.getFullBuildCount());
+        assertEquals(1, knowledgeBase.getIncrementalBuildCount());
+
+        // When - remove it again
+        definitions.remove("Adult");
+        sync();
+
+        // Then
+        assertEquals(1, fire(updated));
+        assertEquals(2, knowledgeBase.getIncrementalBuildCount());
+    }
+
+    @Test
+    void testFactBuilderSeesRedefinedDeclaredType() {
+        // Given
+        FactBuilder factBuilder = new FactBuilder();
+        KieContainer kieContainer = sync();
+        Object before = factBuilder.buildFromJsonArray("[{\"_type\": \"Person\", \"name\": \"John\", \"age\": 25}]",
+                kieContainer, "org.drools.incremental").get(0);
+
+        // When - add a field to the declared type
+        definitions.remove("CreateJohn");
+        definitions.put("Person", "declare Person\n    name : String\n    age : int\n    email : String\nend");
+        KieContainer updated = sync();
+        Object after = factBuilder.buildFromJsonArray(
+                "[{\"_type\": \"Person\", \"name\": \"Jane\", \"age\": 30, \"email\": \"jane@example.com\"}]",
+                updated, "org.drools.incremental").get(0);
+
+        // Then
+        assertSame(kieContainer.getKieBase(), updated.getKieBase(), "KieBase should be updated in place");
+        var personType = updated.getKieBase().getFactType("org.drools.incremental", "Person");
+        assertNotSame(before.getClass(), after.getClass());
+        assertSame(personType.getFactClass(), after.getClass());
+        assertEquals("jane@example.com", personType.get(after, "email"));
+    }
+
+    @Test
+    void testUnchangedDefinitionsDoNotRebuild() {
+        // When
+        sync();
+        sync();
+
+        // Then
+        assertEquals(1, knowledgeBase.getFullBuildCount());
+        assertEquals(0, knowledgeBase.getIncrementalBuildCount());
+    }
+
+    @Test
+    void testImportChangeRebuildsFully() {
+        // Given
+        sync();
+
+        // When
+        imports.add("import java.util.List;");
+        sync();
+
+        // Then
+        assertEquals(2, knowledgeBase.getFullBuildCount());
+    }
+
+    @Test
+    void testInvalidDefinitionKeepsLastGoodKieBase() {
+        // Given
+        KieContainer kieContainer = sync();
+
+        // When
+        definitions.put("Broken", "rule \"Broken\"\nwhen\n    Unknown()\nthen\nend");
+
+        // Then
+        assertThrows(RuntimeException.class, () -> sync());
+        assertEquals(1, fire(kieContainer));
+
+        definitions.remove("Broken");
+        assertEquals(1, fire(sync()));
+    }
+
+    @Test
+    void testNamesSanitizedToSameTextKeepTheirOwnResource() {
+        // Given - both names sanitize to "r__" and share their String hash code
+        assertEquals("r.!".hashCode(), "r-@".hashCode());
+        definitions.put("r.!", "rule \"First\"\nwhen\nthen\nend");
+        definitions.put("r-@", "rule \"Second\"\nwhen\nthen\nend");
+
+        // When
+        KieContainer kieContainer = sync();
+
+        // Then
+        assertEquals(3, fire(kieContainer));
+    }
+
+    private KieContainer sync() {
+        return knowledgeBase.sync(new IncrementalKieBase.Sources(imports, definitions));
+    }
+
+    private int fire(KieContainer kieContainer) {
+        KieSession session = kieContainer.newKieSession();
+        try {
+            return session.fireAllRules();
+        } finally {
+            session.dispose();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.drools.execution;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class KieContainerCacheTest {
+
+    private static final String DRL = """
+        package org.drools.test;
+        declare Person
+            name : String
+            age : int
+        end
+        rule "Adult"
+        when
+            $p : Person(age >= 18)
+        then
+        end
+        """;
+
+    private AtomicInteger compilations;
+    private Function<String, KieContainer> compiler;
+
+    @BeforeEach
+    void setUp() {
+        compilations = new AtomicInteger();
+        compiler = drl -> {
+            compilations.incrementAndGet();
+            return mock(KieContainer.class);
+        };
+    }
+
+    @Test
+    void testGetOrBuild_CachesSameContent() {
+        // Given
+        KieContainerCache cache = new KieContainerCache(4);
+
+        // When
+        KieContainer first = cache.getOrBuild(DRL, compiler);
+        KieContainer second = cache.getOrBuild(DRL, compiler);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, compilations.get());
+        assertEquals(1, cache.getStats().hits());
+        assertEquals(1, cache.getStats().misses());
+    }
+
+    @Test
+    void testGetOrBuild_NormalizesLineEndingsAndWhitespace() {
+        // Given
+        KieContainerCache cache = new KieContainerCache(4);
+
+        // When
+        KieContainer first = cache.getOrBuild(DRL, compiler);
+        KieContainer second = cache.getOrBuild("\n  " + DRL.replace("\n", "\r\n") + "  \n", compiler);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, compilations.get());
+    }
+
+    @Test
+    void testGetOrBuild_EvictsLeastRecentlyUsed() {
+        // Given
+        KieContainerCache cache = new KieContainerCache(2);
+        KieContainer a = cache.getOrBuild("rule A when then end", compiler);
+        cache.getOrBuild("rule B when then end", compiler);
+
+        // When - touch A so that B becomes the eldest entry, then add C
+        cache.getOrBuild("rule A when then end", compiler);
+        cache.getOrBuild("rule C when then end", compiler);
+
+        // Then
+        assertEquals(2, cache.getStats().size());
+        assertEquals(1, cache.getStats().evictions());
+        assertTrue(cache.contains(a));
+        cache.getOrBuild("rule B when then end", compiler);
+        assertEquals(4, compilations.get(), "B should have been recompiled after eviction");
+    }
+
+    @Test
+    void testInvalidate() {
+        // Given
+        KieContainerCache cache = new KieContainerCache(4);
+        KieContainer container = cache.getOrBuild(DRL, compiler);
+
+        // When
+        boolean removed = cache.invalidate(DRL);
+
+        // Then
+        assertTrue(removed);
+        assertFalse(cache.contains(container));
+        assertFalse(cache.invalidate(DRL));
+        assertNotSame(container, cache.getOrBuild(DRL, compiler));
+    }
+
+    @Test
+    void testGetOrBuild_KeepsCompilationModesApart() {
+        // Given
+        KieContainerCache cache = new KieContainerCache(4);
+        KieContainer drl = cache.getOrBuild(DRL, CompilationMode.DRL, compiler);
+
+        // When
+        KieContainer executableModel = cache.getOrBuild(DRL, CompilationMode.EXECUTABLE_MODEL, compiler);
+
+        // Then
+        assertNotSame(drl, executableModel);
+        assertSame(executableModel, cache.getOrBuild(DRL, CompilationMode.EXECUTABLE_MODEL, compiler));
+        assertEquals(2, compilations.get());
+        assertTrue(cache.invalidate(DRL));
+        assertFalse(cache.contains(drl));
+        assertFalse(cache.contains(executableModel));
+    }
+
+    @Test
+    void testContainersOfDifferentContentKeepTheirOwnModules() {
+        // Given
+        DRLExecutor executor = new DRLExecutor(new KieContainerCache(4));
+        String first = "package org.drools.test;\nrule \"First\" when then end\n";
+        String second = "package org.drools.test;\nrule \"Second\" when then end\n";
+        KieContainer firstContainer = executor.buildKieContainer(first);
+        KieContainer secondContainer = executor.buildKieContainer(second);
+
+        // When
+        executor.getKieContainerCache().invalidate(first);
+
+        // Then
+        assertNotEquals(firstContainer.getReleaseId(), secondContainer.getReleaseId());
+        assertNotNull(KieServices.Factory.get().getRepository().getKieModule(secondContainer.getReleaseId()));
+        assertEquals(1, executor.execute(second, List.of(), 0).firedRules());
+    }
+
+    @Test
+    void testSharedModuleStaysWhileAnotherCacheHoldsIt() {
+        // Given
+        String drl = "package org.drools.test;\nrule \"Shared\" when then end\n";
+        DRLExecutor first = new DRLExecutor(new KieContainerCache(4));
+        DRLExecutor second = new DRLExecutor(new KieContainerCache(4));
+        KieContainer container = first.buildKieContainer(drl);
+        second.buildKieContainer(drl);
+
+        // When
+        first.getKieContainerCache().invalidate(drl);
+
+        // Then
+        assertNotNull(KieServices.Factory.get().getRepository().getKieModule(container.getReleaseId()));
+        second.getKieContainerCache().invalidate(drl);
+    }
+
+    @Test
+    void testInvalidateAll() {
+        // Given
+        KieContainerCache cache = new KieContainerCache(4);
+        cache.getOrBuild("rule A when then end", compiler);
+        cache.getOrBuild("rule B when then end", compiler);
+
+        // When
+        cache.invalidateAll();
+
+        // Then
+        assertEquals(0, cache.getStats().size());
+    }
+
+    @Test
+    void testGetOrBuild_CompilationFailureIsNotCached() {
+        // Given
+        KieContainerCache cache = new KieContainerCache(4);
+        Function<String, KieContainer> failingCompiler = drl -> {
+            throw new RuntimeException("DRL compilation errors");
+        };
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> cache.getOrBuild(DRL, failingCompiler));
+        assertEquals(0, cache.getStats().size());
+    }
+
+    @Test
+    void testInvalidCacheSize() {
+        assertThrows(IllegalArgumentException.class, () -> new KieContainerCache(0));
+    }
+
+    @Test
+    void testRunnerReusesCompiledContainer() {
+        // Given
+        String drl = DRL + "\n// runner cache test";
+        String jsonFacts = "[{\"_type\":\"Person\", \"name\":\"John\", \"age\":25}]";
+        long hitsBefore = DRLPopulatorRunner.getKieContainerCache().getStats().hits();
+
+        // When
+        DRLPopulatorRunner.runDRLWithJsonFacts(drl, jsonFacts, 0);
+        DRLPopulatorRunner.runDRLWithJsonFacts(drl, jsonFacts, 0);
+
+        // Then
+        assertTrue(DRLPopulatorRunner.getKieContainerCache().getStats().hits() > hitsBefore);
+    }
+}
@@ -0,0 +1,149 @@
+package org.drools.execution;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KieModuleDiskCacheTest {
+
+    private static final String DRL = """
+        package org.drools.disk;
+        declare Person
+            name : String
+            age : int
+        end
+        rule "Create John"
+        when
+        then
+            insert(new Person("John", 25));
+        end
+        rule "Adult"
+        when
+            Person(age >= 18)
+        then
+        end
+        """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testCompiledModuleIsLoadedByNextExecutor() {
+        // Given
+        KieModuleDiskCache first = new KieModuleDiskCache(directory, "test");
+        DRLRunnerResult compiled = new DRLExecutor(new KieContainerCache(), null, first)
+                .execute(DRL, CompilationMode.EXECUTABLE_MODEL, Collections.emptyList(), 0);
+        assertEquals(1, first.getStats().writes());
+        assertTrue(first.contains(DRL, CompilationMode.EXECUTABLE_MODEL));
+
+        // When - a new executor stands in for a restarted process
+        KieModuleDiskCache second = new KieModuleDiskCache(directory, "test");
+        DRLRunnerResult loaded = new DRLExecutor(new KieContainerCache(), null, second)
+                .execute(DRL, CompilationMode.EXECUTABLE_MODEL, Collections.emptyList(), 0);
+
+        // Then
+        assertEquals(1, second.getStats().hits());
+        assertEquals(0, second.getStats().writes());
+        assertEquals(compiled.firedRules(), loaded.firedRules());
+        assertEquals(compiled.objects().size(), loaded.objects().size());
+    }
+
+    @Test
+    void testOtherDroolsVersionIsNotLoaded() {
+        // Given
+        new DRLExecutor(new KieContainerCache(), null, new KieModuleDiskCache(directory, "1.0"))
+                .buildKieContainer(DRL, CompilationMode.EXECUTABLE_MODEL);
+
+        // When
+        KieModuleDiskCache other = new KieModuleDiskCache(directory, "2.0");
+
+        // Then
+        assertFalse(other.contains(DRL, CompilationMode.EXECUTABLE_MODEL));
+        assertNull(other.load(DRL, CompilationMode.EXECUTABLE_MODEL));
+        assertEquals(1, other.getStats().misses());
+    }
+
+    @Test
+    void testCorruptedModuleIsDroppedAndRebuilt() throws Exception {
+        // Given
+        KieModuleDiskCache cache = new KieModuleDiskCache(directory, "test");
+        new DRLExecutor(new KieContainerCache(), null, cache).buildKieContainer(DRL, CompilationMode.EXECUTABLE_MODEL);
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.writeString(file, "not a kjar");
+            }
+        }
+
+        // When
+        DRLRunnerResult result = new DRLExecutor(new KieContainerCache(), null, cache)
+                .execute(DRL, CompilationMode.EXECUTABLE_MODEL, Collections.emptyList(), 0);
+
+        // Then
+        assertEquals(2, result.firedRules());
+        assertEquals(2, cache.getStats().writes());
+        assertTrue(cache.contains(DRL, CompilationMode.EXECUTABLE_MODEL));
+    }
+
+    @Test
+    void testDrlBuildsAreNotCached() {
+        // Given
+        KieModuleDiskCache cache = new KieModuleDiskCache(directory, "test");
+
+        // When
+        new DRLExecutor(new KieContainerCache(), null, cache).buildKieContainer(DRL, CompilationMode.DRL);
+
+        // Then
+        assertEquals(0, cache.getStats().writes());
+        assertFalse(cache.contains(DRL, CompilationMode.DRL));
+    }
+
+    @Test
+    void testContainerOfOtherContentIsNotStored() {
+        // Given
+        KieModuleDiskCache cache = new KieModuleDiskCache(directory, "test");
+        var kieContainer = new DRLExecutor(new KieContainerCache(), null, null)
+                .buildKieContainer(DRL, CompilationMode.EXECUTABLE_MODEL);
+        String otherDrl = DRL.replace("John", "Jane");
+
+        // When
+        cache.store(otherDrl, CompilationMode.EXECUTABLE_MODEL, kieContainer);
+
+        // Then
+        assertEquals(0, cache.getStats().writes());
+        assertFalse(cache.contains(otherDrl, CompilationMode.EXECUTABLE_MODEL));
+    }
+
+    @Test
+    void testLeastRecentlyUsedModulesArePruned() throws Exception {
+        // Given
+        KieModuleDiskCache cache = new KieModuleDiskCache(directory, "test", 1);
+        DRLExecutor executor = new DRLExecutor(new KieContainerCache(), null, cache);
+        String otherDrl = DRL.replace("John", "Jane");
+        executor.buildKieContainer(DRL, CompilationMode.EXECUTABLE_MODEL);
+        Thread.sleep(20);
+
+        // When
+        executor.buildKieContainer(otherDrl, CompilationMode.EXECUTABLE_MODEL);
+
+        // Then
+        assertFalse(cache.contains(DRL, CompilationMode.EXECUTABLE_MODEL));
+        assertTrue(cache.contains(otherDrl, CompilationMode.EXECUTABLE_MODEL));
+    }
+
+    @Test
+    void testSnapshotAndUnknownVersionsAreRefused() {
+        assertThrows(IllegalStateException.class, () -> new KieModuleDiskCache(directory, "999-SNAPSHOT"));
+        assertThrows(IllegalStateException.class, () -> new KieModuleDiskCache(directory, null));
+    }
+
+    @Test
+    void testDisabledUnlessEnabled() {
+        assertNull(System.getProperty(KieModuleDiskCache.ENABLED_PROPERTY));
+        assertNull(KieModuleDiskCache.fromSystemProperties());
+    }
+}
@@ -0,0 +1,135 @@
+package org.drools.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KieSessionPoolTest {
+
+    private static final String DRL = """
+        package org.drools.pool;
+        declare Counter
+            value : int
+        end
+        rule "Create Counter"
+        when
+        then
+            insert(new Counter(1));
+        end
+        """;
+
+    private KieContainer kieContainer;
+    private KieSessionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        kieContainer = new DRLExecutor().buildKieContainer(DRL);
+        pool = new KieSessionPool(kieContainer, new KieSessionPool.Settings(2, Duration.ofMinutes(5)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testReleasedSessionIsResetBeforeReuse() {
+        // Given
+        KieSession first = pool.borrow();
+        first.fireAllRules();
+        assertEquals(1, first.getFactCount());
+        pool.release(first);
+
+        // When
+        KieSession second = pool.borrow();
+
+        // Then
+        assertEquals(0, second.getFactCount(), "Reused session should start with empty working memory");
+        assertEquals(1, second.fireAllRules());
+        pool.release(second);
+    }
+
+    @Test
+    void testFallbackWhenPoolExhausted() {
+        // Given
+        KieSession first = pool.borrow();
+        KieSession second = pool.borrow();
+
+        // When
+        KieSession third = pool.borrow();
+
+        // Then
+        assertNotNull(third);
+        assertEquals(2, pool.getActiveCount());
+        assertEquals(1, pool.getFallbackCount());
+        assertEquals(3, pool.getBorrowCount());
+
+        pool.release(third);
+        pool.release(second);
+        pool.release(first);
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    void testEvictIdle() {
+        // Given
+        KieSessionPool idlePool = new KieSessionPool(kieContainer, new KieSessionPool.Settings(2, Duration.ZERO));
+        idlePool.release(idlePool.borrow());
+
+        // When & Then
+        assertTrue(idlePool.evictIdle());
+        assertFalse(idlePool.evictIdle(), "Nothing left to evict");
+        KieSession session = idlePool.borrow();
+        assertEquals(1, session.fireAllRules());
+        assertFalse(idlePool.evictIdle(), "Pool with borrowed sessions is not idle");
+        idlePool.release(session);
+        idlePool.close();
+    }
+
+    @Test
+    void testExecutorEvictsIdleSessionsInBackground() throws InterruptedException {
+        // Given
+        DRLExecutor pooledExecutor = new DRLExecutor(new KieContainerCache(), new KieSessionPool.Settings(2, Duration.ofMillis(50)));
+        pooledExecutor.execute(DRL, List.of(), 0);
+        KieSessionPool sessionPool = pooledExecutor.peekSessionPool(pooledExecutor.buildKieContainer(DRL));
+        assertNotNull(sessionPool);
+
+        // When
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (sessionPool.isWarm() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        // Then
+        assertFalse(sessionPool.isWarm(), "Idle sessions should have been evicted without a new borrow");
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new KieSessionPool.Settings(0, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> new KieSessionPool.Settings(1, Duration.ofMinutes(-1)));
+    }
+
+    @Test
+    void testPooledExecutorProducesSameResults() {
+        // Given
+        DRLExecutor pooledExecutor = new DRLExecutor(new KieContainerCache(), new KieSessionPool.Settings(1, Duration.ofMinutes(5)));
+
+        // When
+        DRLRunnerResult first = pooledExecutor.execute(DRL, List.of(), 0);
+        DRLRunnerResult second = pooledExecutor.execute(DRL, List.of(), 0);
+
+        // Then
+        assertEquals(1, first.firedRules());
+        assertEquals(1, first.objects().size());
+        assertEquals(first.firedRules(), second.firedRules());
+        assertEquals(first.objects().size(), second.objects().size());
+    }
+}
@@ -0,0 +1,123 @@
+package org.drools.execution;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Measures time to first execution of a freshly started JVM, the way an MCP server
+ * sees it after a restart: without the kjar disk cache, with a cold cache and with
+ * a warm cache. Every run starts a new JVM on the current class path and builds the
+ * rules with the executable model, the only mode the disk cache persists.
+ *
+ * Usage: KjarCacheStartupBenchmark [ruleCount] [runs]
+ */
+public class KjarCacheStartupBenchmark {
+
+    private static final String CHILD = "--child";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && CHILD.equals(args[0])) {
+            runChild(Integer.parseInt(args[1]), args.length > 2 ? Path.of(args[2]) : null);
+            return;
+        }
+        int ruleCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        Path directory = Files.createTempDirectory("kjar-cache-benchmark");
+        try {
+            System.out.printf("Rules: %d, runs: %d%n", ruleCount, runs);
+            long disabled = 0;
+            long cold = 0;
+            long warm = 0;
+            for (int run = 0; run < runs; run++) {
+                disabled += startChild(ruleCount, null);
+                deleteContents(directory);
+                cold += startChild(ruleCount, directory);
+                warm += startChild(ruleCount, directory);
+            }
+            System.out.printf("no disk cache: %6d ms%n", disabled / runs);
+            System.out.printf("cold cache:    %6d ms%n", cold / runs);
+            System.out.printf("warm cache:    %6d ms%n", warm / runs);
+        } finally {
+            deleteContents(directory);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Starts a JVM running one execution and returns its time to first execution
+     * @param cacheDirectory Directory of the disk cache, or null to run without it
+     */
+    private static long startChild(int ruleCount, Path cacheDirectory) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(KjarCacheStartupBenchmark.class.getName());
+        command.add(CHILD);
+        command.add(String.valueOf(ruleCount));
+        if (cacheDirectory != null) {
+            command.add(cacheDirectory.toString());
+        }
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes());
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Benchmark run failed:\n" + output);
+        }
+        // The last line holds the measurement, anything before it is logging
+        String[] lines = output.strip().split("\n");
+        return Long.parseLong(lines[lines.length - 1].trim());
+    }
+
+    private static void runChild(int ruleCount, Path cacheDirectory) {
+        // The cache is created directly, since fromSystemProperties refuses the SNAPSHOT builds benchmarked here
+        KieModuleDiskCache cache = cacheDirectory == null ? null : new KieModuleDiskCache(cacheDirectory, "benchmark");
+        DRLRunnerResult result = new DRLExecutor(new KieContainerCache(), KieSessionPool.Settings.defaults(), cache)
+                .execute(drl(ruleCount), CompilationMode.EXECUTABLE_MODEL, Collections.emptyList(), 0);
+        if (result.firedRules() == 0) {
+            throw new IllegalStateException("No rule fired");
+        }
+        System.out.println(System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime());
+    }
+
+    private static String drl(int ruleCount) {
+        StringBuilder drl = new StringBuilder("""
+            package org.drools.benchmark;
+            declare Item
+                id : int
+                value : int
+            end
+            rule "Create"
+            when
+            then
+                for (int i = 0; i < 100; i++) {
+                    insert(new Item(i, i * 7 % 100));
+                }
+            end
+            """);
+        for (int i = 0; i < ruleCount; i++) {
+            drl.append("rule \"Rule ").append(i).append("\"\n")
+                    .append("when\n")
+                    .append("    Item(value > ").append(i % 100).append(", id == ").append(i % 100).append(")\n")
+                    .append("then\n")
+                    .append("end\n");
+        }
+        return drl.toString();
+    }
+
+    private static void deleteContents(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder())
+                    .filter(path -> !path.equals(directory))
+                    .forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.drools.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.KieContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelBatchExecutorTest {
+
+    private static final String DRL = """
+        package org.drools.parallel;
+        rule "Count Numbers"
+        when
+            $n : Integer()
+        then
+        end
+        """;
+
+    private KieContainer kieContainer;
+    private ParallelBatchExecutor batchExecutor;
+
+    @BeforeEach
+    void setUp() {
+        DRLExecutor executor = new DRLExecutor();
+        kieContainer = executor.buildKieContainer(DRL);
+        batchExecutor = new ParallelBatchExecutor(executor, 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchExecutor.close();
+    }
+
+    @Test
+    void testExecuteOrdered_PreservesInputOrder() {
+        // Given - batch i holds i facts
+        List<List<Object>> batches = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            List<Object> facts = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                facts.add(j);
+            }
+            batches.add(facts);
+        }
+
+        // When
+        List<DRLRunnerResult> results = batchExecutor.executeOrdered(kieContainer, batches, 0);
+
+        // Then
+        assertEquals(50, results.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, results.get(i).firedRules(), "Batch " + i + " should fire once per fact");
+            assertEquals(i, results.get(i).objects().size(), "Batch " + i + " should only see its own facts");
+        }
+    }
+
+    @Test
+    void testExecuteUnordered_DeliversEveryBatch() {
+        // Given
+        List<List<Object>> batches = List.of(List.of(1), List.of(1, 2), List.of(1, 2, 3));
+        Map<Integer, DRLRunnerResult> delivered = new ConcurrentHashMap<>();
+
+        // When
+        batchExecutor.executeUnordered(kieContainer, batches, 0, delivered::put);
+
+        // Then
+        assertEquals(3, delivered.size());
+        assertEquals(3, delivered.get(2).firedRules());
+    }
+
+    @Test
+    void testExecuteOrdered_MaxRunsPerBatch() {
+        // When
+        List<DRLRunnerResult> results = batchExecutor.executeOrdered(kieContainer, List.of(List.of(1, 2, 3), List.of(4, 5)), 1);
+
+        // Then
+        assertEquals(1, results.get(0).firedRules());
+        assertEquals(1, results.get(1).firedRules());
+    }
+
+    @Test
+    void testExecuteOrdered_FailureNamesBatch() {
+        // Given
+        List<String> inputs = List.of("ok", "boom");
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+            batchExecutor.executeOrdered(kieContainer, inputs, input -> {
+                if (input.equals("boom")) {
+                    throw new IllegalStateException("cannot convert");
+                }
+                return List.of(1);
+            }, 0));
+        assertTrue(exception.getMessage().contains("Batch 2"));
+    }
+
+    @Test
+    void testExecuteUnordered_StopsSubmittingAfterFailure() {
+        // Given
+        List<Integer> inputs = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            inputs.add(i);
+        }
+        AtomicInteger converted = new AtomicInteger();
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+            batchExecutor.executeUnordered(kieContainer, inputs, input -> {
+                converted.incrementAndGet();
+                if (input == 0) {
+                    throw new IllegalStateException("cannot convert");
+                }
+                return List.of(input);
+            }, 0, (index, result) -> { }));
+
+        // Then
+        assertTrue(exception.getMessage().contains("Batch 1"));
+        assertTrue(converted.get() < inputs.size());
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelBatchExecutor(new DRLExecutor(), 0));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelBatchExecutor(new DRLExecutor(), 1, 0));
+    }
+}
@@ -0,0 +1,79 @@
+package org.drools.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.drools.execution.DRLExecutor;
+import org.drools.execution.DRLRunnerResult;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+import org.kie.api.definition.type.FactType;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testEscapeHandlesQuotesAndControlCharacters() throws Exception {
+        // Given
+        String text = "say \"hi\"\\\n\tbell\u0007 end";
+        StringBuilder json = new StringBuilder();
+
+        // When
+        new JsonWriter(json, null).write(text);
+
+        // Then
+        assertEquals("\"say \\\"hi\\\"\\\\\\n\\tbell\\u0007 end\"", json.toString());
+        assertEquals(text, objectMapper.readValue(json.toString(), String.class));
+    }
+
+    @Test
+    void testDeclaredFactsAreWrittenAsObjects() throws Exception {
+        // Given
+        KieBase kieBase = new DRLExecutor().buildKieContainer("""
+            package org.drools.json;
+            declare Person
+                name : String
+                age : int
+            end
+            """).getKieBase();
+        FactType personType = kieBase.getFactType("org.drools.json", "Person");
+        Object person = personType.newInstance();
+        personType.set(person, "name", "John");
+        personType.set(person, "age", 25);
+
+        // When
+        String json = JsonResponseBuilder.create()
+            .success()
+            .facts(List.of(person, "plain"), kieBase)
+            .build();
+
+        // Then
+        JsonNode facts = objectMapper.readTree(json).get("facts");
+        assertEquals("Person", facts.get(0).get("_type").asText());
+        assertEquals("John", facts.get(0).get("name").asText());
+        assertEquals(25, facts.get(0).get("age").asInt());
+        assertEquals("plain", facts.get(1).asText());
+    }
+
+    @Test
+    void testWriteToMatchesBuild() throws Exception {
+        // Given
+        JsonResponseBuilder builder = JsonResponseBuilder.create()
+            .executionStatus("success")
+            .batches(List.of(new DRLRunnerResult(List.of("ü", Map.of("k", 1.5)), 2)));
+        StringWriter out = new StringWriter();
+
+        // When
+        builder.writeTo(out);
+
+        // Then
+        assertEquals(builder.build(), out.toString());
+        assertEquals(2, objectMapper.readTree(builder.build()).get("totalFiredRules").asInt());
+    }
+}
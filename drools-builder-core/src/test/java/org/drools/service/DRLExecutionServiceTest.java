@@ -5,6 +5,7 @@ import org.drools.execution.DRLPopulatorRunner;
 import org.drools.execution.DRLRunnerResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.KieContainer;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
@@ -145,17 +146,17 @@ class DRLExecutionServiceTest {
         // Given
         String factsJson = "[{\"_type\":\"Person\",\"name\":\"John\",\"age\":25}]";
         int maxActivations = 5;
-        String expectedDRL = "package org.drools.generated; declare Person name: String age: int end";
+        KieContainer kieContainer = mock(KieContainer.class);
         List<Object> expectedFacts = Arrays.asList("result1", "result2");
         DRLRunnerResult expectedResult = new DRLRunnerResult(expectedFacts, 2);
         
         DefinitionManagementService mockDefinitionService = mock(DefinitionManagementService.class);
-        when(mockDefinitionService.generateDRLFromDefinitions("org.drools.generated")).thenReturn(expectedDRL);
+        when(mockDefinitionService.getKieContainer("org.drools.generated")).thenReturn(kieContainer);
         when(mockDefinitionService.getDefinitionCount()).thenReturn(1);
 
         // Mock the static method call
         try (MockedStatic<DRLPopulatorRunner> mockedRunner = mockStatic(DRLPopulatorRunner.class)) {
-            mockedRunner.when(() -> DRLPopulatorRunner.runDRLWithJsonFacts(expectedDRL, factsJson, maxActivations))
+            mockedRunner.when(() -> DRLPopulatorRunner.runDRLWithJsonFacts(kieContainer, "org.drools.generated", factsJson, maxActivations))
                        .thenReturn(expectedResult);
 
             // When
@@ -165,9 +166,10 @@ class DRLExecutionServiceTest {
             assertEquals(expectedResult, result);
             assertEquals(expectedFacts, result.objects());
             assertEquals(2, result.firedRules());
-            verify(mockDefinitionService).generateDRLFromDefinitions("org.drools.generated");
+            verify(mockDefinitionService).getKieContainer("org.drools.generated");
             verify(mockDefinitionService).getDefinitionCount();
-            mockedRunner.verify(() -> DRLPopulatorRunner.runDRLWithJsonFacts(expectedDRL, factsJson, maxActivations));
+            verify(mockDefinitionService, never()).generateDRLFromDefinitions(anyString());
+            mockedRunner.verify(() -> DRLPopulatorRunner.runDRLWithJsonFacts(kieContainer, "org.drools.generated", factsJson, maxActivations));
         }
     }
 
@@ -178,7 +180,6 @@ class DRLExecutionServiceTest {
         int maxActivations = 5;
         
         DefinitionManagementService mockDefinitionService = mock(DefinitionManagementService.class);
-        when(mockDefinitionService.generateDRLFromDefinitions("org.drools.generated")).thenReturn("package org.drools.generated;");
         when(mockDefinitionService.getDefinitionCount()).thenReturn(0);
 
         // When & Then
@@ -186,7 +187,6 @@ class DRLExecutionServiceTest {
             () -> executionService.executeDRLWithJsonFactsAgainstStoredDefinitions(factsJson, maxActivations, mockDefinitionService));
         
         assertEquals("Failed to execute facts against stored definitions: No DRL definitions found in storage. Please add some definitions first using addDefinition.", exception.getMessage());
-        verify(mockDefinitionService).generateDRLFromDefinitions("org.drools.generated");
         verify(mockDefinitionService).getDefinitionCount();
         verifyNoMoreInteractions(mockDefinitionService);
     }
@@ -209,16 +209,16 @@ class DRLExecutionServiceTest {
         // Given
         String factsJson = "[{\"_type\":\"Person\",\"name\":\"John\",\"age\":25}]";
         int maxActivations = 5;
-        String expectedDRL = "package org.drools.generated; declare Person name: String age: int end";
+        KieContainer kieContainer = mock(KieContainer.class);
         RuntimeException executionException = new RuntimeException("Execution failed");
         
         DefinitionManagementService mockDefinitionService = mock(DefinitionManagementService.class);
-        when(mockDefinitionService.generateDRLFromDefinitions("org.drools.generated")).thenReturn(expectedDRL);
+        when(mockDefinitionService.getKieContainer("org.drools.generated")).thenReturn(kieContainer);
         when(mockDefinitionService.getDefinitionCount()).thenReturn(1);
 
         // Mock the static method call to throw exception
         try (MockedStatic<DRLPopulatorRunner> mockedRunner = mockStatic(DRLPopulatorRunner.class)) {
-            mockedRunner.when(() -> DRLPopulatorRunner.runDRLWithJsonFacts(expectedDRL, factsJson, maxActivations))
+            mockedRunner.when(() -> DRLPopulatorRunner.runDRLWithJsonFacts(kieContainer, "org.drools.generated", factsJson, maxActivations))
                        .thenThrow(executionException);
 
             // When & Then
@@ -227,8 +227,52 @@ class DRLExecutionServiceTest {
             
             assertEquals("Failed to execute facts against stored definitions: Execution failed", exception.getMessage());
             assertEquals(executionException, exception.getCause());
-            verify(mockDefinitionService).generateDRLFromDefinitions("org.drools.generated");
+            verify(mockDefinitionService).getKieContainer("org.drools.generated");
             verify(mockDefinitionService).getDefinitionCount();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testExecuteBatchWithJsonFacts_Success() {
+        // Given
+        String drlCode = "package org.example; rule \"Test\" when then end";
+        String factBatchesJson = "[[{\"_type\":\"Person\",\"name\":\"John\"}], []]";
+        List<String> expectedBatches = Arrays.asList("[{\"_type\":\"Person\",\"name\":\"John\"}]", "[]");
+        List<DRLRunnerResult> expectedResults = Arrays.asList(
+            new DRLRunnerResult(Arrays.asList("fact1"), 1),
+            new DRLRunnerResult(Arrays.asList(), 0));
+
+        try (MockedStatic<DRLPopulatorRunner> mockedRunner = mockStatic(DRLPopulatorRunner.class)) {
+            mockedRunner.when(() -> DRLPopulatorRunner.runBatch(drlCode, expectedBatches, 5))
+                       .thenReturn(expectedResults);
+
+            // When
+            List<DRLRunnerResult> results = executionService.executeBatchWithJsonFacts(drlCode, factBatchesJson, 5);
+
+            // Then
+            assertEquals(expectedResults, results);
+            mockedRunner.verify(() -> DRLPopulatorRunner.runBatch(drlCode, expectedBatches, 5));
+        }
+    }
+
+    @Test
+    void testExecuteBatchWithJsonFacts_NotAnArrayOfArrays() {
+        // Given
+        String drlCode = "package org.example; rule \"Test\" when then end";
+
+        // When & Then
+        DRLExecutionException exception = assertThrows(DRLExecutionException.class, 
+            () -> executionService.executeBatchWithJsonFacts(drlCode, "[{\"_type\":\"Person\"}]", 0));
+        
+        assertEquals("Each fact batch must be a JSON array of facts", exception.getMessage());
+    }
+
+    @Test
+    void testExecuteBatchWithJsonFacts_NegativeMaxActivations() {
+        // When & Then
+        DRLExecutionException exception = assertThrows(DRLExecutionException.class, 
+            () -> executionService.executeBatchWithJsonFacts("package org.example;", Arrays.asList("[]"), -1));
+        
+        assertEquals("Maximum activations cannot be negative", exception.getMessage());
+    }
+}
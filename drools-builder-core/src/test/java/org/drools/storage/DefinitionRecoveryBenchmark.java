@@ -0,0 +1,69 @@
+package org.drools.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Measures definition write latency and startup recovery time of the
+ * write-ahead-log persistence for each fsync policy.
+ *
+ * Usage: DefinitionRecoveryBenchmark [definitionCount] [updatesPerDefinition]
+ */
+public class DefinitionRecoveryBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int definitionCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int updatesPerDefinition = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        System.out.printf("Definitions: %d, updates per definition: %d%n", definitionCount, updatesPerDefinition);
+        for (WriteAheadLogPersistence.FsyncPolicy policy : WriteAheadLogPersistence.FsyncPolicy.values()) {
+            // Per-write fsync is orders of magnitude slower, keep its run short
+            int count = policy == WriteAheadLogPersistence.FsyncPolicy.PER_WRITE
+                    ? Math.min(definitionCount, 500) : definitionCount;
+            run(policy, count, updatesPerDefinition);
+        }
+    }
+
+    private static void run(WriteAheadLogPersistence.FsyncPolicy policy, int definitionCount,
+                            int updatesPerDefinition) throws IOException {
+        Path directory = Files.createTempDirectory("definitions-benchmark");
+        try {
+            int writes = definitionCount * updatesPerDefinition;
+            long[] latencies = new long[writes];
+            try (DefinitionStorage storage = new DefinitionStorage(new WriteAheadLogPersistence(directory, policy))) {
+                int index = 0;
+                for (int update = 0; update < updatesPerDefinition; update++) {
+                    for (int i = 0; i < definitionCount; i++) {
+                        String content = "rule \"Rule " + i + "\" when $p : Person(age > " + update + ") then end";
+                        long start = System.nanoTime();
+                        storage.addDefinition("Rule" + i, "rule", content);
+                        latencies[index++] = System.nanoTime() - start;
+                    }
+                }
+            }
+
+            long recoveryStart = System.nanoTime();
+            int recovered;
+            try (DefinitionStorage storage = new DefinitionStorage(new WriteAheadLogPersistence(directory, policy))) {
+                recovered = storage.getDefinitionCount();
+            }
+            long recoveryMillis = (System.nanoTime() - recoveryStart) / 1_000_000;
+
+            Arrays.sort(latencies);
+            System.out.printf("%-9s writes=%d p50=%.1fus p99=%.1fus max=%.1fus | recovered %d definitions in %d ms%n",
+                    policy, writes,
+                    latencies[writes / 2] / 1000.0,
+                    latencies[(int) (writes * 0.99)] / 1000.0,
+                    latencies[writes - 1] / 1000.0,
+                    recovered, recoveryMillis);
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
@@ -303,4 +303,50 @@ class DefinitionStorageTest {
         assertTrue(result.contains("type='declare'"));
         assertTrue(result.contains("lastModified="));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testVersionBumpsOnEveryMutation() {
+        // Given
+        long initial = storage.getVersion();
+
+        // When & Then
+        storage.addDefinition("Person", "declare", "declare Person name: String end");
+        long afterAdd = storage.getVersion();
+        assertTrue(afterAdd > initial);
+
+        storage.getDefinition("Person").setContent("declare Person name: String age: int end");
+        long afterSet = storage.getVersion();
+        assertTrue(afterSet > afterAdd);
+
+        storage.removeDefinition("Missing");
+        assertEquals(afterSet, storage.getVersion(), "Removing nothing should not change the version");
+
+        DefinitionStorage.DroolsDefinition removed = storage.removeDefinition("Person");
+        long afterRemove = storage.getVersion();
+        assertTrue(afterRemove > afterSet);
+
+        removed.setContent("detached");
+        assertEquals(afterRemove, storage.getVersion(), "Removed definitions no longer affect the storage");
+    }
+
+    @Test
+    void testGeneratedDRLIsMemoizedUntilNextMutation() {
+        // Given
+        storage.addDefinition("Person", "declare", "declare Person name: String end");
+
+        // When
+        String first = storage.generateDRLString("org.example");
+        String second = storage.generateDRLString("org.example");
+        String summary = storage.getSummary();
+
+        // Then
+        assertSame(first, second);
+        assertSame(summary, storage.getSummary());
+        assertNotEquals(first, storage.generateDRLString("org.other"));
+
+        storage.getDefinition("Person").setContent("declare Person name: String age: int end");
+        String updated = storage.generateDRLString("org.example");
+        assertNotSame(first, updated);
+        assertTrue(updated.contains("age: int"));
+    }
+}
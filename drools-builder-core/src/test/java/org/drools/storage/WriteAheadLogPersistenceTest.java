@@ -0,0 +1,156 @@
+package org.drools.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogPersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testDefinitionsSurviveRestart() {
+        // Given
+        try (DefinitionStorage storage = new DefinitionStorage(new WriteAheadLogPersistence(directory))) {
+            storage.addDefinition("Person", "declare", "declare Person name : String end");
+            storage.addDefinition("Adult", "rule", "rule \"Adult\" when then end");
+            storage.addDefinition("Temp", "function", "function void temp() {}");
+            storage.removeDefinition("Temp");
+            storage.getDefinition("Person").setContent("declare Person name : String age : int end");
+        }
+
+        // When
+        try (DefinitionStorage recovered = new DefinitionStorage(new WriteAheadLogPersistence(directory))) {
+
+            // Then
+            assertEquals(2, recovered.getDefinitionCount());
+            assertFalse(recovered.hasDefinition("Temp"));
+            assertEquals("declare Person name : String age : int end", recovered.getDefinition("Person").getContent());
+            assertEquals("rule", recovered.getDefinition("Adult").getType());
+        }
+    }
+
+    @Test
+    void testTornTailIsDiscarded() throws IOException {
+        // Given
+        try (DefinitionStorage storage = new DefinitionStorage(
+                new WriteAheadLogPersistence(directory, WriteAheadLogPersistence.FsyncPolicy.PER_WRITE))) {
+            storage.addDefinition("Person", "declare", "declare Person name : String end");
+        }
+        Path wal = directory.resolve(WriteAheadLogPersistence.WAL_FILE);
+        long validLength = Files.size(wal);
+        // Simulate a crash in the middle of writing the next record
+        Files.write(wal, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // When
+        try (DefinitionStorage recovered = new DefinitionStorage(
+                new WriteAheadLogPersistence(directory, WriteAheadLogPersistence.FsyncPolicy.PER_WRITE))) {
+            recovered.addDefinition("Adult", "rule", "rule \"Adult\" when then end");
+        }
+
+        // Then
+        assertTrue(Files.size(wal) > validLength);
+        try (DefinitionStorage recovered = new DefinitionStorage(new WriteAheadLogPersistence(directory))) {
+            assertEquals(2, recovered.getDefinitionCount(), "Records after the torn tail should still be readable");
+        }
+    }
+
+    @Test
+    void testCompactionWritesSnapshotAndTruncatesLog() throws IOException, InterruptedException {
+        // Given
+        WriteAheadLogPersistence persistence = new WriteAheadLogPersistence(directory,
+                WriteAheadLogPersistence.FsyncPolicy.INTERVAL, Duration.ofMillis(10), 512);
+
+        // When
+        try (DefinitionStorage storage = new DefinitionStorage(persistence)) {
+            for (int i = 0; i < 50; i++) {
+                storage.addDefinition("Rule" + (i % 5), "rule", "rule \"R" + i + "\" when then end");
+            }
+            // Compaction runs on the log writer thread
+            assertTrue(awaitLogSizeBelow(persistence, 512), "Log should have been compacted");
+        }
+
+        // Then
+        assertTrue(Files.exists(directory.resolve(WriteAheadLogPersistence.SNAPSHOT_FILE)));
+        try (DefinitionStorage recovered = new DefinitionStorage(new WriteAheadLogPersistence(directory))) {
+            assertEquals(5, recovered.getDefinitionCount());
+            assertEquals("rule \"R49\" when then end", recovered.getDefinition("Rule4").getContent());
+        }
+    }
+
+    @Test
+    void testPerWriteLogIsCompactedInBackground() throws InterruptedException {
+        // Given
+        WriteAheadLogPersistence persistence = new WriteAheadLogPersistence(directory,
+                WriteAheadLogPersistence.FsyncPolicy.PER_WRITE, Duration.ofMillis(10), 512);
+
+        // When
+        try (DefinitionStorage storage = new DefinitionStorage(persistence)) {
+            for (int i = 0; i < 50; i++) {
+                storage.addDefinition("Rule" + (i % 5), "rule", "rule \"R" + i + "\" when then end");
+            }
+            storage.removeDefinition("Rule0");
+
+            // Then
+            assertTrue(awaitLogSizeBelow(persistence, 512), "Log should have been compacted");
+        }
+        try (DefinitionStorage recovered = new DefinitionStorage(new WriteAheadLogPersistence(directory))) {
+            assertEquals(4, recovered.getDefinitionCount());
+            assertFalse(recovered.hasDefinition("Rule0"));
+        }
+    }
+
+    @Test
+    void testClearIsPersisted() {
+        // Given
+        try (DefinitionStorage storage = new DefinitionStorage(new WriteAheadLogPersistence(directory))) {
+            storage.addDefinition("Person", "declare", "declare Person name : String end");
+            storage.clearAllDefinitions();
+            storage.addDefinition("Adult", "rule", "rule \"Adult\" when then end");
+        }
+
+        // When & Then
+        try (DefinitionStorage recovered = new DefinitionStorage(new WriteAheadLogPersistence(directory))) {
+            assertEquals(1, recovered.getDefinitionCount());
+            assertTrue(recovered.hasDefinition("Adult"));
+        }
+    }
+
+    @Test
+    void testFsyncPolicyOf_ParsesNames() {
+        assertEquals(WriteAheadLogPersistence.FsyncPolicy.BATCHED, WriteAheadLogPersistence.FsyncPolicy.of(null));
+        assertEquals(WriteAheadLogPersistence.FsyncPolicy.BATCHED, WriteAheadLogPersistence.FsyncPolicy.of(" "));
+        assertEquals(WriteAheadLogPersistence.FsyncPolicy.PER_WRITE, WriteAheadLogPersistence.FsyncPolicy.of("per-write"));
+        assertEquals(WriteAheadLogPersistence.FsyncPolicy.INTERVAL, WriteAheadLogPersistence.FsyncPolicy.of("Interval"));
+        assertThrows(IllegalArgumentException.class, () -> WriteAheadLogPersistence.FsyncPolicy.of("always"));
+    }
+
+    @Test
+    void testChangesRequireRecovery() {
+        // Given
+        WriteAheadLogPersistence persistence = new WriteAheadLogPersistence(directory);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> persistence.remove("Person"));
+        persistence.close();
+    }
+
+    private static boolean awaitLogSizeBelow(WriteAheadLogPersistence persistence, long size) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (persistence.getLogSize() >= size) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}
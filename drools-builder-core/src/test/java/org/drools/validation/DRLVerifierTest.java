@@ -1,6 +1,13 @@
 package org.drools.validation;
 
 import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class DRLVerifierTest {
@@ -236,4 +243,37 @@ public class DRLVerifierTest {
         assertTrue(result.contains("ERROR:"), "Expected ERROR for incomplete rule syntax but got: " + result);
     }
 
+    @Test
+    public void testVerify_ReusedAcrossCallsAndThreads() throws Exception {
+        DRLVerifier verifier = new DRLVerifier();
+        String validDrl = "package org.example;\n" +
+                "declare Person\n" +
+                "    age : int\n" +
+                "end\n" +
+                "rule \"Adult\"\n" +
+                "when\n" +
+                "    Person( age > 18 )\n" +
+                "then\n" +
+                "end";
+        String invalidDrl = "package org.example; rule \"Empty\" when then";
+        
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String code = i % 2 == 0 ? validDrl : invalidDrl;
+                results.add(executor.submit(() -> verifier.verify(code)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                String result = results.get(i).get();
+                if (i % 2 == 0) {
+                    assertEquals("Code looks good", result);
+                } else {
+                    assertTrue(result.contains("ERROR:"), "Each call should only report its own DRL but got: " + result);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
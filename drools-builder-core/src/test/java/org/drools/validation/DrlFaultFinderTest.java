@@ -3,6 +3,9 @@ package org.drools.validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class DrlFaultFinderTest {
@@ -280,4 +283,91 @@ class DrlFaultFinderTest {
         assertEquals(12, result.getLineNumber(), "Should identify line 12 as faulty");
         assertNotNull(result.getErrorMessage(), "Should have an error message");
     }
+    
+    @Test
+    void testParserFirstUsesReportedLineWithSingleCompile() {
+        String faultyDrl = """
+            package com.example;
+            
+            rule "test rule"
+            when
+                $person : Person()
+            then
+                System.out.println("test");
+            end
+            
+            rule "broken rule"
+            when
+                $person : Person(age >>> 18)
+            then
+                System.out.println("broken");
+            end
+            """;
+        
+        DrlFaultFinder parserFirst = new DrlFaultFinder(DrlFaultFinder.SearchStrategy.PARSER_FIRST);
+        DrlFaultFinder.FaultLocation result = parserFirst.findFaultyLine(faultyDrl);
+        
+        assertNotNull(result, "Should find the faulty line");
+        assertEquals(1, result.getCompileCount(), "Reported line should be used without bisecting");
+        assertTrue(result.getLineNumber() >= 11 && result.getLineNumber() <= 13,
+            "Should point into the broken rule, but got line " + result.getLineNumber());
+        assertNotNull(result.getErrorMessage(), "Should have an error message");
+    }
+    
+    @Test
+    void testParserFirstReturnsNullForValidDrl() {
+        DrlFaultFinder parserFirst = new DrlFaultFinder(DrlFaultFinder.SearchStrategy.PARSER_FIRST);
+        
+        assertNull(parserFirst.findFaultyLine("package com.example;\n\ndeclare Person\n    name : String\nend\n"));
+    }
+    
+    @Test
+    void testBisectionRespectsCompileBudget() {
+        StringBuilder faultyDrl = new StringBuilder("package com.example;\n");
+        for (int i = 0; i < 40; i++) {
+            faultyDrl.append("\n");
+        }
+        faultyDrl.append("this is not drl\n");
+        
+        DrlFaultFinder budgeted = new DrlFaultFinder(DrlFaultFinder.SearchStrategy.BISECTION, 3);
+        DrlFaultFinder.FaultLocation result = budgeted.findFaultyLine(faultyDrl.toString());
+        
+        assertNotNull(result, "Should return the narrowed location when the budget runs out");
+        assertEquals(3, result.getCompileCount(), "Should not compile more often than the budget allows");
+        assertTrue(result.getErrorMessage().contains("search stopped after 3 compiles"),
+            "Should tell that the search was cut short, but got: " + result.getErrorMessage());
+    }
+    
+    @Test
+    void testInvalidCompileBudget() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new DrlFaultFinder(DrlFaultFinder.SearchStrategy.BISECTION, 0));
+        assertThrows(IllegalArgumentException.class, () -> new DrlFaultFinder(null));
+    }
+    
+    @Test
+    void testParallelBisectionFindsSameLineAsBisection() {
+        StringBuilder faultyDrl = new StringBuilder("package com.example;\n\ndeclare Person\n    age : int\nend\n");
+        for (int i = 0; i < 20; i++) {
+            faultyDrl.append("\nrule \"rule ").append(i).append("\"\nwhen\n    Person(age > ").append(i)
+                .append(")\nthen\nend\n");
+        }
+        faultyDrl.append("\nrule \"broken\"\nwhen\n    Person(age > 1\nthen\nend\n");
+        
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            DrlFaultFinder parallel = new DrlFaultFinder(DrlFaultFinder.SearchStrategy.PARALLEL_BISECTION,
+                DrlFaultFinder.DEFAULT_MAX_COMPILES, executor, 4);
+            
+            DrlFaultFinder.FaultLocation expected = drlFaultFinder.findFaultyLine(faultyDrl.toString());
+            DrlFaultFinder.FaultLocation result = parallel.findFaultyLine(faultyDrl.toString());
+            
+            assertNotNull(result, "Should find the faulty line");
+            assertEquals(expected.getLineNumber(), result.getLineNumber(), "Should agree with sequential bisection");
+            assertEquals(expected.getFaultyContent(), result.getFaultyContent());
+            assertNotNull(result.getErrorMessage(), "Should have an error message");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
\ No newline at end of file
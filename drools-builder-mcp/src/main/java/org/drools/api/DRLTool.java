@@ -5,14 +5,22 @@ import io.quarkiverse.mcp.server.ToolArg;
 import org.drools.exception.DefinitionNotFoundException;
 import org.drools.exception.DRLExecutionException;
 import org.drools.exception.DRLValidationException;
+import org.drools.execution.CompilationMode;
 import org.drools.execution.DRLRunnerResult;
+import org.drools.execution.ResultOptions;
 import org.drools.model.JsonResponseBuilder;
 import org.drools.service.DefinitionManagementService;
 import org.drools.service.DRLExecutionService;
 import org.drools.service.DRLValidationService;
 import org.drools.storage.DefinitionStorage;
+import org.drools.storage.WriteAheadLogPersistence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Main MCP tool provider class for DRL operations.
@@ -20,6 +28,13 @@ import java.util.List;
  */
 public class DRLTool {
 
+    private static final Logger logger = LoggerFactory.getLogger(DRLTool.class);
+
+    /** Directory for persisting stored definitions; definitions are kept in memory only when unset */
+    public static final String DEFINITIONS_DIR_PROPERTY = "drools.definitions.dir";
+    /** Fsync policy for persisted definitions: PER_WRITE, BATCHED (default) or INTERVAL */
+    public static final String DEFINITIONS_FSYNC_PROPERTY = "drools.definitions.fsync";
+
     private final DRLValidationService validationService;
     private final DRLExecutionService executionService;
     private final DefinitionManagementService definitionService;
@@ -27,7 +42,7 @@ public class DRLTool {
     public DRLTool() {
         this.validationService = new DRLValidationService();
         this.executionService = new DRLExecutionService();
-        this.definitionService = new DefinitionManagementService();
+        this.definitionService = new DefinitionManagementService(createDefinitionStorage());
     }
 
     public DRLTool(DRLValidationService validationService, 
@@ -38,6 +53,38 @@ public class DRLTool {
         this.definitionService = definitionService;
     }
 
+    private static List<String> splitNames(String names) {
+        if (names == null || names.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(names.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Creates the definition storage, persisted to disk when the definitions directory property is set.
+     */
+    private static DefinitionStorage createDefinitionStorage() {
+        String directory = System.getProperty(DEFINITIONS_DIR_PROPERTY);
+        if (directory == null || directory.isBlank()) {
+            return new DefinitionStorage();
+        }
+        WriteAheadLogPersistence.FsyncPolicy fsyncPolicy;
+        try {
+            fsyncPolicy = WriteAheadLogPersistence.FsyncPolicy.of(System.getProperty(DEFINITIONS_FSYNC_PROPERTY));
+        } catch (IllegalArgumentException e) {
+            // A typo in the policy must not keep the server from starting
+            logger.warn("{}, using {}", e.getMessage(), WriteAheadLogPersistence.FsyncPolicy.BATCHED);
+            fsyncPolicy = WriteAheadLogPersistence.FsyncPolicy.BATCHED;
+        }
+        DefinitionStorage storage = new DefinitionStorage(new WriteAheadLogPersistence(Path.of(directory), fsyncPolicy));
+        // Flush changes still pending in the log writer on shutdown
+        Runtime.getRuntime().addShutdownHook(new Thread(storage::close, "definitions-shutdown"));
+        return storage;
+    }
+
     @Tool(description = "Validates the Drools DRL code is correctly structured")
     public String validateDRLStructure(@ToolArg(description = "Drools DRL code") String code) {
         try {
@@ -53,12 +100,22 @@ public class DRLTool {
         }
     }
 
+    public String runDRLWithExternalFacts(String drlCode, String externalFactsJson, int maxActivations) {
+        return runDRLWithExternalFacts(drlCode, externalFactsJson, maxActivations, null);
+    }
+
+    public String runDRLWithExternalFacts(String drlCode, String externalFactsJson, int maxActivations, String compilationMode) {
+        return runDRLWithExternalFacts(drlCode, externalFactsJson, maxActivations, compilationMode, null, null, null, null, null);
+    }
+
     @Tool(description = "Executes Drools DRL code with external facts provided as JSON and returns all facts " +
                        "in working memory after rule execution. Use this when you have DRL rules that need to " +
                        "process specific data objects. The DRL should contain rules but may not need data creation " +
                        "rules since facts are provided externally. External facts should be provided as JSON objects " +
                        "with a '_type' field to specify the object type. Returns JSON-formatted list of all facts in working " +
-                       "memory after rule execution.")
+                       "memory after rule execution. When working memory is large or only derived facts matter, the returned " +
+                       "facts can be filtered by type, restricted to those inserted by rules, reduced to selected fields and " +
+                       "paged with offset and limit; the response then also holds the total number of matching facts.")
     public String runDRLWithExternalFacts(@ToolArg(description = "Complete Drools DRL code including package declaration " +
                                                         "and rules. May include declared types. Should contain business " +
                                                         "logic rules that will process the external facts. Example: " +
@@ -71,13 +128,73 @@ public class DRLTool {
                                                         "{\\\"_type\\\":\\\"Person\\\", \\\"name\\\":\\\"Jane\\\", \\\"age\\\":30}]\"") String externalFactsJson,
                                    @ToolArg(description = "Maximum number of rule activations to fire (0 for unlimited). " +
                                                         "Use this to prevent infinite loops or limit rule execution for performance.") 
-                                   int maxActivations) {
+                                   int maxActivations,
+                                   @ToolArg(description = "How the DRL is compiled: \"drl\" (default) or \"executable-model\". The executable " +
+                                                        "model takes longer to build but evaluates constraints faster and more " +
+                                                        "predictably; use it for rules that are executed many times.", required = false) String compilationMode,
+                                   @ToolArg(description = "Comma-separated fact type names to return, e.g. \"Person,Order\". " +
+                                                        "Empty for all types.", required = false) String factTypes,
+                                   @ToolArg(description = "Comma-separated field names to keep of declared-type facts, " +
+                                                        "e.g. \"name,category\". Empty for all fields.", required = false) String fields,
+                                   @ToolArg(description = "Number of matching facts to skip (default 0).", required = false) Integer offset,
+                                   @ToolArg(description = "Maximum number of facts to return (0 or empty for unlimited).", required = false) Integer limit,
+                                   @ToolArg(description = "When true, only facts inserted by rules are returned and " +
+                                                        "the external facts are left out.", required = false) Boolean derivedOnly) {
+        try {
+            ResultOptions options = new ResultOptions(Set.copyOf(splitNames(factTypes)), splitNames(fields),
+                    offset != null ? offset : 0, limit != null ? limit : 0, Boolean.TRUE.equals(derivedOnly));
+            DRLRunnerResult result = executionService.executeDRLWithJsonFacts(drlCode, externalFactsJson, maxActivations,
+                    options, CompilationMode.of(compilationMode));
+            JsonResponseBuilder response = JsonResponseBuilder.create()
+                    .executionStatus("success")
+                    .factsCount(result.objects().size());
+            if (!options.equals(ResultOptions.ALL)) {
+                response.field("totalFacts", result.totalFacts())
+                        .field("offset", options.offset());
+            }
+            return response
+                    .facts(result.objects(), result.kieBase())
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return JsonResponseBuilder.create()
+                    .error(e.getMessage())
+                    .build();
+        } catch (DRLExecutionException e) {
+            return JsonResponseBuilder.create()
+                    .error(e.getMessage())
+                    .build();
+        }
+    }
+
+    public String runDRLBatch(String drlCode, String factBatchesJson, int maxActivations) {
+        return runDRLBatch(drlCode, factBatchesJson, maxActivations, null);
+    }
+
+    @Tool(description = "Executes many independent fact sets against the same Drools DRL code. The DRL is compiled " +
+                       "once and each fact set is executed in its own isolated stateless session, so facts from one " +
+                       "batch never see facts from another. Use this to score or classify many small data sets with " +
+                       "the same rules. Returns per-batch fired rule counts and facts in working memory.")
+    public String runDRLBatch(@ToolArg(description = "Complete Drools DRL code including package declaration " +
+                                                "and rules. May include declared types.") String drlCode,
+                              @ToolArg(description = "JSON array of fact batches. Each batch is a JSON array of facts and each " +
+                                                "fact is a JSON object with a '_type' field to specify the object type. Example: " +
+                                                "\"[[{\\\"_type\\\":\\\"Person\\\", \\\"name\\\":\\\"John\\\", \\\"age\\\":25}], " +
+                                                "[{\\\"_type\\\":\\\"Person\\\", \\\"name\\\":\\\"Jane\\\", \\\"age\\\":16}]]\"") String factBatchesJson,
+                              @ToolArg(description = "Maximum number of rule activations to fire per batch (0 for unlimited). " +
+                                                "Use this to prevent infinite loops or limit rule execution for performance.") 
+                              int maxActivations,
+                              @ToolArg(description = "How the DRL is compiled: \"drl\" (default) or \"executable-model\". " +
+                                                "The executable model pays off when there are many batches.", required = false) String compilationMode) {
         try {
-            DRLRunnerResult result = executionService.executeDRLWithJsonFacts(drlCode, externalFactsJson, maxActivations);
+            List<DRLRunnerResult> results = executionService.executeBatchWithJsonFacts(drlCode, factBatchesJson, maxActivations,
+                    CompilationMode.of(compilationMode));
             return JsonResponseBuilder.create()
                     .executionStatus("success")
-                    .factsCount(result.objects().size())
-                    .facts(result.objects())
+                    .batches(results)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return JsonResponseBuilder.create()
+                    .error(e.getMessage())
                     .build();
         } catch (DRLExecutionException e) {
             return JsonResponseBuilder.create()
@@ -86,6 +203,10 @@ public class DRLTool {
         }
     }
 
+    public String runFactsAgainstStoredDefinitions(String externalFactsJson, int maxActivations) {
+        return runFactsAgainstStoredDefinitions(externalFactsJson, maxActivations, null);
+    }
+
     @Tool(description = "Executes external facts against all stored DRL definitions and returns all facts " +
                        "in working memory after rule execution. This uses the combined DRL from all stored " +
                        "definitions (declared types, functions, globals, imports, and rules) to process the " +
@@ -99,13 +220,17 @@ public class DRLTool {
                                                                         "{\\\"_type\\\":\\\"Person\\\", \\\"name\\\":\\\"Jane\\\", \\\"age\\\":30}]\"") String externalFactsJson,
                                                    @ToolArg(description = "Maximum number of rule activations to fire (0 for unlimited). " +
                                                                         "Use this to prevent infinite loops or limit rule execution for performance.") 
-                                                   int maxActivations) {
+                                                   int maxActivations,
+                                                   @ToolArg(description = "How the stored definitions are compiled: \"drl\" (default), " +
+                                                                        "which updates a live knowledge base incrementally, or \"executable-model\", " +
+                                                                        "which rebuilds after definitions change but evaluates constraints faster.", required = false) String compilationMode) {
         try {
-            DRLRunnerResult result = executionService.executeDRLWithJsonFactsAgainstStoredDefinitions(externalFactsJson, maxActivations, definitionService);
+            DRLRunnerResult result = executionService.executeDRLWithJsonFactsAgainstStoredDefinitions(externalFactsJson, maxActivations,
+                    definitionService, CompilationMode.of(compilationMode));
             return JsonResponseBuilder.create()
                     .executionStatus("success")
                     .factsCount(result.objects().size())
-                    .facts(result.objects())
+                    .facts(result.objects(), result.kieBase())
                     .build();
         } catch (DRLExecutionException e) {
             return JsonResponseBuilder.create()
@@ -198,4 +198,76 @@ public class DRLToolTest {
         assertEquals("error", responseNode.get("status").asText());
         assertTrue(responseNode.get("message").asText().contains("Maximum activations cannot be negative"));
     }
+
+    @Test
+    public void testRunDRLWithExternalFactsFiltered() throws Exception {
+        String drlCode = readDRLFile("person-age-categorization.drl");
+        
+        String facts = "[{\"_type\":\"Person\", \"name\":\"John\", \"age\":25}, " +
+                       "{\"_type\":\"Person\", \"name\":\"Mary\", \"age\":16}, " +
+                       "{\"_type\":\"Person\", \"name\":\"Bob\", \"age\":70}]";
+        
+        String result = drlTool.runDRLWithExternalFacts(drlCode, facts, 0, null, "Person", "name", 1, 1, false);
+        
+        JsonNode jsonResult = objectMapper.readTree(result);
+        assertEquals("success", jsonResult.get("executionStatus").asText());
+        assertEquals(3, jsonResult.get("totalFacts").asInt());
+        assertEquals(1, jsonResult.get("factsCount").asInt());
+        JsonNode fact = jsonResult.get("facts").get(0);
+        assertTrue(fact.has("name"));
+        assertFalse(fact.has("age"));
+    }
+    
+    @Test
+    public void testRunDRLWithExternalFactsFilteredWithExecutableModel() throws Exception {
+        String drlCode = readDRLFile("person-age-categorization.drl");
+        
+        String facts = "[{\"_type\":\"Person\", \"name\":\"John\", \"age\":25}, " +
+                       "{\"_type\":\"Person\", \"name\":\"Mary\", \"age\":16}]";
+        
+        String result = drlTool.runDRLWithExternalFacts(drlCode, facts, 0, "executable-model", "Person", null, null, 1, null);
+        
+        JsonNode jsonResult = objectMapper.readTree(result);
+        assertEquals("success", jsonResult.get("executionStatus").asText());
+        assertEquals(2, jsonResult.get("totalFacts").asInt());
+        assertEquals(1, jsonResult.get("factsCount").asInt());
+    }
+    
+    @Test
+    public void testRunDRLWithExternalFactsFiltered_NegativeLimit() throws Exception {
+        String drlCode = readDRLFile("person-age-categorization.drl");
+        
+        String result = drlTool.runDRLWithExternalFacts(drlCode, "[]", 0, null, "", "", 0, -1, false);
+        
+        JsonNode jsonResult = objectMapper.readTree(result);
+        assertEquals("error", jsonResult.get("status").asText());
+        assertTrue(jsonResult.get("message").asText().contains("Limit cannot be negative"));
+    }
+    
+    @Test
+    public void testRunDRLBatch() throws Exception {
+        String drlCode = readDRLFile("person-age-categorization.drl");
+        
+        String factBatches = "[[{\"_type\":\"Person\", \"name\":\"John\", \"age\":25}], " +
+                             "[{\"_type\":\"Person\", \"name\":\"Mary\", \"age\":16}, {\"_type\":\"Person\", \"name\":\"Bob\", \"age\":70}]]";
+        
+        String result = drlTool.runDRLBatch(drlCode, factBatches, 0);
+        
+        JsonNode jsonResult = objectMapper.readTree(result);
+        assertEquals("success", jsonResult.get("executionStatus").asText());
+        assertEquals(2, jsonResult.get("batchCount").asInt());
+        assertEquals(3, jsonResult.get("totalFiredRules").asInt());
+        assertEquals(1, jsonResult.get("batches").get(0).get("factsCount").asInt());
+        assertEquals(2, jsonResult.get("batches").get(1).get("factsCount").asInt());
+    }
+
+    @Test
+    public void testRunDRLBatch_InvalidBatches() throws Exception {
+        String drlCode = readDRLFile("person-age-categorization.drl");
+        
+        String result = drlTool.runDRLBatch(drlCode, "not json", 0);
+        
+        JsonNode jsonResult = objectMapper.readTree(result);
+        assertEquals("error", jsonResult.get("status").asText());
+    }
 }